@@ -0,0 +1,75 @@
+package cn.bromine0x23.tools.codec.benchmarks;
+
+import cn.bromine0x23.tools.codec.codecs.Codec;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 各编解码器、各变体的解码吞吐量，{@code size} 为解码前（即编码后）的长度
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecodeBenchmark {
+
+	@Param({
+		"base64:rfc4648", "base64:rfc4648-url", "base64:rfc1421", "base64:rfc2045",
+		"base32:rfc4648", "base32:rfc4648-hex",
+		"url:utf-8", "url:utf-16be", "url:utf-16le", "url:utf-32be", "url:utf-32le", "url:gbk", "url:gb18030",
+		"mime:base64", "mime:quoted-printable",
+	})
+	public String codec;
+
+	@Param({"16", "1024", "65536", "1048576", "67108864"})
+	public int size;
+
+	private Codec implement;
+
+	private String variantId;
+
+	private String text;
+
+	private Buffer bytes;
+
+	private int length;
+
+	@Setup
+	public void setup() throws IOException {
+		implement = Inputs.codec(codec);
+		variantId = Inputs.variantId(codec);
+		text      = implement.encode(Inputs.text(size), variantId);
+		bytes     = Buffer.buffer(text.getBytes(StandardCharsets.UTF_8));
+		length    = bytes.length();
+	}
+
+	@Benchmark
+	public String decodeString(ByteCounter counter) throws IOException {
+		counter.bytes += length;
+		return implement.decode(text, variantId);
+	}
+
+	@Benchmark
+	public Buffer decodeBuffer(ByteCounter counter) throws IOException {
+		counter.bytes += length;
+		return implement.decode(bytes, variantId);
+	}
+}
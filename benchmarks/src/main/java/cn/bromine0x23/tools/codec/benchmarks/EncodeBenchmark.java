@@ -0,0 +1,79 @@
+package cn.bromine0x23.tools.codec.benchmarks;
+
+import cn.bromine0x23.tools.codec.codecs.Codec;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 各编解码器、各变体的编码吞吐量
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EncodeBenchmark {
+
+	@Param({
+		"base64:rfc4648", "base64:rfc4648-url", "base64:rfc1421", "base64:rfc2045",
+		"base32:rfc4648", "base32:rfc4648-hex",
+		"hex:",
+		"url:utf-8", "url:utf-16be", "url:utf-16le", "url:utf-32be", "url:utf-32le", "url:gbk", "url:gb18030",
+		"mime:base64", "mime:quoted-printable",
+		"digest:md2", "digest:md4", "digest:md5", "digest:sha-1",
+		"digest:sha-224", "digest:sha-256", "digest:sha-384", "digest:sha-512", "digest:sha-512-224", "digest:sha-512-256",
+		"digest:sha3-224", "digest:sha3-256", "digest:sha3-384", "digest:sha3-512",
+		"digest:bc-sm3", "digest:bc-gost3411", "digest:bc-gost3411-2012-256", "digest:bc-gost3411-2012-512",
+		"digest:blake3", "digest:tree-sha-256",
+		"digest:crc32", "digest:crc32c", "digest:adler32", "digest:xxh32", "digest:xxh64", "digest:xxh3", "digest:murmur3-32", "digest:murmur3-128",
+	})
+	public String codec;
+
+	@Param({"16", "1024", "65536", "1048576", "67108864"})
+	public int size;
+
+	private Codec implement;
+
+	private String variantId;
+
+	private String text;
+
+	private Buffer bytes;
+
+	@Setup
+	public void setup() {
+		implement = Inputs.codec(codec);
+		variantId = Inputs.variantId(codec);
+		text      = Inputs.text(size);
+		bytes     = Buffer.buffer(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Benchmark
+	public String encodeString(ByteCounter counter) throws IOException {
+		counter.bytes += size;
+		return implement.encode(text, variantId);
+	}
+
+	@Benchmark
+	public Buffer encodeBuffer(ByteCounter counter) throws IOException {
+		counter.bytes += size;
+		return implement.encode(bytes, variantId);
+	}
+}
@@ -0,0 +1,106 @@
+package cn.bromine0x23.tools.codec.benchmarks;
+
+import cn.bromine0x23.tools.codec.handlers.CodecsHandler;
+import cn.bromine0x23.tools.codec.utility.CodecExecutor;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpServer;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.handler.BodyHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 经 HTTP 与 {@link Router} 驱动 {@link CodecsHandler} 的端到端吞吐量，包含请求解析、路由与请求体缓冲的开销。
+ *
+ * <p>使用 {@code -t} 调整并发的客户端线程数。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpCodecsBenchmark {
+
+	private static final String HOST = "localhost";
+
+	@Param({"base64:rfc4648", "url:utf-8", "hex:", "digest:sha-256", "spring-security-crypto-password:noop"})
+	public String codec;
+
+	@Param({"16", "1024", "65536"})
+	public int size;
+
+	private Vertx vertx;
+
+	private HttpServer server;
+
+	private HttpClient client;
+
+	private String requestURI;
+
+	private Buffer body;
+
+	@Setup
+	public void setup() {
+		vertx = Vertx.vertx();
+		int workers       = Runtime.getRuntime().availableProcessors();
+		var codecsHandler = new CodecsHandler(new CodecExecutor(vertx, workers, workers * 16), null, new CodecMetrics());
+		var router        = Router.router(vertx);
+		router.route().handler(BodyHandler.create(false));
+		router.post("/api/codecs/:id/encode").handler(codecsHandler::encode);
+		router.post("/api/codecs/:id/:variantId/encode").handler(codecsHandler::encode);
+		CompletableFuture<HttpServer> listening = new CompletableFuture<>();
+		vertx.createHttpServer()
+			.requestHandler(router)
+			.listen(0, result -> {
+				if (result.succeeded()) {
+					listening.complete(result.result());
+				} else {
+					listening.completeExceptionally(result.cause());
+				}
+			});
+		server = listening.join();
+		client = vertx.createHttpClient(new HttpClientOptions().setKeepAlive(true).setMaxPoolSize(64));
+		String variantId = Inputs.variantId(codec);
+		requestURI = "/api/codecs/" + Inputs.codec(codec).getId() + (variantId != null ? "/" + variantId : "") + "/encode";
+		body       = Buffer.buffer(Inputs.text(size));
+	}
+
+	@TearDown
+	public void tearDown() {
+		client.close();
+		server.close();
+		vertx.close();
+	}
+
+	@Benchmark
+	public Buffer encode(ByteCounter counter) {
+		CompletableFuture<Buffer> response = new CompletableFuture<>();
+		HttpClientRequest         request  = client.post(server.actualPort(), HOST, requestURI);
+		request.handler(result -> result.bodyHandler(response::complete));
+		request.exceptionHandler(response::completeExceptionally);
+		request.end(body);
+		counter.bytes += size;
+		return response.join();
+	}
+}
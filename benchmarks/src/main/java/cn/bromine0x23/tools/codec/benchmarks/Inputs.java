@@ -0,0 +1,47 @@
+package cn.bromine0x23.tools.codec.benchmarks;
+
+import cn.bromine0x23.tools.codec.codecs.Codec;
+import cn.bromine0x23.tools.codec.utility.Codecs;
+
+import java.util.Random;
+
+/**
+ * 基准测试的输入数据
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+final class Inputs {
+
+	private static final long SEED = 0x23L;
+
+	private Inputs() {
+	}
+
+	/**
+	 * 固定种子生成的可打印 ASCII 文本，在各编码下长度一致，便于换算吞吐量
+	 */
+	static String text(int size) {
+		Random random = new Random(SEED);
+		char[] chars  = new char[size];
+		for (int i = 0; i < size; ++i) {
+			chars[i] = (char) (' ' + random.nextInt(95));
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * 解析 {@code 编解码器ID:变体ID} 形式的参数，变体ID可为空
+	 */
+	static Codec codec(String codecAndVariant) {
+		Codec codec = Codecs.get(codecAndVariant.split(":", -1)[0]);
+		if (codec == null) {
+			throw new IllegalArgumentException(codecAndVariant);
+		}
+		return codec;
+	}
+
+	static String variantId(String codecAndVariant) {
+		String[] fields = codecAndVariant.split(":", -1);
+		return fields.length > 1 && !fields[1].isEmpty() ? fields[1] : null;
+	}
+}
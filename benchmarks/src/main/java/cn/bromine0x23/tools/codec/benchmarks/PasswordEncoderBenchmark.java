@@ -0,0 +1,68 @@
+package cn.bromine0x23.tools.codec.benchmarks;
+
+import cn.bromine0x23.tools.codec.codecs.Codec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spring Security Crypto 各密码编码器的单核吞吐量，输入为常见的口令长度
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+	@Param({
+		"spring-security-crypto-password:",
+		"spring-security-crypto-password:noop",
+		"spring-security-crypto-password:bcrypt",
+		"spring-security-crypto-password:scrypt",
+		"spring-security-crypto-password:pbkdf2",
+		"spring-security-crypto-password:argon2",
+		"spring-security-crypto-password:md5",
+		"spring-security-crypto-password:sha-1",
+		"spring-security-crypto-password:sha-256",
+		"spring-security-crypto-password:standard",
+		"spring-security-crypto-password:ldap",
+	})
+	public String codec;
+
+	@Param({"16", "64"})
+	public int size;
+
+	private Codec implement;
+
+	private String variantId;
+
+	private String text;
+
+	@Setup
+	public void setup() {
+		implement = Inputs.codec(codec);
+		variantId = Inputs.variantId(codec);
+		text      = Inputs.text(size);
+	}
+
+	@Benchmark
+	public String encode(ByteCounter counter) throws IOException {
+		counter.bytes += size;
+		return implement.encode(text, variantId);
+	}
+}
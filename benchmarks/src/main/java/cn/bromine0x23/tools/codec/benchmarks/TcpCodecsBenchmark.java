@@ -0,0 +1,130 @@
+package cn.bromine0x23.tools.codec.benchmarks;
+
+import cn.bromine0x23.tools.codec.Settings;
+import cn.bromine0x23.tools.codec.TcpServerVerticle;
+import cn.bromine0x23.tools.codec.tcp.TcpCodecClient;
+import cn.bromine0x23.tools.codec.utility.AdmissionController;
+import cn.bromine0x23.tools.codec.utility.CodecExecutor;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 经 {@link TcpCodecClient} 与长度前缀的二进制协议驱动编码的吞吐量，与 {@link HttpCodecsBenchmark} 对照。
+ *
+ * <p>每次操作在单个连接上流水线发出 {@code pipeline} 个请求，等待全部响应；请求在客户端所在的上下文中发出，合并为一次写出。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TcpCodecsBenchmark {
+
+	private static final String HOST = "localhost";
+
+	@Param({"base64:rfc4648", "hex:", "digest:sha-256"})
+	public String codec;
+
+	@Param({"32", "1024"})
+	public int size;
+
+	@Param({"1", "64", "512"})
+	public int pipeline;
+
+	private Vertx vertx;
+
+	private Context context;
+
+	private TcpCodecClient client;
+
+	private String codecId;
+
+	private String variantId;
+
+	private Buffer input;
+
+	@Setup
+	public void setup() throws IOException {
+		vertx = Vertx.vertx();
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		int      workers  = Runtime.getRuntime().availableProcessors();
+		Settings settings = Settings.builder().tcpPort(port).acceptBacklog(128).build();
+		var      verticle = new TcpServerVerticle(settings, new CodecExecutor(vertx, workers, workers * 16), new CodecMetrics(), new AdmissionController(Map.of(), 2000));
+		CompletableFuture<String> deployed = new CompletableFuture<>();
+		vertx.deployVerticle(verticle, complete(deployed));
+		deployed.join();
+		// 在同一上下文中连接，客户端的请求随后在该上下文中直接发出
+		context = vertx.getOrCreateContext();
+		CompletableFuture<TcpCodecClient> connected = new CompletableFuture<>();
+		context.runOnContext(ignored -> TcpCodecClient.connect(vertx, port, HOST, complete(connected)));
+		client    = connected.join();
+		codecId   = Inputs.codec(codec).getId();
+		variantId = Inputs.variantId(codec);
+		input     = Buffer.buffer(Inputs.text(size));
+	}
+
+	@TearDown
+	public void tearDown() {
+		client.close();
+		vertx.close();
+	}
+
+	@Benchmark
+	public Buffer encode(ByteCounter counter) {
+		CompletableFuture<Buffer> done = new CompletableFuture<>();
+		context.runOnContext(ignored -> {
+			AtomicInteger                remaining = new AtomicInteger(pipeline);
+			Handler<AsyncResult<Buffer>> handler   = result -> {
+				if (result.failed()) {
+					done.completeExceptionally(result.cause());
+				} else if (remaining.decrementAndGet() == 0) {
+					done.complete(result.result());
+				}
+			};
+			for (int i = 0; i < pipeline; ++i) {
+				client.encode(codecId, variantId, input, handler);
+			}
+		});
+		counter.bytes += (long) size * pipeline;
+		return done.join();
+	}
+
+	private static <T> Handler<AsyncResult<T>> complete(CompletableFuture<T> future) {
+		return result -> {
+			if (result.succeeded()) {
+				future.complete(result.result());
+			} else {
+				future.completeExceptionally(result.cause());
+			}
+		};
+	}
+}
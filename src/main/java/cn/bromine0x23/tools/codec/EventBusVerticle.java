@@ -0,0 +1,151 @@
+package cn.bromine0x23.tools.codec;
+
+import cn.bromine0x23.tools.codec.codecs.Codec;
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import cn.bromine0x23.tools.codec.eventbus.CodecMessage;
+import cn.bromine0x23.tools.codec.eventbus.CodecService;
+import cn.bromine0x23.tools.codec.utility.AdmissionController;
+import cn.bromine0x23.tools.codec.utility.CodecExecutor;
+import cn.bromine0x23.tools.codec.utility.CodecFailures;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import cn.bromine0x23.tools.codec.utility.Codecs;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+
+/**
+ * 事件总线上的编解码服务，由 {@link MainVerticle} 按配置部署多个实例，各实例在自己的事件循环上为每个编解码器的每种操作注册消费者，
+ * 发往同一地址的请求在各实例间轮流分派。调用方见 {@link CodecService} 。
+ *
+ * <p>与 HTTP 接口相同，请求先按编解码器与变体的开销等级准入，再由 {@link CodecExecutor} 分派执行；
+ * 载荷按字节处理，与 HTTP 的二进制请求一样不使用缓存。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@Slf4j
+public class EventBusVerticle extends AbstractVerticle {
+
+	/**
+	 * 未设置 {@link CodecService#CLIENT_HEADER} 的调用方在准入控制中的客户端标识
+	 */
+	private static final String DEFAULT_CLIENT = "eventbus";
+
+	private final CodecExecutor codecExecutor;
+
+	private final CodecMetrics codecMetrics;
+
+	private final AdmissionController admissionController;
+
+	/**
+	 * @param codecExecutor       各实例共享的编解码任务分派
+	 * @param codecMetrics        各实例共享的指标
+	 * @param admissionController 各实例共享的准入控制
+	 */
+	public EventBusVerticle(CodecExecutor codecExecutor, CodecMetrics codecMetrics, AdmissionController admissionController) {
+		this.codecExecutor       = codecExecutor;
+		this.codecMetrics        = codecMetrics;
+		this.admissionController = admissionController;
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public void start(Promise<Void> startPromise) {
+		var eventBus      = vertx.eventBus();
+		// CompositeFuture.all 只接受原始类型的 Future 列表
+		var registrations = new ArrayList<Future>();
+		for (Codec codec : Codecs.getCodecs()) {
+			if (codec.supportEncode()) {
+				var address = CodecService.address(codec.getId(), CodecService.OPERATION_ENCODE);
+				registrations.add(register(eventBus.consumer(address, message -> encode(codec, message))));
+			}
+			if (codec.supportDecode()) {
+				var address = CodecService.address(codec.getId(), CodecService.OPERATION_DECODE);
+				registrations.add(register(eventBus.consumer(address, message -> decode(codec, message))));
+			}
+		}
+		CompositeFuture.all(registrations).setHandler(registered -> {
+			if (registered.succeeded()) {
+				startPromise.complete();
+				log.debug("Event bus codec service instance registered {} consumers", registrations.size());
+			} else {
+				startPromise.fail(registered.cause());
+			}
+		});
+	}
+
+	private static Future<Void> register(MessageConsumer<CodecMessage> consumer) {
+		Promise<Void> promise = Promise.promise();
+		consumer.completionHandler(promise);
+		return promise.future();
+	}
+
+	private void encode(Codec codec, Message<CodecMessage> message) {
+		var request = message.body();
+		execute(codec, message, CodecService.OPERATION_ENCODE, () -> codec.encode(request.getPayload(), request.getVariantId()));
+	}
+
+	private void decode(Codec codec, Message<CodecMessage> message) {
+		var request = message.body();
+		execute(codec, message, CodecService.OPERATION_DECODE, () -> codec.decode(request.getPayload(), request.getVariantId()));
+	}
+
+	private void execute(Codec codec, Message<CodecMessage> message, String operation, Callable<Buffer> task) {
+		var       request   = message.body();
+		var       variantId = request.getVariantId();
+		CostClass costClass;
+		try {
+			costClass = codec.getCostClass(variantId);
+		} catch (IllegalArgumentException exception) {
+			fail(message, exception);
+			return;
+		}
+		admissionController.admit(costClass, client(message), admitted -> {
+			if (admitted.failed()) {
+				fail(message, admitted.cause());
+				return;
+			}
+			var permit = admitted.result();
+			var start  = System.nanoTime();
+			codecExecutor.execute(costClass, task, result -> {
+				permit.release();
+				var outputBytes = result.succeeded() ? result.result().length() : 0;
+				codecMetrics.record(codec.getId(), variantId, operation, start, request.getPayload().length(), outputBytes, result.failed());
+				reply(message, result);
+			});
+		});
+	}
+
+	private static void reply(Message<CodecMessage> message, AsyncResult<Buffer> result) {
+		if (result.succeeded()) {
+			message.reply(CodecMessage.of(null, result.result()));
+		} else {
+			fail(message, result.cause());
+		}
+	}
+
+	/**
+	 * 以 {@link CodecFailures} 的状态码回复失败
+	 */
+	private static void fail(Message<CodecMessage> message, Throwable exception) {
+		int status = CodecFailures.statusCode(exception);
+		if (status == HttpResponseStatus.INTERNAL_SERVER_ERROR.code()) {
+			log.warn("Event bus codec request failed", exception);
+		}
+		message.fail(status, CodecFailures.message(exception));
+	}
+
+	private static String client(Message<?> message) {
+		var client = message.headers().get(CodecService.CLIENT_HEADER);
+		return client != null ? client : DEFAULT_CLIENT;
+	}
+}
@@ -0,0 +1,178 @@
+package cn.bromine0x23.tools.codec;
+
+import cn.bromine0x23.tools.codec.handlers.AdmissionHandler;
+import cn.bromine0x23.tools.codec.handlers.BatchHandler;
+import cn.bromine0x23.tools.codec.handlers.CalibrationHandler;
+import cn.bromine0x23.tools.codec.handlers.CodecsHandler;
+import cn.bromine0x23.tools.codec.handlers.CompressionHandler;
+import cn.bromine0x23.tools.codec.handlers.MetricsHandler;
+import cn.bromine0x23.tools.codec.handlers.StreamingCodecsHandler;
+import cn.bromine0x23.tools.codec.handlers.WebSocketCodecsHandler;
+import cn.bromine0x23.tools.codec.utility.AdmissionController;
+import cn.bromine0x23.tools.codec.utility.CodecCache;
+import cn.bromine0x23.tools.codec.utility.CodecExecutor;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import cn.bromine0x23.tools.codec.utility.PasswordEncoderCalibrator;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.http.Http2Settings;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.Promise;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.common.template.TemplateEngine;
+import io.vertx.ext.web.handler.BodyHandler;
+import io.vertx.ext.web.handler.ErrorHandler;
+import io.vertx.ext.web.handler.LoggerHandler;
+import io.vertx.ext.web.handler.ResponseContentTypeHandler;
+import io.vertx.ext.web.handler.StaticHandler;
+import io.vertx.ext.web.handler.TemplateHandler;
+import io.vertx.ext.web.templ.jade.JadeTemplateEngine;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HTTP 服务，由 {@link MainVerticle} 按配置部署多个实例，各实例运行在不同的事件循环上并共享监听端口。
+ *
+ * <p>明文端口同时接受 HTTP/1.1 与 HTTP/2 (h2c ，升级或直接以 HTTP/2 连接)，一个 HTTP/2 连接上的请求多路复用。
+ * 响应按 {@code Accept-Encoding} 压缩，是否值得压缩由 {@link CompressionHandler} 决定。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@Slf4j
+public class HttpServerVerticle extends AbstractVerticle {
+
+	private final Settings settings;
+
+	private final CodecExecutor codecExecutor;
+
+	private final CodecCache codecCache;
+
+	private final CodecMetrics codecMetrics;
+
+	private final PasswordEncoderCalibrator calibrator;
+
+	private final AdmissionController admissionController;
+
+	/**
+	 * @param settings            运行配置
+	 * @param codecExecutor       各实例共享的编解码任务分派
+	 * @param codecCache          各实例共享的编解码结果缓存，为 {@code null} 时不缓存
+	 * @param codecMetrics        各实例共享的指标
+	 * @param calibrator          各实例共享的密码散列标定器
+	 * @param admissionController 各实例共享的准入控制
+	 */
+	public HttpServerVerticle(
+		Settings settings, CodecExecutor codecExecutor, CodecCache codecCache, CodecMetrics codecMetrics,
+		PasswordEncoderCalibrator calibrator, AdmissionController admissionController
+	) {
+		this.settings            = settings;
+		this.codecExecutor       = codecExecutor;
+		this.codecCache          = codecCache;
+		this.codecMetrics        = codecMetrics;
+		this.calibrator          = calibrator;
+		this.admissionController = admissionController;
+	}
+
+	@Override
+	public void start(Promise<Void> startPromise) {
+		codecMetrics.monitorEventLoop(vertx);
+		var options = new HttpServerOptions()
+			.setPort(settings.getPort())
+			.setAcceptBacklog(settings.getAcceptBacklog())
+			.setCompressionSupported(settings.getCompressionLevel() > 0)
+			.setCompressionLevel(Math.max(settings.getCompressionLevel(), 1))
+			.setInitialSettings(new Http2Settings().setMaxConcurrentStreams(settings.getHttp2MaxConcurrentStreams()))
+			.setHttp2ConnectionWindowSize(settings.getHttp2ConnectionWindowSize());
+		vertx
+			.createHttpServer(options)
+			.requestHandler(createRouter())
+			.listen(http -> {
+				if (http.succeeded()) {
+					startPromise.complete();
+					log.debug("HTTP server instance started on port {}", http.result().actualPort());
+				} else {
+					startPromise.fail(http.cause());
+				}
+			});
+	}
+
+	private Router createRouter() {
+		var router = Router.router(vertx);
+		router.route()
+			.handler(LoggerHandler.create())
+			.handler(ResponseContentTypeHandler.create())
+			.failureHandler(ErrorHandler.create());
+		if (settings.getCompressionLevel() > 0) {
+			router.route()
+				.handler(new CompressionHandler(settings.getCompressionMinBytes())::handle);
+		}
+
+		router.get("/metrics")
+			.handler(new MetricsHandler(codecMetrics)::scrape);
+
+		// 流式接口与 WebSocket 自行读取请求体，需在 BodyHandler 之前挂载
+		router.mountSubRouter("/api/streaming/codecs", createStreamingCodecsRouter());
+		router.mountSubRouter("/api/websocket/codecs", createWebSocketCodecsRouter());
+
+		router.route()
+			.handler(BodyHandler.create(false));
+
+		router.mountSubRouter("/api/codecs", createCodecsRouter());
+		router.mountSubRouter("/api/calibration", createCalibrationRouter());
+
+		router.route("/webjars/*")
+			.handler(StaticHandler.create("META-INF/resources/webjars"));
+		router.get()
+			.handler(StaticHandler.create("public"))
+			.handler(TemplateHandler.create(createTemplateEngine()));
+		return router;
+	}
+
+	private Router createCodecsRouter() {
+		var router           = Router.router(vertx);
+		var admissionHandler = new AdmissionHandler(admissionController);
+		var codecsHandler    = new CodecsHandler(codecExecutor, codecCache, codecMetrics);
+		var batchHandler     = new BatchHandler(codecExecutor, codecCache, codecMetrics, admissionController);
+		router.get("/").handler(codecsHandler::index);
+		router.post("/batch").handler(batchHandler::execute);
+		router.post("/pipeline").handler(admissionHandler::pipeline).handler(codecsHandler::pipeline);
+		router.post("/:id/encode").handler(admissionHandler::codec).handler(codecsHandler::encode);
+		router.post("/:id/decode").handler(admissionHandler::codec).handler(codecsHandler::decode);
+		router.post("/:id/:variantId/encode").handler(admissionHandler::codec).handler(codecsHandler::encode);
+		router.post("/:id/:variantId/decode").handler(admissionHandler::codec).handler(codecsHandler::decode);
+		return router;
+	}
+
+	private Router createCalibrationRouter() {
+		var router             = Router.router(vertx);
+		var calibrationHandler = new CalibrationHandler(vertx, calibrator);
+		router.get("/").handler(calibrationHandler::index);
+		router.post("/:algorithm").handler(calibrationHandler::calibrate);
+		return router;
+	}
+
+	private Router createStreamingCodecsRouter() {
+		var router                 = Router.router(vertx);
+		var admissionHandler       = new AdmissionHandler(admissionController);
+		var streamingCodecsHandler = new StreamingCodecsHandler(codecMetrics);
+		router.post("/digests").handler(admissionHandler::moderate).handler(streamingCodecsHandler::digests);
+		router.post("/pipeline").handler(admissionHandler::pipeline).handler(streamingCodecsHandler::pipeline);
+		router.post("/:id/encode").handler(admissionHandler::codec).handler(streamingCodecsHandler::encode);
+		router.post("/:id/decode").handler(admissionHandler::codec).handler(streamingCodecsHandler::decode);
+		router.post("/:id/:variantId/encode").handler(admissionHandler::codec).handler(streamingCodecsHandler::encode);
+		router.post("/:id/:variantId/decode").handler(admissionHandler::codec).handler(streamingCodecsHandler::decode);
+		return router;
+	}
+
+	private Router createWebSocketCodecsRouter() {
+		var router                 = Router.router(vertx);
+		var webSocketCodecsHandler = new WebSocketCodecsHandler(codecMetrics, admissionController);
+		router.get("/:id/encode").handler(webSocketCodecsHandler::encode);
+		router.get("/:id/decode").handler(webSocketCodecsHandler::decode);
+		router.get("/:id/:variantId/encode").handler(webSocketCodecsHandler::encode);
+		router.get("/:id/:variantId/decode").handler(webSocketCodecsHandler::decode);
+		return router;
+	}
+
+	private TemplateEngine createTemplateEngine() {
+		return JadeTemplateEngine.create(vertx);
+	}
+}
@@ -1,79 +1,163 @@
 package cn.bromine0x23.tools.codec;
 
-import cn.bromine0x23.tools.codec.handlers.CodecsHandler;
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import cn.bromine0x23.tools.codec.eventbus.CodecService;
+import cn.bromine0x23.tools.codec.utility.AdmissionController;
+import cn.bromine0x23.tools.codec.utility.CodecCache;
+import cn.bromine0x23.tools.codec.utility.CodecExecutor;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import cn.bromine0x23.tools.codec.utility.Codecs;
+import cn.bromine0x23.tools.codec.utility.PasswordEncoderCalibrator;
+import cn.bromine0x23.tools.codec.utility.StartupTimer;
 import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
 import io.vertx.core.Promise;
-import io.vertx.ext.web.Router;
-import io.vertx.ext.web.common.template.TemplateEngine;
-import io.vertx.ext.web.handler.BodyHandler;
-import io.vertx.ext.web.handler.ErrorHandler;
-import io.vertx.ext.web.handler.LoggerHandler;
-import io.vertx.ext.web.handler.ResponseContentTypeHandler;
-import io.vertx.ext.web.handler.StaticHandler;
-import io.vertx.ext.web.handler.TemplateHandler;
-import io.vertx.ext.web.templ.jade.JadeTemplateEngine;
 import lombok.extern.slf4j.Slf4j;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
 
-import java.security.Security;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * 启动入口，创建共享的编解码任务分派与指标，按 {@link Settings#getEventBusInstances()} 部署 {@link EventBusVerticle} ，
+ * 再按 {@link Settings#getInstances()} 部署 {@link HttpServerVerticle} 与（配置了端口时） {@link TcpServerVerticle} 。
+ *
+ * <p>启动完成时记录各阶段与各编解码器的初始化耗时，并导出为指标 {@code startup_phase_milliseconds} 。
+ * 编解码器的变体（如密码编码器）与 BouncyCastle 在首次使用时才初始化，不计入启动耗时。
+ *
  * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
  */
 @Slf4j
 public class MainVerticle extends AbstractVerticle {
 
+	private CodecExecutor codecExecutor;
+
 	@Override
 	public void start(Promise<Void> startPromise) {
-		Security.addProvider(new BouncyCastleProvider());
-		vertx
-			.createHttpServer()
-			.requestHandler(createRouter())
-			.listen(port(), http -> {
-				if (http.succeeded()) {
-					startPromise.complete();
-					log.info("HTTP server started on port {}", http.result().actualPort());
-				} else {
-					startPromise.fail(http.cause());
+		var startupTimer = new StartupTimer();
+		var jvmMillis    = ManagementFactory.getRuntimeMXBean().getUptime();
+		var settings     = Settings.load();
+		startupTimer.mark("settings");
+		Codecs.getCodecs();
+		startupTimer.mark("codecs");
+		var codecMetrics = new CodecMetrics();
+		codecExecutor = new CodecExecutor(vertx, settings.getWorkerPoolSize(), settings.getWorkerMaxPending());
+		codecMetrics.registerGauge("codec_worker_pool_size", "Threads of the expensive codec worker pool.", codecExecutor::getPoolSize);
+		codecMetrics.registerGauge("codec_worker_pending", "Expensive codec tasks queued or running.", codecExecutor::getPending);
+		codecMetrics.registerGauge("http_server_instances", "HTTP server verticle instances.", settings::getInstances);
+		var codecCache = settings.getCacheMaxBytes() > 0 ? new CodecCache(settings.getCacheMaxBytes()) : null;
+		if (codecCache != null) {
+			codecMetrics.registerCounter("codec_cache_hits_total", "Codec cache hits.", codecCache::getHits);
+			codecMetrics.registerCounter("codec_cache_misses_total", "Codec cache misses.", codecCache::getMisses);
+			codecMetrics.registerCounter("codec_cache_coalesced_total", "Codec cache misses joined to a computation in flight.", codecCache::getCoalesced);
+			codecMetrics.registerCounter("codec_cache_evictions_total", "Codec cache evictions.", codecCache::getEvictions);
+			codecMetrics.registerGauge("codec_cache_bytes", "Estimated bytes held by the codec cache.", codecCache::getBytes);
+			codecMetrics.registerGauge("codec_cache_entries", "Entries in the codec cache.", codecCache::getEntries);
+		}
+		var admissionController = new AdmissionController(settings.getAdmissionLimits(), settings.getAdmissionSloMillis());
+		registerAdmissionMetrics(codecMetrics, admissionController);
+		var calibrator = new PasswordEncoderCalibrator(settings.getWorkerPoolSize());
+		startupTimer.mark("services");
+		deployEventBus(settings, codecMetrics, admissionController).compose(ignored -> {
+			startupTimer.mark("eventbus");
+			Promise<String> deployment = Promise.promise();
+			vertx.deployVerticle(
+				() -> new HttpServerVerticle(settings, codecExecutor, codecCache, codecMetrics, calibrator, admissionController),
+				new DeploymentOptions().setInstances(settings.getInstances()),
+				deployment
+			);
+			return deployment.future();
+		}).compose(ignored -> {
+			startupTimer.mark("http");
+			log.info("HTTP server started on port {} with {} instances", settings.getPort(), settings.getInstances());
+			return deployTcp(settings, codecMetrics, admissionController);
+		}).setHandler(deployment -> {
+			if (deployment.succeeded()) {
+				if (settings.getTcpPort() > 0) {
+					startupTimer.mark("tcp");
 				}
-			});
+				startPromise.complete();
+				reportStartup(codecMetrics, startupTimer, jvmMillis);
+			} else {
+				startPromise.fail(deployment.cause());
+			}
+		});
 	}
 
-	private int port() {
-		var value = System.getProperty("http.port", System.getenv("HTTP_PORT"));
-		return value != null ? Integer.parseInt(value) : 8888;
+	/**
+	 * 部署事件总线编解码服务，见 {@link EventBusVerticle}
+	 */
+	private Future<String> deployEventBus(Settings settings, CodecMetrics codecMetrics, AdmissionController admissionController) {
+		if (settings.getEventBusInstances() == 0) {
+			return Future.succeededFuture();
+		}
+		CodecService.registerMessageCodec(vertx);
+		Promise<String> deployment = Promise.promise();
+		vertx.deployVerticle(
+			() -> new EventBusVerticle(codecExecutor, codecMetrics, admissionController),
+			new DeploymentOptions().setInstances(settings.getEventBusInstances()),
+			deployment
+		);
+		return deployment.future().map(id -> {
+			log.info("Event bus codec service started with {} instances", settings.getEventBusInstances());
+			return id;
+		});
 	}
 
-	private Router createRouter() {
-		var router = Router.router(vertx);
-		router.route()
-			.handler(LoggerHandler.create())
-			.handler(BodyHandler.create(false))
-			.handler(ResponseContentTypeHandler.create())
-			.failureHandler(ErrorHandler.create());
-
-		router.mountSubRouter("/api/codecs", createCodecsRouter());
+	/**
+	 * 配置了端口时部署 TCP 编解码服务，见 {@link TcpServerVerticle}
+	 */
+	private Future<String> deployTcp(Settings settings, CodecMetrics codecMetrics, AdmissionController admissionController) {
+		if (settings.getTcpPort() == 0) {
+			return Future.succeededFuture();
+		}
+		Promise<String> deployment = Promise.promise();
+		vertx.deployVerticle(
+			() -> new TcpServerVerticle(settings, codecExecutor, codecMetrics, admissionController),
+			new DeploymentOptions().setInstances(settings.getInstances()),
+			deployment
+		);
+		return deployment.future().map(id -> {
+			log.info("TCP server started on port {} with {} instances", settings.getTcpPort(), settings.getInstances());
+			return id;
+		});
+	}
 
-		router.route("/webjars/*")
-			.handler(StaticHandler.create("META-INF/resources/webjars"));
-		router.get()
-			.handler(StaticHandler.create("public"))
-			.handler(TemplateHandler.create(createTemplateEngine()));
-		return router;
+	private static void reportStartup(CodecMetrics codecMetrics, StartupTimer startupTimer, long jvmMillis) {
+		log.info(
+			"Started in {} after {} ms of JVM startup: {}",
+			StartupTimer.formatMillis(startupTimer.getTotalNanos()), jvmMillis, StartupTimer.format(startupTimer.getPhases())
+		);
+		log.info("Codecs initialized: {}", StartupTimer.format(Codecs.getLoadNanos()));
+		startupTimer.getPhases().forEach((phase, nanos) -> {
+			var millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+			codecMetrics.registerGauge("startup_phase_milliseconds", "phase=\"" + phase + "\"", "Time spent in each startup phase.", () -> millis);
+		});
+		codecMetrics.registerGauge("startup_phase_milliseconds", "phase=\"jvm\"", "Time spent in each startup phase.", () -> jvmMillis);
 	}
 
-	private Router createCodecsRouter() {
-		var router        = Router.router(vertx);
-		var codecsHandler = new CodecsHandler();
-		router.get("/").handler(codecsHandler::index);
-		router.post("/:id/encode").handler(codecsHandler::encode);
-		router.post("/:id/decode").handler(codecsHandler::decode);
-		router.post("/:id/:variantId/encode").handler(codecsHandler::encode);
-		router.post("/:id/:variantId/decode").handler(codecsHandler::decode);
-		return router;
+	private static void registerAdmissionMetrics(CodecMetrics codecMetrics, AdmissionController admissionController) {
+		for (CostClass costClass : CostClass.values()) {
+			var labels = "class=\"" + costClass.name().toLowerCase(Locale.ROOT) + "\"";
+			codecMetrics.registerGauge("codec_admission_in_flight", labels, "Admitted codec requests in progress.", () -> admissionController.getInFlight(costClass));
+			codecMetrics.registerGauge("codec_admission_queued", labels, "Codec requests waiting for admission.", () -> admissionController.getQueued(costClass));
+			codecMetrics.registerCounter("codec_admission_admitted_total", labels, "Admitted codec requests.", () -> admissionController.getAdmitted(costClass));
+			for (AdmissionController.Reason reason : AdmissionController.Reason.values()) {
+				codecMetrics.registerCounter(
+					"codec_admission_rejected_total",
+					labels + ",reason=\"" + reason.name().toLowerCase(Locale.ROOT) + "\"",
+					"Codec requests rejected by admission control.",
+					() -> admissionController.getRejected(costClass, reason)
+				);
+			}
+		}
 	}
 
-	private TemplateEngine createTemplateEngine() {
-		return JadeTemplateEngine.create(vertx);
+	@Override
+	public void stop() {
+		if (codecExecutor != null) {
+			codecExecutor.close();
+		}
 	}
 }
@@ -0,0 +1,215 @@
+package cn.bromine0x23.tools.codec;
+
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import cn.bromine0x23.tools.codec.utility.AdmissionController;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 运行配置，各项依次从系统属性、环境变量读取，均未设置时使用默认值。
+ *
+ * <table>
+ *     <tr><th>系统属性</th><th>环境变量</th><th>默认值</th></tr>
+ *     <tr><td>{@code http.port}</td><td>{@code HTTP_PORT}</td><td>8888</td></tr>
+ *     <tr><td>{@code http.instances}</td><td>{@code HTTP_INSTANCES}</td><td>处理器数</td></tr>
+ *     <tr><td>{@code http.accept-backlog}</td><td>{@code HTTP_ACCEPT_BACKLOG}</td><td>1024</td></tr>
+ *     <tr><td>{@code http.compression.level}</td><td>{@code HTTP_COMPRESSION_LEVEL}</td><td>6，为 0 时禁用</td></tr>
+ *     <tr><td>{@code http.compression.min-bytes}</td><td>{@code HTTP_COMPRESSION_MIN_BYTES}</td><td>1024</td></tr>
+ *     <tr><td>{@code http2.max-concurrent-streams}</td><td>{@code HTTP2_MAX_CONCURRENT_STREAMS}</td><td>100</td></tr>
+ *     <tr><td>{@code http2.connection-window-size}</td><td>{@code HTTP2_CONNECTION_WINDOW_SIZE}</td><td>1 MiB</td></tr>
+ *     <tr><td>{@code tcp.port}</td><td>{@code TCP_PORT}</td><td>0，不提供 TCP 服务</td></tr>
+ *     <tr><td>{@code eventbus.instances}</td><td>{@code EVENTBUS_INSTANCES}</td><td>处理器数，为 0 时不提供事件总线服务</td></tr>
+ *     <tr><td>{@code codec.worker.pool-size}</td><td>{@code CODEC_WORKER_POOL_SIZE}</td><td>处理器数</td></tr>
+ *     <tr><td>{@code codec.worker.max-pending}</td><td>{@code CODEC_WORKER_MAX_PENDING}</td><td>工作线程数 × 16</td></tr>
+ *     <tr><td>{@code codec.cache.max-bytes}</td><td>{@code CODEC_CACHE_MAX_BYTES}</td><td>64 MiB，为 0 时禁用</td></tr>
+ *     <tr><td>{@code admission.<class>.rate}</td><td>{@code ADMISSION_<CLASS>_RATE}</td><td>0，不限</td></tr>
+ *     <tr><td>{@code admission.<class>.burst}</td><td>{@code ADMISSION_<CLASS>_BURST}</td><td>每秒令牌数</td></tr>
+ *     <tr><td>{@code admission.<class>.max-in-flight}</td><td>{@code ADMISSION_<CLASS>_MAX_IN_FLIGHT}</td><td>{@code expensive} 为工作线程数，其余为 0，不限</td></tr>
+ *     <tr><td>{@code admission.<class>.max-queued}</td><td>{@code ADMISSION_<CLASS>_MAX_QUEUED}</td><td>{@code expensive} 为排队上限，其余为 0</td></tr>
+ *     <tr><td>{@code admission.slo-millis}</td><td>{@code ADMISSION_SLO_MILLIS}</td><td>2000</td></tr>
+ * </table>
+ *
+ * <p>{@code <class>} 为开销等级 {@code cheap} 、 {@code moderate} 或 {@code expensive} 。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@Value
+@Builder
+public class Settings {
+
+	private static final int DEFAULT_PORT = 8888;
+
+	private static final int DEFAULT_ACCEPT_BACKLOG = 1024;
+
+	private static final int DEFAULT_COMPRESSION_LEVEL = 6;
+
+	private static final long DEFAULT_COMPRESSION_MIN_BYTES = 1024;
+
+	private static final int MAX_COMPRESSION_LEVEL = 9;
+
+	private static final long DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS = 100;
+
+	private static final int DEFAULT_HTTP2_CONNECTION_WINDOW_SIZE = 1 << 20;
+
+	private static final int WORKER_QUEUE_FACTOR = 16;
+
+	private static final long DEFAULT_CACHE_MAX_BYTES = 64L << 20;
+
+	private static final long DEFAULT_ADMISSION_SLO_MILLIS = 2000;
+
+	/**
+	 * HTTP 监听端口
+	 */
+	int port;
+
+	/**
+	 * HTTP 服务 Verticle 实例数，各实例运行在不同的事件循环上并共享监听端口
+	 */
+	int instances;
+
+	/**
+	 * 监听套接字的连接队列长度
+	 */
+	int acceptBacklog;
+
+	/**
+	 * 响应压缩（gzip 或 deflate）级别 1 ~ 9 ，为 0 时不压缩
+	 */
+	int compressionLevel;
+
+	/**
+	 * 压缩的最小响应长度（字节），更短的响应原样发送
+	 */
+	long compressionMinBytes;
+
+	/**
+	 * 每个 HTTP/2 连接上并发的流数上限
+	 */
+	long http2MaxConcurrentStreams;
+
+	/**
+	 * HTTP/2 连接级的流量控制窗口（字节）
+	 */
+	int http2ConnectionWindowSize;
+
+	/**
+	 * TCP 编解码服务的监听端口，为 0 时不部署
+	 */
+	int tcpPort;
+
+	/**
+	 * 事件总线编解码服务 Verticle 实例数，为 0 时不部署
+	 */
+	int eventBusInstances;
+
+	/**
+	 * 昂贵编解码工作线程数
+	 */
+	int workerPoolSize;
+
+	/**
+	 * 昂贵编解码排队中与执行中的任务数上限
+	 */
+	int workerMaxPending;
+
+	/**
+	 * 编解码结果缓存的最大字节数（估算），为 0 时禁用缓存
+	 */
+	long cacheMaxBytes;
+
+	/**
+	 * 各开销等级的准入限制
+	 */
+	Map<CostClass, AdmissionController.Limits> admissionLimits;
+
+	/**
+	 * 准入控制的延迟目标（毫秒），预计排队等待超过此值的请求被拒绝
+	 */
+	long admissionSloMillis;
+
+	public static Settings load() {
+		var processors       = Runtime.getRuntime().availableProcessors();
+		var workerPoolSize   = positive("codec.worker.pool-size", "CODEC_WORKER_POOL_SIZE", processors);
+		var workerMaxPending = positive("codec.worker.max-pending", "CODEC_WORKER_MAX_PENDING", workerPoolSize * WORKER_QUEUE_FACTOR);
+		var admissionLimits  = new EnumMap<CostClass, AdmissionController.Limits>(CostClass.class);
+		for (CostClass costClass : CostClass.values()) {
+			var expensive = costClass == CostClass.EXPENSIVE;
+			admissionLimits.put(costClass, limits(costClass, expensive ? workerPoolSize : 0, expensive ? workerMaxPending : 0));
+		}
+		return Settings.builder()
+			.port(integer("http.port", "HTTP_PORT", DEFAULT_PORT))
+			.instances(positive("http.instances", "HTTP_INSTANCES", processors))
+			.acceptBacklog(positive("http.accept-backlog", "HTTP_ACCEPT_BACKLOG", DEFAULT_ACCEPT_BACKLOG))
+			.compressionLevel(compressionLevel())
+			.compressionMinBytes(nonNegative("http.compression.min-bytes", "HTTP_COMPRESSION_MIN_BYTES", DEFAULT_COMPRESSION_MIN_BYTES))
+			.http2MaxConcurrentStreams(positive("http2.max-concurrent-streams", "HTTP2_MAX_CONCURRENT_STREAMS", DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS))
+			.http2ConnectionWindowSize(positive("http2.connection-window-size", "HTTP2_CONNECTION_WINDOW_SIZE", DEFAULT_HTTP2_CONNECTION_WINDOW_SIZE))
+			.tcpPort((int) nonNegative("tcp.port", "TCP_PORT", 0))
+			.eventBusInstances((int) nonNegative("eventbus.instances", "EVENTBUS_INSTANCES", processors))
+			.workerPoolSize(workerPoolSize)
+			.workerMaxPending(workerMaxPending)
+			.cacheMaxBytes(nonNegative("codec.cache.max-bytes", "CODEC_CACHE_MAX_BYTES", DEFAULT_CACHE_MAX_BYTES))
+			.admissionLimits(admissionLimits)
+			.admissionSloMillis(positive("admission.slo-millis", "ADMISSION_SLO_MILLIS", DEFAULT_ADMISSION_SLO_MILLIS))
+			.build();
+	}
+
+	private static int compressionLevel() {
+		var level = integer("http.compression.level", "HTTP_COMPRESSION_LEVEL", DEFAULT_COMPRESSION_LEVEL);
+		if (level < 0 || level > MAX_COMPRESSION_LEVEL) {
+			throw new IllegalArgumentException("Setting `http.compression.level` must be between 0 and " + MAX_COMPRESSION_LEVEL + ".");
+		}
+		return level;
+	}
+
+	private static AdmissionController.Limits limits(CostClass costClass, int defaultMaxInFlight, int defaultMaxQueued) {
+		var name     = costClass.name().toLowerCase(Locale.ROOT);
+		var property = "admission." + name + ".";
+		var variable = "ADMISSION_" + costClass.name() + "_";
+		var rate     = System.getProperty(property + "rate", System.getenv(variable + "RATE"));
+		var limits   = AdmissionController.Limits.builder()
+			.rate(rate != null ? Double.parseDouble(rate) : 0)
+			.burst((int) nonNegative(property + "burst", variable + "BURST", 0))
+			.maxInFlight((int) nonNegative(property + "max-in-flight", variable + "MAX_IN_FLIGHT", defaultMaxInFlight))
+			.maxQueued((int) nonNegative(property + "max-queued", variable + "MAX_QUEUED", defaultMaxQueued))
+			.build();
+		if (limits.getRate() < 0) {
+			throw new IllegalArgumentException("Setting `" + property + "rate` must not be negative.");
+		}
+		return limits;
+	}
+
+	private static int integer(String property, String variable, int defaultValue) {
+		var value = System.getProperty(property, System.getenv(variable));
+		return value != null ? Integer.parseInt(value) : defaultValue;
+	}
+
+	private static long nonNegative(String property, String variable, long defaultValue) {
+		var value  = System.getProperty(property, System.getenv(variable));
+		var result = value != null ? Long.parseLong(value) : defaultValue;
+		if (result < 0) {
+			throw new IllegalArgumentException("Setting `" + property + "` must not be negative.");
+		}
+		return result;
+	}
+
+	private static long positive(String property, String variable, long defaultValue) {
+		var value = nonNegative(property, variable, defaultValue);
+		if (value == 0) {
+			throw new IllegalArgumentException("Setting `" + property + "` must be positive.");
+		}
+		return value;
+	}
+
+	private static int positive(String property, String variable, int defaultValue) {
+		var value = integer(property, variable, defaultValue);
+		if (value <= 0) {
+			throw new IllegalArgumentException("Setting `" + property + "` must be positive.");
+		}
+		return value;
+	}
+}
@@ -0,0 +1,61 @@
+package cn.bromine0x23.tools.codec;
+
+import cn.bromine0x23.tools.codec.tcp.TcpCodecConnection;
+import cn.bromine0x23.tools.codec.tcp.TcpProtocol;
+import cn.bromine0x23.tools.codec.utility.AdmissionController;
+import cn.bromine0x23.tools.codec.utility.CodecExecutor;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Promise;
+import io.vertx.core.net.NetServerOptions;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 以 {@link TcpProtocol} 提供编解码的 TCP 服务，由 {@link MainVerticle} 在配置了 {@link Settings#getTcpPort()} 时部署，
+ * 实例数与 HTTP 服务相同，各实例运行在不同的事件循环上并共享监听端口。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@Slf4j
+public class TcpServerVerticle extends AbstractVerticle {
+
+	private final Settings settings;
+
+	private final CodecExecutor codecExecutor;
+
+	private final CodecMetrics codecMetrics;
+
+	private final AdmissionController admissionController;
+
+	/**
+	 * @param settings            运行配置
+	 * @param codecExecutor       各实例共享的编解码任务分派
+	 * @param codecMetrics        各实例共享的指标
+	 * @param admissionController 各实例共享的准入控制
+	 */
+	public TcpServerVerticle(Settings settings, CodecExecutor codecExecutor, CodecMetrics codecMetrics, AdmissionController admissionController) {
+		this.settings            = settings;
+		this.codecExecutor       = codecExecutor;
+		this.codecMetrics        = codecMetrics;
+		this.admissionController = admissionController;
+	}
+
+	@Override
+	public void start(Promise<Void> startPromise) {
+		var options = new NetServerOptions()
+			.setPort(settings.getTcpPort())
+			.setAcceptBacklog(settings.getAcceptBacklog())
+			.setTcpNoDelay(true);
+		vertx
+			.createNetServer(options)
+			.connectHandler(socket -> new TcpCodecConnection(socket, codecExecutor, codecMetrics, admissionController).start())
+			.listen(tcp -> {
+				if (tcp.succeeded()) {
+					startPromise.complete();
+					log.debug("TCP server instance started on port {}", tcp.result().actualPort());
+				} else {
+					startPromise.fail(tcp.cause());
+				}
+			});
+	}
+}
@@ -1,21 +1,21 @@
 package cn.bromine0x23.tools.codec.codecs;
 
-import org.apache.commons.codec.binary.Base32;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
  */
-public class Base32Codec extends CodecWithVariants<Base32> {
+public class Base32Codec extends CodecWithVariants<BaseNEngine> {
 
 	private static final String VARIANT_ID_RFC4648     = "rfc4648";
 	private static final String VARIANT_ID_RFC4648_HEX = "rfc4648-hex";
 
-	private static final Base32 RFC4648     = new Base32(false);
-	private static final Base32 RFC4648_HEX = new Base32(true);
-
 	public Base32Codec() {
 		super(createVariants());
 	}
@@ -41,30 +41,61 @@ public class Base32Codec extends CodecWithVariants<Base32> {
 	}
 
 	@Override
-	protected String doEncode(Base32 base32, String input) {
-		return base32.encodeToString(input.getBytes());
+	public boolean supportStreaming() {
+		return true;
+	}
+
+	@Override
+	public Buffer encode(Buffer input, String variantId) {
+		if (!supportEncode()) {
+			throw new IllegalArgumentException();
+		}
+		return Buffer.buffer(findVariant(variantId).encode(input.getByteBuf()));
+	}
+
+	@Override
+	public Buffer decode(Buffer input, String variantId) {
+		if (!supportDecode()) {
+			throw new IllegalArgumentException();
+		}
+		return Buffer.buffer(findVariant(variantId).decode(input.getByteBuf()));
+	}
+
+	@Override
+	protected String doEncode(BaseNEngine engine, String input) {
+		return engine.encode(Unpooled.wrappedBuffer(input.getBytes())).toString(StandardCharsets.US_ASCII);
+	}
+
+	@Override
+	protected String doDecode(BaseNEngine engine, String input) {
+		return engine.decode(Unpooled.wrappedBuffer(input.getBytes(StandardCharsets.UTF_8))).toString(Charset.defaultCharset());
+	}
+
+	@Override
+	protected Transcoder doCreateEncoder(BaseNEngine engine) {
+		return new BaseNEncoder(engine);
 	}
 
 	@Override
-	protected String doDecode(Base32 base32, String input) {
-		return new String(base32.decode(input));
+	protected Transcoder doCreateDecoder(BaseNEngine engine) {
+		return new BaseNDecoder(engine);
 	}
 
 	@Override
-	protected Base32 getVariant(String variantId) {
+	protected BaseNEngine getVariant(String variantId) {
 		switch (variantId) {
 			case VARIANT_ID_RFC4648:
-				return RFC4648;
+				return BaseNEngine.BASE32_RFC4648;
 			case VARIANT_ID_RFC4648_HEX:
-				return RFC4648_HEX;
+				return BaseNEngine.BASE32_RFC4648_HEX;
 			default:
 				return null;
 		}
 	}
 
 	@Override
-	protected Base32 getDefaultVariant() {
-		return RFC4648;
+	protected BaseNEngine getDefaultVariant() {
+		return BaseNEngine.BASE32_RFC4648;
 	}
 
 	private static List<Variant> createVariants() {
@@ -1,28 +1,23 @@
 package cn.bromine0x23.tools.codec.codecs;
 
-import org.apache.commons.codec.binary.Base64;
-import org.apache.commons.codec.binary.BaseNCodec;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
  */
-public class Base64Codec extends CodecWithVariants<Base64> {
+public class Base64Codec extends CodecWithVariants<BaseNEngine> {
 
 	private static final String VARIANT_ID_RFC1421     = "rfc1421";
 	private static final String VARIANT_ID_RFC2045     = "rfc2045";
 	private static final String VARIANT_ID_RFC4648     = "rfc4648";
 	private static final String VARIANT_ID_RFC4648_URL = "rfc4648-url";
 
-	private static final byte[] LINE_SEPARATOR = {'\r', '\n'};
-
-	private static final Base64 RFC1421     = new Base64(BaseNCodec.PEM_CHUNK_SIZE, LINE_SEPARATOR, false);
-	private static final Base64 RFC2045     = new Base64(BaseNCodec.MIME_CHUNK_SIZE, LINE_SEPARATOR, false);
-	private static final Base64 RFC4648     = new Base64(0, LINE_SEPARATOR, false);
-	private static final Base64 RFC4648_URL = new Base64(0, LINE_SEPARATOR, true);
-
 	public Base64Codec() {
 		super(createVariants());
 	}
@@ -48,34 +43,65 @@ public class Base64Codec extends CodecWithVariants<Base64> {
 	}
 
 	@Override
-	protected String doEncode(Base64 base64, String input) {
-		return base64.encodeToString(input.getBytes());
+	public boolean supportStreaming() {
+		return true;
+	}
+
+	@Override
+	public Buffer encode(Buffer input, String variantId) {
+		if (!supportEncode()) {
+			throw new IllegalArgumentException();
+		}
+		return Buffer.buffer(findVariant(variantId).encode(input.getByteBuf()));
+	}
+
+	@Override
+	public Buffer decode(Buffer input, String variantId) {
+		if (!supportDecode()) {
+			throw new IllegalArgumentException();
+		}
+		return Buffer.buffer(findVariant(variantId).decode(input.getByteBuf()));
+	}
+
+	@Override
+	protected String doEncode(BaseNEngine engine, String input) {
+		return engine.encode(Unpooled.wrappedBuffer(input.getBytes())).toString(StandardCharsets.US_ASCII);
+	}
+
+	@Override
+	protected String doDecode(BaseNEngine engine, String input) {
+		return engine.decode(Unpooled.wrappedBuffer(input.getBytes(StandardCharsets.UTF_8))).toString(Charset.defaultCharset());
+	}
+
+	@Override
+	protected Transcoder doCreateEncoder(BaseNEngine engine) {
+		return new BaseNEncoder(engine);
 	}
 
 	@Override
-	protected String doDecode(Base64 base64, String input) {
-		return new String(base64.decode(input));
+	protected Transcoder doCreateDecoder(BaseNEngine engine) {
+		return new BaseNDecoder(engine);
 	}
 
 	@Override
-	protected Base64 getVariant(String variantId) {
+	protected BaseNEngine getVariant(String variantId) {
 		switch (variantId) {
 			case VARIANT_ID_RFC1421:
-				return RFC1421;
+				return BaseNEngine.BASE64_RFC1421;
 			case VARIANT_ID_RFC2045:
-				return RFC2045;
+				return BaseNEngine.BASE64_RFC2045;
 			case VARIANT_ID_RFC4648:
-				return RFC4648;
+				return BaseNEngine.BASE64_RFC4648;
 			case VARIANT_ID_RFC4648_URL:
-				return RFC4648_URL;
+				return BaseNEngine.BASE64_RFC4648_URL;
 			default:
 				return null;
 		}
 	}
 
 	@Override
-	protected Base64 getDefaultVariant() {
-		return RFC4648;
+	protected BaseNEngine getDefaultVariant() {
+		return BaseNEngine.BASE64_RFC4648;
 	}
 
 	private static List<Variant> createVariants() {
@@ -0,0 +1,41 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+
+/**
+ * BaseN 流式解码，未完成的编码单元保留在 {@link BaseNEngine.Decoder} 中，与后续输入连续解码。
+ *
+ * <p>与一次性解码一致：忽略字母表以外的字符，遇到填充字符后忽略其后的所有输入。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+class BaseNDecoder implements Transcoder {
+
+	private final BaseNEngine.Decoder decoder;
+
+	BaseNDecoder(BaseNEngine engine) {
+		this.decoder = engine.createDecoder();
+	}
+
+	@Override
+	public Buffer update(Buffer input) {
+		ByteBuf output = Unpooled.buffer(decoder.maxDecodedLength(input.length()));
+		decoder.update(input.getByteBuf(), output);
+		return Buffer.buffer(output);
+	}
+
+	@Override
+	public Buffer finish() throws IOException {
+		ByteBuf output = Unpooled.buffer(8);
+		try {
+			decoder.finish(output);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("解码失败", e);
+		}
+		return Buffer.buffer(output);
+	}
+}
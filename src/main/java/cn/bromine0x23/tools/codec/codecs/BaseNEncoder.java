@@ -0,0 +1,54 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * BaseN 流式编码，每次只编码按块对齐的前缀，剩余字节留到下一块。
+ *
+ * <p>块长度取分行的变体每行的字节数，不分行的变体一个编码单元的字节数，这样各块的编码结果直接拼接即为整体的编码结果，
+ * 且每次输入后只有不足一块的字节被保留，交互式的逐帧输入可立即得到输出。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+class BaseNEncoder implements Transcoder {
+
+	private final BaseNEngine engine;
+
+	private final int blockSize;
+
+	private final ByteBuf carry;
+
+	BaseNEncoder(BaseNEngine engine) {
+		this.engine    = engine;
+		this.blockSize = engine.getBytesPerLine() > 0 ? engine.getBytesPerLine() : engine.getBytesPerQuantum();
+		this.carry     = Unpooled.buffer(blockSize, blockSize);
+	}
+
+	@Override
+	public Buffer update(Buffer input) {
+		ByteBuf source  = input.getByteBuf();
+		int     pending = carry.readableBytes() + source.readableBytes();
+		if (pending < blockSize) {
+			carry.writeBytes(source);
+			return Buffer.buffer();
+		}
+		ByteBuf output = Unpooled.buffer(engine.encodedLength(pending - pending % blockSize));
+		if (carry.isReadable()) {
+			carry.writeBytes(source, carry.writableBytes());
+			engine.encode(carry, output);
+			carry.clear();
+		}
+		engine.encode(source.readSlice(source.readableBytes() - source.readableBytes() % blockSize), output);
+		carry.writeBytes(source);
+		return Buffer.buffer(output);
+	}
+
+	@Override
+	public Buffer finish() {
+		ByteBuf output = engine.encode(carry);
+		carry.clear();
+		return Buffer.buffer(output);
+	}
+}
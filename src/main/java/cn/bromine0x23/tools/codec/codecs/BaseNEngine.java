@@ -0,0 +1,399 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 表驱动的 Base64/Base32 编解码，直接读写 {@link ByteBuf} 的底层数组，输出缓冲区按结果长度一次分配。
+ *
+ * <p>结果与 commons-codec 1.14 的 {@code Base64}/{@code Base32} 逐字节一致：
+ * <ul>
+ *     <li>编码：Base64 URL 安全变体不填充，其余变体填充到完整编码单元；分行时每行后（包括最后一个不完整的行）追加 CRLF；空输入的结果为空</li>
+ *     <li>解码：忽略字母表以外的字符；Base64 同时接受通用与 URL 安全字母表，Base32 同时接受大小写；遇到填充字符后忽略其后的所有输入；
+ *         末尾不完整的编码单元按已有的位数输出整字节，被丢弃的位不为零时抛出 {@link IllegalArgumentException}，只有一个字符时直接忽略</li>
+ * </ul>
+ *
+ * <p>输出为非池化的堆缓冲区：Vert.x 的 {@link io.vertx.core.buffer.Buffer} 不会释放所包装的缓冲区，池化缓冲区交给它只会泄漏。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public final class BaseNEngine {
+
+	private static final byte PAD = '=';
+
+	private static final byte[] LINE_SEPARATOR = {'\r', '\n'};
+
+	private static final int PEM_LINE_LENGTH  = 64;
+	private static final int MIME_LINE_LENGTH = 76;
+
+	private static final String BASE64_ALPHABET     = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+	private static final String BASE64_URL_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+	private static final String BASE32_ALPHABET     = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
+	private static final String BASE32_HEX_ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUV";
+
+	private static final byte[] BASE64_DECODE_TABLE     = decodeTable(BASE64_ALPHABET, BASE64_URL_ALPHABET);
+	private static final byte[] BASE32_DECODE_TABLE     = decodeTable(BASE32_ALPHABET, BASE32_ALPHABET.toLowerCase(Locale.ROOT));
+	private static final byte[] BASE32_HEX_DECODE_TABLE = decodeTable(BASE32_HEX_ALPHABET, BASE32_HEX_ALPHABET.toLowerCase(Locale.ROOT));
+
+	public static final BaseNEngine BASE64_RFC4648     = new BaseNEngine(BASE64_ALPHABET, BASE64_DECODE_TABLE, 6, true, 0);
+	public static final BaseNEngine BASE64_RFC4648_URL = new BaseNEngine(BASE64_URL_ALPHABET, BASE64_DECODE_TABLE, 6, false, 0);
+	public static final BaseNEngine BASE64_RFC1421     = new BaseNEngine(BASE64_ALPHABET, BASE64_DECODE_TABLE, 6, true, PEM_LINE_LENGTH);
+	public static final BaseNEngine BASE64_RFC2045     = new BaseNEngine(BASE64_ALPHABET, BASE64_DECODE_TABLE, 6, true, MIME_LINE_LENGTH);
+	public static final BaseNEngine BASE32_RFC4648     = new BaseNEngine(BASE32_ALPHABET, BASE32_DECODE_TABLE, 5, true, 0);
+	public static final BaseNEngine BASE32_RFC4648_HEX = new BaseNEngine(BASE32_HEX_ALPHABET, BASE32_HEX_DECODE_TABLE, 5, true, 0);
+
+	private final byte[] encodeTable;
+
+	private final byte[] decodeTable;
+
+	private final int bitsPerChar;
+
+	private final int bytesPerQuantum;
+
+	private final int charsPerQuantum;
+
+	private final boolean padding;
+
+	/**
+	 * 每行字符数，为 0 时不分行
+	 */
+	private final int lineLength;
+
+	private BaseNEngine(String alphabet, byte[] decodeTable, int bitsPerChar, boolean padding, int lineLength) {
+		this.encodeTable     = alphabet.getBytes(StandardCharsets.US_ASCII);
+		this.decodeTable     = decodeTable;
+		this.bitsPerChar     = bitsPerChar;
+		this.bytesPerQuantum = bitsPerChar == 6 ? 3 : 5;
+		this.charsPerQuantum = bitsPerChar == 6 ? 4 : 8;
+		this.padding         = padding;
+		this.lineLength      = lineLength;
+	}
+
+	/**
+	 * 每个编码单元的字节数
+	 */
+	public int getBytesPerQuantum() {
+		return bytesPerQuantum;
+	}
+
+	/**
+	 * 每个编码单元的字符数
+	 */
+	public int getCharsPerQuantum() {
+		return charsPerQuantum;
+	}
+
+	/**
+	 * 分行时每行对应的输入字节数，不分行时为 0
+	 */
+	public int getBytesPerLine() {
+		return lineLength / charsPerQuantum * bytesPerQuantum;
+	}
+
+	/**
+	 * 字节是否属于解码字母表
+	 */
+	public boolean isInAlphabet(byte octet) {
+		return decodeTable[octet & 0xFF] >= 0;
+	}
+
+	/**
+	 * 编码 {@code length} 字节得到的字节数
+	 */
+	public int encodedLength(int length) {
+		long chars = (long) length / bytesPerQuantum * charsPerQuantum;
+		int  rest  = length % bytesPerQuantum;
+		if (rest != 0) {
+			chars += padding ? charsPerQuantum : (rest * Byte.SIZE + bitsPerChar - 1) / bitsPerChar;
+		}
+		if (lineLength > 0) {
+			chars += (chars + lineLength - 1) / lineLength * LINE_SEPARATOR.length;
+		}
+		if (chars > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Input is too large to encode.");
+		}
+		return (int) chars;
+	}
+
+	/**
+	 * 编码 {@code input} 的全部可读字节，不改变其读位置
+	 */
+	public ByteBuf encode(ByteBuf input) {
+		ByteBuf output = Unpooled.buffer(encodedLength(input.readableBytes()));
+		encode(input, output);
+		return output;
+	}
+
+	/**
+	 * 编码 {@code input} 的全部可读字节（不改变其读位置），结果追加到 {@code output}
+	 *
+	 * @throws IllegalArgumentException {@code output} 不是堆缓冲区
+	 */
+	public void encode(ByteBuf input, ByteBuf output) {
+		if (!output.hasArray()) {
+			throw new IllegalArgumentException("Output must be a heap buffer.");
+		}
+		int length = input.readableBytes();
+		if (length == 0) {
+			return;
+		}
+		output.ensureWritable(encodedLength(length));
+		ByteBuf source  = input.hasArray() ? input : Unpooled.copiedBuffer(input);
+		int     written = encode(
+			source.array(), source.arrayOffset() + source.readerIndex(), length,
+			output.array(), output.arrayOffset() + output.writerIndex()
+		);
+		output.writerIndex(output.writerIndex() + written);
+	}
+
+	/**
+	 * 解码 {@code input} 的全部可读字节，不改变其读位置
+	 */
+	public ByteBuf decode(ByteBuf input) {
+		Decoder decoder = createDecoder();
+		ByteBuf output  = Unpooled.buffer(decoder.maxDecodedLength(input.readableBytes()));
+		decoder.update(input, output);
+		decoder.finish(output);
+		return output;
+	}
+
+	/**
+	 * 创建可分多次输入的解码过程
+	 */
+	public Decoder createDecoder() {
+		return new Decoder();
+	}
+
+	private int encode(byte[] source, int sourceIndex, int length, byte[] target, int targetIndex) {
+		int start        = targetIndex;
+		int end          = sourceIndex + length;
+		int quantaEnd    = end - length % bytesPerQuantum;
+		int bytesPerLine = lineLength > 0 ? getBytesPerLine() : Integer.MAX_VALUE;
+		while (sourceIndex < quantaEnd) {
+			int lineEnd = quantaEnd - sourceIndex > bytesPerLine ? sourceIndex + bytesPerLine : quantaEnd;
+			targetIndex = bitsPerChar == 6
+				? encodeBase64Quanta(source, sourceIndex, lineEnd, target, targetIndex)
+				: encodeQuanta(source, sourceIndex, lineEnd, target, targetIndex);
+			if (lineEnd - sourceIndex == bytesPerLine) {
+				targetIndex = appendLineSeparator(target, targetIndex);
+			}
+			sourceIndex = lineEnd;
+		}
+		int linePosition = lineLength > 0 ? (targetIndex - start) % (lineLength + LINE_SEPARATOR.length) : 0;
+		if (sourceIndex < end) {
+			int tailStart = targetIndex;
+			targetIndex = encodeTail(source, sourceIndex, end - sourceIndex, target, targetIndex);
+			linePosition += targetIndex - tailStart;
+		}
+		if (lineLength > 0 && linePosition > 0) {
+			targetIndex = appendLineSeparator(target, targetIndex);
+		}
+		return targetIndex - start;
+	}
+
+	private int encodeBase64Quanta(byte[] source, int sourceIndex, int sourceEnd, byte[] target, int targetIndex) {
+		byte[] table = encodeTable;
+		while (sourceIndex < sourceEnd) {
+			int bits = (source[sourceIndex] & 0xFF) << 16 | (source[sourceIndex + 1] & 0xFF) << 8 | (source[sourceIndex + 2] & 0xFF);
+			target[targetIndex]     = table[bits >>> 18];
+			target[targetIndex + 1] = table[bits >>> 12 & 0x3F];
+			target[targetIndex + 2] = table[bits >>> 6 & 0x3F];
+			target[targetIndex + 3] = table[bits & 0x3F];
+			sourceIndex += 3;
+			targetIndex += 4;
+		}
+		return targetIndex;
+	}
+
+	private int encodeQuanta(byte[] source, int sourceIndex, int sourceEnd, byte[] target, int targetIndex) {
+		int mask = (1 << bitsPerChar) - 1;
+		while (sourceIndex < sourceEnd) {
+			long bits = 0;
+			for (int i = 0; i < bytesPerQuantum; ++i) {
+				bits = bits << Byte.SIZE | (source[sourceIndex++] & 0xFF);
+			}
+			for (int i = charsPerQuantum - 1; i >= 0; --i) {
+				target[targetIndex + i] = encodeTable[(int) bits & mask];
+				bits >>>= bitsPerChar;
+			}
+			targetIndex += charsPerQuantum;
+		}
+		return targetIndex;
+	}
+
+	private int encodeTail(byte[] source, int sourceIndex, int length, byte[] target, int targetIndex) {
+		long bits = 0;
+		for (int i = 0; i < length; ++i) {
+			bits = bits << Byte.SIZE | (source[sourceIndex + i] & 0xFF);
+		}
+		int chars = (length * Byte.SIZE + bitsPerChar - 1) / bitsPerChar;
+		int mask  = (1 << bitsPerChar) - 1;
+		bits <<= chars * bitsPerChar - length * Byte.SIZE;
+		for (int i = chars - 1; i >= 0; --i) {
+			target[targetIndex + i] = encodeTable[(int) bits & mask];
+			bits >>>= bitsPerChar;
+		}
+		targetIndex += chars;
+		if (padding) {
+			for (int i = chars; i < charsPerQuantum; ++i) {
+				target[targetIndex++] = PAD;
+			}
+		}
+		return targetIndex;
+	}
+
+	private static int appendLineSeparator(byte[] target, int targetIndex) {
+		System.arraycopy(LINE_SEPARATOR, 0, target, targetIndex, LINE_SEPARATOR.length);
+		return targetIndex + LINE_SEPARATOR.length;
+	}
+
+	private static byte[] decodeTable(String... alphabets) {
+		byte[] table = new byte[256];
+		Arrays.fill(table, (byte) -1);
+		for (String alphabet : alphabets) {
+			for (int i = 0; i < alphabet.length(); ++i) {
+				table[alphabet.charAt(i)] = (byte) i;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * 可分多次输入的解码过程，跨输入保留未完成的编码单元
+	 */
+	public final class Decoder {
+
+		private long bits;
+
+		private int chars;
+
+		private boolean ended;
+
+		private Decoder() {
+		}
+
+		/**
+		 * 输入 {@code length} 字节时输出的最大字节数（包括 {@link #finish(ByteBuf)} 的输出）
+		 */
+		public int maxDecodedLength(int length) {
+			return (int) (((long) chars + length) / charsPerQuantum * bytesPerQuantum + bytesPerQuantum);
+		}
+
+		/**
+		 * 解码 {@code input} 的全部可读字节（不改变其读位置），结果写入 {@code output}
+		 *
+		 * @throws IllegalArgumentException {@code output} 不是堆缓冲区
+		 */
+		public void update(ByteBuf input, ByteBuf output) {
+			if (!output.hasArray()) {
+				throw new IllegalArgumentException("Output must be a heap buffer.");
+			}
+			int length = input.readableBytes();
+			if (ended || length == 0) {
+				return;
+			}
+			output.ensureWritable(maxDecodedLength(length));
+			ByteBuf source      = input.hasArray() ? input : Unpooled.copiedBuffer(input);
+			int     sourceIndex = source.arrayOffset() + source.readerIndex();
+			int     targetIndex = output.arrayOffset() + output.writerIndex();
+			int     written     = decode(source.array(), sourceIndex, sourceIndex + length, output.array(), targetIndex) - targetIndex;
+			output.writerIndex(output.writerIndex() + written);
+		}
+
+		/**
+		 * 输出末尾不完整的编码单元，之后可以开始解码新的输入
+		 *
+		 * @throws IllegalArgumentException 末尾不完整的编码单元中被丢弃的位不为零
+		 */
+		public void finish(ByteBuf output) {
+			int  outputBits    = chars * bitsPerChar;
+			int  outputBytes   = outputBits / Byte.SIZE;
+			int  discardedBits = outputBits % Byte.SIZE;
+			long value         = bits >>> discardedBits;
+			if (outputBytes > 0 && (bits & (1L << discardedBits) - 1) != 0) {
+				bits  = 0;
+				chars = 0;
+				ended = false;
+				throw new IllegalArgumentException(
+					"Last encoded character (before the paddings if any) is a valid base " + (1 << bitsPerChar)
+						+ " alphabet but not a possible value. Expected the discarded bits to be zero."
+				);
+			}
+			output.ensureWritable(outputBytes);
+			for (int i = outputBytes - 1; i >= 0; --i) {
+				output.writeByte((int) (value >>> i * Byte.SIZE));
+			}
+			bits  = 0;
+			chars = 0;
+			ended = false;
+		}
+
+		private int decode(byte[] source, int sourceIndex, int sourceEnd, byte[] target, int targetIndex) {
+			byte[] table = decodeTable;
+			while (sourceIndex < sourceEnd) {
+				// 快速路径：编码单元的字符全部属于字母表时整体解码
+				if (chars == 0 && bitsPerChar == 6) {
+					while (sourceEnd - sourceIndex >= 4) {
+						int c0 = table[source[sourceIndex] & 0xFF];
+						int c1 = table[source[sourceIndex + 1] & 0xFF];
+						int c2 = table[source[sourceIndex + 2] & 0xFF];
+						int c3 = table[source[sourceIndex + 3] & 0xFF];
+						if ((c0 | c1 | c2 | c3) < 0) {
+							break;
+						}
+						int quantum = c0 << 18 | c1 << 12 | c2 << 6 | c3;
+						target[targetIndex]     = (byte) (quantum >>> 16);
+						target[targetIndex + 1] = (byte) (quantum >>> 8);
+						target[targetIndex + 2] = (byte) quantum;
+						sourceIndex += 4;
+						targetIndex += 3;
+					}
+				} else if (chars == 0 && sourceEnd - sourceIndex >= charsPerQuantum) {
+					long quantum = 0;
+					int  valid   = 0;
+					for (int i = 0; i < charsPerQuantum; ++i) {
+						int value = table[source[sourceIndex + i] & 0xFF];
+						quantum = quantum << bitsPerChar | (value & 0xFF);
+						valid |= value;
+					}
+					if (valid >= 0) {
+						for (int i = bytesPerQuantum - 1; i >= 0; --i) {
+							target[targetIndex + i] = (byte) quantum;
+							quantum >>>= Byte.SIZE;
+						}
+						sourceIndex += charsPerQuantum;
+						targetIndex += bytesPerQuantum;
+						continue;
+					}
+				}
+				if (sourceIndex == sourceEnd) {
+					break;
+				}
+				byte octet = source[sourceIndex++];
+				if (octet == PAD) {
+					ended = true;
+					break;
+				}
+				int value = table[octet & 0xFF];
+				if (value < 0) {
+					continue;
+				}
+				bits = bits << bitsPerChar | value;
+				if (++chars == charsPerQuantum) {
+					for (int i = bytesPerQuantum - 1; i >= 0; --i) {
+						target[targetIndex + i] = (byte) bits;
+						bits >>>= Byte.SIZE;
+					}
+					targetIndex += bytesPerQuantum;
+					bits  = 0;
+					chars = 0;
+				}
+			}
+			return targetIndex;
+		}
+	}
+}
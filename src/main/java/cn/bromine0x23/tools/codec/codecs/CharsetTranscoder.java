@@ -0,0 +1,88 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * 字符集流式转换，跨块保留不完整的多字节序列与代理对。
+ *
+ * <p>无法解码或映射的字符按 {@link String} 的默认行为替换。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+class CharsetTranscoder implements Transcoder {
+
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+	private final CharsetDecoder decoder;
+
+	private final CharsetEncoder encoder;
+
+	private ByteBuffer pendingBytes = EMPTY;
+
+	private CharBuffer pendingChars = CharBuffer.allocate(0);
+
+	CharsetTranscoder(Charset source, Charset target) {
+		this.decoder = source.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.encoder = target.newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	@Override
+	public Buffer update(Buffer input) {
+		return transcode(ByteBuffer.wrap(input.getBytes()), false);
+	}
+
+	@Override
+	public Buffer finish() {
+		return transcode(EMPTY, true);
+	}
+
+	private Buffer transcode(ByteBuffer input, boolean endOfInput) {
+		ByteBuffer bytes = concat(pendingBytes, input);
+		CharBuffer chars = CharBuffer.allocate(
+			pendingChars.remaining() + (int) Math.ceil(bytes.remaining() * (double) decoder.maxCharsPerByte()) + 2
+		);
+		chars.put(pendingChars);
+		decoder.decode(bytes, chars, endOfInput);
+		if (endOfInput) {
+			decoder.flush(chars);
+		}
+		pendingBytes = bytes.hasRemaining() ? copy(bytes) : EMPTY;
+		chars.flip();
+		ByteBuffer output = ByteBuffer.allocate((int) Math.ceil(chars.remaining() * (double) encoder.maxBytesPerChar()) + 16);
+		encoder.encode(chars, output, endOfInput);
+		if (endOfInput) {
+			encoder.flush(output);
+		}
+		pendingChars = CharBuffer.wrap(chars.toString());
+		output.flip();
+		byte[] result = new byte[output.remaining()];
+		output.get(result);
+		return Buffer.buffer(result);
+	}
+
+	private static ByteBuffer concat(ByteBuffer head, ByteBuffer tail) {
+		if (!head.hasRemaining()) {
+			return tail;
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(head.remaining() + tail.remaining());
+		buffer.put(head).put(tail).flip();
+		return buffer;
+	}
+
+	private static ByteBuffer copy(ByteBuffer source) {
+		ByteBuffer buffer = ByteBuffer.allocate(source.remaining());
+		buffer.put(source).flip();
+		return buffer;
+	}
+}
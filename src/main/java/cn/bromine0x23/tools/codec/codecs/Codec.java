@@ -1,10 +1,12 @@
 package cn.bromine0x23.tools.codec.codecs;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.vertx.core.buffer.Buffer;
 import lombok.Builder;
 import lombok.Data;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 
@@ -28,6 +30,17 @@ public interface Codec {
 		throw new IllegalArgumentException();
 	}
 
+	/**
+	 * 对字节执行编码。支持流式处理时不经过字符串转换，否则按 UTF-8 文本处理。
+	 */
+	default Buffer encode(Buffer input, String variantId) throws IOException {
+		if (supportStreaming()) {
+			Transcoder transcoder = createEncoder(variantId);
+			return transcoder.update(input).appendBuffer(transcoder.finish());
+		}
+		return Buffer.buffer(encode(input.toString(StandardCharsets.UTF_8), variantId), StandardCharsets.UTF_8.name());
+	}
+
 	@JsonProperty("supportDecode")
 	default boolean supportDecode() {
 		return false;
@@ -37,11 +50,75 @@ public interface Codec {
 		throw new IllegalArgumentException();
 	}
 
+	/**
+	 * 对字节执行解码。支持流式处理时不经过字符串转换，否则按 UTF-8 文本处理。
+	 */
+	default Buffer decode(Buffer input, String variantId) throws IOException {
+		if (supportStreaming()) {
+			Transcoder transcoder = createDecoder(variantId);
+			return transcoder.update(input).appendBuffer(transcoder.finish());
+		}
+		return Buffer.buffer(decode(input.toString(StandardCharsets.UTF_8), variantId), StandardCharsets.UTF_8.name());
+	}
+
+	@JsonProperty("supportStreaming")
+	default boolean supportStreaming() {
+		return false;
+	}
+
+	default Transcoder createEncoder(String variantId) {
+		throw new IllegalArgumentException();
+	}
+
+	default Transcoder createDecoder(String variantId) {
+		throw new IllegalArgumentException();
+	}
+
 	@JsonProperty("variants")
 	default List<Variant> getVariants() {
 		return Collections.emptyList();
 	}
 
+	/**
+	 * 指定变体的计算开销等级，决定在哪里执行。
+	 *
+	 * @param variantId 变体ID，为 {@code null} 时表示默认变体
+	 * @return 开销等级
+	 */
+	default CostClass getCostClass(String variantId) {
+		return CostClass.CHEAP;
+	}
+
+	/**
+	 * 指定变体对相同输入是否总是产生相同输出，只有确定性的结果才可被缓存。
+	 *
+	 * @param variantId 变体ID，为 {@code null} 时表示默认变体
+	 */
+	default boolean isDeterministic(String variantId) {
+		return true;
+	}
+
+	/**
+	 * 计算开销等级
+	 */
+	enum CostClass {
+
+		/**
+		 * 廉价，直接在事件循环上执行
+		 */
+		CHEAP,
+
+		/**
+		 * 中等，与输入长度成正比（如消息摘要），仍在事件循环上执行
+		 */
+		MODERATE,
+
+		/**
+		 * 昂贵（如密码散列），在专用的工作线程池中执行
+		 */
+		EXPENSIVE
+	}
+
 	@Builder
 	@Data
 	class Variant {
@@ -36,6 +36,24 @@ public abstract class CodecWithVariants<TImplement> implements Codec {
 		return doDecode(implement, input);
 	}
 
+	@Override
+	public Transcoder createEncoder(String variantId) {
+		if (!supportEncode() || !supportStreaming()) {
+			throw new IllegalArgumentException();
+		}
+		TImplement implement = findVariant(variantId);
+		return doCreateEncoder(implement);
+	}
+
+	@Override
+	public Transcoder createDecoder(String variantId) {
+		if (!supportDecode() || !supportStreaming()) {
+			throw new IllegalArgumentException();
+		}
+		TImplement implement = findVariant(variantId);
+		return doCreateDecoder(implement);
+	}
+
 	protected String doEncode(TImplement implement, String input) throws IOException {
 		throw new UnsupportedOperationException();
 	}
@@ -44,6 +62,14 @@ public abstract class CodecWithVariants<TImplement> implements Codec {
 		throw new UnsupportedOperationException();
 	}
 
+	protected Transcoder doCreateEncoder(TImplement implement) {
+		throw new UnsupportedOperationException();
+	}
+
+	protected Transcoder doCreateDecoder(TImplement implement) {
+		throw new UnsupportedOperationException();
+	}
+
 	protected TImplement getVariant(String variantId) {
 		return null;
 	}
@@ -52,7 +78,7 @@ public abstract class CodecWithVariants<TImplement> implements Codec {
 		return null;
 	}
 
-	private TImplement findVariant(String variantId) {
+	protected TImplement findVariant(String variantId) {
 		TImplement implement = variantId != null ? getVariant(variantId) : getDefaultVariant();
 		if (implement == null) {
 			throw new IllegalArgumentException();
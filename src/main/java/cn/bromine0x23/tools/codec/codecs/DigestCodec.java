@@ -1,14 +1,36 @@
 package cn.bromine0x23.tools.codec.codecs;
 
+import cn.bromine0x23.tools.codec.utility.Blake3;
+import cn.bromine0x23.tools.codec.utility.Checksum;
+import cn.bromine0x23.tools.codec.utility.DigestAlgorithm;
 import cn.bromine0x23.tools.codec.utility.MessageDigest;
+import cn.bromine0x23.tools.codec.utility.TreeHash;
+import io.vertx.core.buffer.Buffer;
+import lombok.Value;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
+ * 消息摘要，包括 {@link MessageDigest} 的各算法、BLAKE3 、{@code tree-} 开头的树形摘要（见 {@link TreeHash} ）
+ * 以及非密码学的校验和（见 {@link Checksum} ）。
+ *
+ * <p>输出小写16进制；校验和另有 {@code -decimal} 结尾的变体，输出无符号整数的十进制。
+ *
+ * <p>树形摘要与 BLAKE3 对完整输入在 {@link java.util.concurrent.ForkJoinPool} 上并行计算并等待结果，属于昂贵操作，不在事件循环上执行；
+ * 流式计算时逐块更新，不等待其他线程。
+ *
  * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
  */
-public class DigestCodec extends CodecWithVariants<MessageDigest> {
+public class DigestCodec extends CodecWithVariants<DigestCodec.Digest> {
+
+	public static final String ID = "digest";
 
 	private static final String VARIANT_ID_MD2                  = "md2";
 	private static final String VARIANT_ID_MD4                  = "md4";
@@ -28,6 +50,24 @@ public class DigestCodec extends CodecWithVariants<MessageDigest> {
 	private static final String VARIANT_ID_BC_GOST3411          = "bc-gost3411";
 	private static final String VARIANT_ID_BC_GOST3411_2012_256 = "bc-gost3411-2012-256";
 	private static final String VARIANT_ID_BC_GOST3411_2012_512 = "bc-gost3411-2012-512";
+	private static final String VARIANT_ID_BLAKE3               = "blake3";
+	private static final String VARIANT_ID_TREE_SHA_256         = "tree-sha-256";
+	private static final String VARIANT_ID_TREE_SHA_512         = "tree-sha-512";
+	private static final String VARIANT_ID_TREE_SHA3_256        = "tree-sha3-256";
+	private static final String VARIANT_ID_TREE_SHA3_512        = "tree-sha3-512";
+	private static final String VARIANT_ID_TREE_BC_SM3          = "tree-bc-sm3";
+	private static final String VARIANT_ID_CRC32                = "crc32";
+	private static final String VARIANT_ID_CRC32C               = "crc32c";
+	private static final String VARIANT_ID_ADLER32              = "adler32";
+	private static final String VARIANT_ID_XXH32                = "xxh32";
+	private static final String VARIANT_ID_XXH64                = "xxh64";
+	private static final String VARIANT_ID_XXH3                 = "xxh3";
+	private static final String VARIANT_ID_MURMUR3_32           = "murmur3-32";
+	private static final String VARIANT_ID_MURMUR3_128          = "murmur3-128";
+
+	private static final String DECIMAL_SUFFIX = "-decimal";
+
+	private static final Map<String, Digest> DIGESTS = createDigests();
 
 	public DigestCodec() {
 		super(createVariants());
@@ -35,7 +75,7 @@ public class DigestCodec extends CodecWithVariants<MessageDigest> {
 
 	@Override
 	public String getId() {
-		return "digest";
+		return ID;
 	}
 
 	@Override
@@ -49,52 +89,107 @@ public class DigestCodec extends CodecWithVariants<MessageDigest> {
 	}
 
 	@Override
-	protected String doEncode(MessageDigest messageDigest, String input) {
-		return messageDigest.digestHex(input);
+	public boolean supportStreaming() {
+		return true;
+	}
+
+	@Override
+	public CostClass getCostClass(String variantId) {
+		Digest digest = variantId != null ? getVariant(variantId) : null;
+		return digest != null ? digest.getCostClass() : CostClass.MODERATE;
 	}
 
 	@Override
-	protected MessageDigest getVariant(String variantId) {
-		switch (variantId) {
-			case VARIANT_ID_MD2:
-				return MessageDigest.MD2;
-			case VARIANT_ID_MD4:
-				return MessageDigest.MD4;
-			case VARIANT_ID_MD5:
-				return MessageDigest.MD5;
-			case VARIANT_ID_SHA_1:
-				return MessageDigest.SHA_1;
-			case VARIANT_ID_SHA_224:
-				return MessageDigest.SHA_224;
-			case VARIANT_ID_SHA_256:
-				return MessageDigest.SHA_256;
-			case VARIANT_ID_SHA_384:
-				return MessageDigest.SHA_384;
-			case VARIANT_ID_SHA_512:
-				return MessageDigest.SHA_512;
-			case VARIANT_ID_SHA_512_224:
-				return MessageDigest.SHA_512_224;
-			case VARIANT_ID_SHA_512_256:
-				return MessageDigest.SHA_512_256;
-			case VARIANT_ID_SHA3_224:
-				return MessageDigest.SHA3_224;
-			case VARIANT_ID_SHA3_256:
-				return MessageDigest.SHA3_256;
-			case VARIANT_ID_SHA3_384:
-				return MessageDigest.SHA3_384;
-			case VARIANT_ID_SHA3_512:
-				return MessageDigest.SHA3_512;
-			case VARIANT_ID_BC_SM3:
-				return MessageDigest.BC_SM3;
-			case VARIANT_ID_BC_GOST3411:
-				return MessageDigest.BC_GOST3411;
-			case VARIANT_ID_BC_GOST3411_2012_256:
-				return MessageDigest.BC_GOST3411_2012_256;
-			case VARIANT_ID_BC_GOST3411_2012_512:
-				return MessageDigest.BC_GOST3411_2012_512;
-			default:
-				return null;
+	protected String doEncode(Digest digest, String input) {
+		return digest.getFormat().format(digest.getAlgorithm().digest(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8))));
+	}
+
+	/**
+	 * 不经过流式编码过程，树形摘要与 BLAKE3 可对整个输入并行计算
+	 */
+	@Override
+	public Buffer encode(Buffer input, String variantId) {
+		Digest digest = findVariant(variantId);
+		byte[] result = digest.getAlgorithm().digest(input.getByteBuf().nioBuffer());
+		return Buffer.buffer(digest.getFormat().format(result), StandardCharsets.US_ASCII.name());
+	}
+
+	@Override
+	protected Transcoder doCreateEncoder(Digest digest) {
+		return digest.createTranscoder();
+	}
+
+	/**
+	 * 创建同时计算多个消息摘要的流式编码过程，输入只需遍历一次。
+	 *
+	 * @param variantIds 变体ID
+	 * @return 结束时输出 {@code 变体ID → 摘要} 的 JSON 对象
+	 * @throws IllegalArgumentException 变体ID为空或不存在
+	 */
+	public Transcoder createMultiEncoder(Collection<String> variantIds) {
+		if (variantIds.isEmpty()) {
+			throw new IllegalArgumentException();
 		}
+		Map<String, DigestTranscoder> digests = new LinkedHashMap<>();
+		for (String variantId : variantIds) {
+			Digest digest = getVariant(variantId);
+			if (digest == null) {
+				throw new IllegalArgumentException();
+			}
+			digests.put(variantId, digest.createTranscoder());
+		}
+		return new MultiDigestTranscoder(digests);
+	}
+
+	@Override
+	protected Digest getVariant(String variantId) {
+		return DIGESTS.get(variantId);
+	}
+
+	private static Map<String, Digest> createDigests() {
+		Map<String, DigestAlgorithm> digestAlgorithms = new HashMap<>();
+		digestAlgorithms.put(VARIANT_ID_MD2, DigestAlgorithm.of(MessageDigest.MD2));
+		digestAlgorithms.put(VARIANT_ID_MD4, DigestAlgorithm.of(MessageDigest.MD4));
+		digestAlgorithms.put(VARIANT_ID_MD5, DigestAlgorithm.of(MessageDigest.MD5));
+		digestAlgorithms.put(VARIANT_ID_SHA_1, DigestAlgorithm.of(MessageDigest.SHA_1));
+		digestAlgorithms.put(VARIANT_ID_SHA_224, DigestAlgorithm.of(MessageDigest.SHA_224));
+		digestAlgorithms.put(VARIANT_ID_SHA_256, DigestAlgorithm.of(MessageDigest.SHA_256));
+		digestAlgorithms.put(VARIANT_ID_SHA_384, DigestAlgorithm.of(MessageDigest.SHA_384));
+		digestAlgorithms.put(VARIANT_ID_SHA_512, DigestAlgorithm.of(MessageDigest.SHA_512));
+		digestAlgorithms.put(VARIANT_ID_SHA_512_224, DigestAlgorithm.of(MessageDigest.SHA_512_224));
+		digestAlgorithms.put(VARIANT_ID_SHA_512_256, DigestAlgorithm.of(MessageDigest.SHA_512_256));
+		digestAlgorithms.put(VARIANT_ID_SHA3_224, DigestAlgorithm.of(MessageDigest.SHA3_224));
+		digestAlgorithms.put(VARIANT_ID_SHA3_256, DigestAlgorithm.of(MessageDigest.SHA3_256));
+		digestAlgorithms.put(VARIANT_ID_SHA3_384, DigestAlgorithm.of(MessageDigest.SHA3_384));
+		digestAlgorithms.put(VARIANT_ID_SHA3_512, DigestAlgorithm.of(MessageDigest.SHA3_512));
+		digestAlgorithms.put(VARIANT_ID_BC_SM3, DigestAlgorithm.of(MessageDigest.BC_SM3));
+		digestAlgorithms.put(VARIANT_ID_BC_GOST3411, DigestAlgorithm.of(MessageDigest.BC_GOST3411));
+		digestAlgorithms.put(VARIANT_ID_BC_GOST3411_2012_256, DigestAlgorithm.of(MessageDigest.BC_GOST3411_2012_256));
+		digestAlgorithms.put(VARIANT_ID_BC_GOST3411_2012_512, DigestAlgorithm.of(MessageDigest.BC_GOST3411_2012_512));
+		Map<String, DigestAlgorithm> parallelAlgorithms = new HashMap<>();
+		parallelAlgorithms.put(VARIANT_ID_TREE_SHA_256, new TreeHash(MessageDigest.SHA_256));
+		parallelAlgorithms.put(VARIANT_ID_TREE_SHA_512, new TreeHash(MessageDigest.SHA_512));
+		parallelAlgorithms.put(VARIANT_ID_TREE_SHA3_256, new TreeHash(MessageDigest.SHA3_256));
+		parallelAlgorithms.put(VARIANT_ID_TREE_SHA3_512, new TreeHash(MessageDigest.SHA3_512));
+		parallelAlgorithms.put(VARIANT_ID_TREE_BC_SM3, new TreeHash(MessageDigest.BC_SM3));
+		parallelAlgorithms.put(VARIANT_ID_BLAKE3, Blake3.INSTANCE);
+		Map<String, Digest> digests = new HashMap<>();
+		digestAlgorithms.forEach((variantId, digestAlgorithm) -> digests.put(variantId, new Digest(digestAlgorithm, DigestFormat.HEX, CostClass.MODERATE)));
+		parallelAlgorithms.forEach((variantId, digestAlgorithm) -> digests.put(variantId, new Digest(digestAlgorithm, DigestFormat.HEX, CostClass.EXPENSIVE)));
+		Map<String, Checksum> checksums = new HashMap<>();
+		checksums.put(VARIANT_ID_CRC32, Checksum.CRC_32);
+		checksums.put(VARIANT_ID_CRC32C, Checksum.CRC_32C);
+		checksums.put(VARIANT_ID_ADLER32, Checksum.ADLER_32);
+		checksums.put(VARIANT_ID_XXH32, Checksum.XXH32);
+		checksums.put(VARIANT_ID_XXH64, Checksum.XXH64);
+		checksums.put(VARIANT_ID_XXH3, Checksum.XXH3);
+		checksums.put(VARIANT_ID_MURMUR3_32, Checksum.MURMUR3_32);
+		checksums.put(VARIANT_ID_MURMUR3_128, Checksum.MURMUR3_128);
+		checksums.forEach((variantId, checksum) -> {
+			digests.put(variantId, new Digest(checksum, DigestFormat.HEX, CostClass.CHEAP));
+			digests.put(variantId + DECIMAL_SUFFIX, new Digest(checksum, DigestFormat.DECIMAL, CostClass.CHEAP));
+		});
+		return digests;
 	}
 
 	private static List<Variant> createVariants() {
@@ -117,6 +212,42 @@ public class DigestCodec extends CodecWithVariants<MessageDigest> {
 		variants.add(Variant.builder().id(VARIANT_ID_BC_GOST3411).name("GOST-3411 (BouncyCastle)").build());
 		variants.add(Variant.builder().id(VARIANT_ID_BC_GOST3411_2012_256).name("GOST-3411-2012-256 (BouncyCastle)").build());
 		variants.add(Variant.builder().id(VARIANT_ID_BC_GOST3411_2012_512).name("GOST-3411-2012-512 (BouncyCastle)").build());
+		variants.add(Variant.builder().id(VARIANT_ID_BLAKE3).name("BLAKE3").build());
+		variants.add(Variant.builder().id(VARIANT_ID_TREE_SHA_256).name("SHA-256 (树形, 1 MiB)").build());
+		variants.add(Variant.builder().id(VARIANT_ID_TREE_SHA_512).name("SHA-512 (树形, 1 MiB)").build());
+		variants.add(Variant.builder().id(VARIANT_ID_TREE_SHA3_256).name("SHA3-256 (树形, 1 MiB)").build());
+		variants.add(Variant.builder().id(VARIANT_ID_TREE_SHA3_512).name("SHA3-512 (树形, 1 MiB)").build());
+		variants.add(Variant.builder().id(VARIANT_ID_TREE_BC_SM3).name("SM3 (树形, 1 MiB, BouncyCastle)").build());
+		addChecksumVariants(variants, VARIANT_ID_CRC32, "CRC-32");
+		addChecksumVariants(variants, VARIANT_ID_CRC32C, "CRC-32C");
+		addChecksumVariants(variants, VARIANT_ID_ADLER32, "Adler-32");
+		addChecksumVariants(variants, VARIANT_ID_XXH32, "xxHash32");
+		addChecksumVariants(variants, VARIANT_ID_XXH64, "xxHash64");
+		addChecksumVariants(variants, VARIANT_ID_XXH3, "XXH3 (64 位)");
+		addChecksumVariants(variants, VARIANT_ID_MURMUR3_32, "MurmurHash3 (x86, 32 位)");
+		addChecksumVariants(variants, VARIANT_ID_MURMUR3_128, "MurmurHash3 (x64, 128 位)");
 		return variants;
 	}
+
+	private static void addChecksumVariants(List<Variant> variants, String variantId, String name) {
+		variants.add(Variant.builder().id(variantId).name(name).build());
+		variants.add(Variant.builder().id(variantId + DECIMAL_SUFFIX).name(name + " (十进制)").build());
+	}
+
+	/**
+	 * 变体对应的算法、输出格式与开销等级
+	 */
+	@Value
+	static class Digest {
+
+		DigestAlgorithm algorithm;
+
+		DigestFormat format;
+
+		CostClass costClass;
+
+		DigestTranscoder createTranscoder() {
+			return new DigestTranscoder(algorithm.newHasher(), format);
+		}
+	}
 }
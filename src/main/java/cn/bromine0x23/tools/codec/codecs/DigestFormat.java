@@ -0,0 +1,35 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import org.apache.commons.codec.binary.Hex;
+
+import java.math.BigInteger;
+
+/**
+ * 摘要的输出格式
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+enum DigestFormat {
+
+	/**
+	 * 小写16进制
+	 */
+	HEX {
+		@Override
+		String format(byte[] digest) {
+			return Hex.encodeHexString(digest);
+		}
+	},
+
+	/**
+	 * 按大端序解释为无符号整数的十进制
+	 */
+	DECIMAL {
+		@Override
+		String format(byte[] digest) {
+			return new BigInteger(1, digest).toString();
+		}
+	};
+
+	abstract String format(byte[] digest);
+}
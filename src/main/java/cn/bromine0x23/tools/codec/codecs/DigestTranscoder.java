@@ -0,0 +1,48 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import cn.bromine0x23.tools.codec.utility.DigestAlgorithm;
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 流式消息摘要，每块输入直接更新摘要状态，结束时按 {@link DigestFormat} 输出摘要。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+class DigestTranscoder implements Transcoder {
+
+	private final DigestAlgorithm.Hasher hasher;
+
+	private final DigestFormat format;
+
+	DigestTranscoder(DigestAlgorithm.Hasher hasher, DigestFormat format) {
+		this.hasher = hasher;
+		this.format = format;
+	}
+
+	@Override
+	public Buffer update(Buffer input) {
+		for (ByteBuffer buffer : input.getByteBuf().nioBuffers()) {
+			update(buffer);
+		}
+		return Buffer.buffer();
+	}
+
+	@Override
+	public Buffer finish() {
+		return Buffer.buffer(result(), StandardCharsets.US_ASCII.name());
+	}
+
+	void update(ByteBuffer input) {
+		hasher.update(input);
+	}
+
+	/**
+	 * 结束计算并返回格式化的摘要
+	 */
+	String result() {
+		return format.format(hasher.digest());
+	}
+}
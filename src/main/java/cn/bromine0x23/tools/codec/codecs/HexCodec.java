@@ -1,13 +1,29 @@
 package cn.bromine0x23.tools.codec.codecs;
 
-import org.apache.commons.codec.binary.Hex;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
  */
-public class HexCodec implements Codec {
+public class HexCodec extends CodecWithVariants<HexEngine> {
+
+	private static final String VARIANT_ID_LOWER    = "lower";
+	private static final String VARIANT_ID_UPPER    = "upper";
+	private static final String VARIANT_ID_COLON    = "colon";
+	private static final String VARIANT_ID_SPACE    = "space";
+	private static final String VARIANT_ID_PREFIXED = "0x";
+	private static final String VARIANT_ID_LENIENT  = "lenient";
 
-	private final Hex hex = new Hex();
+	public HexCodec() {
+		super(createVariants());
+	}
 
 	@Override
 	public String getId() {
@@ -25,12 +41,129 @@ public class HexCodec implements Codec {
 	}
 
 	@Override
-	public String encode(String input, String variantId) {
-		return new String(hex.encode(input.getBytes()));
+	public boolean supportDecode() {
+		return true;
+	}
+
+	@Override
+	public boolean supportStreaming() {
+		return true;
 	}
 
 	@Override
-	public boolean supportDecode() {
-		return false;
+	public Buffer encode(Buffer input, String variantId) {
+		if (!supportEncode()) {
+			throw new IllegalArgumentException();
+		}
+		return Buffer.buffer(findVariant(variantId).encode(input.getByteBuf()));
+	}
+
+	@Override
+	public Buffer decode(Buffer input, String variantId) throws IOException {
+		if (!supportDecode()) {
+			throw new IllegalArgumentException();
+		}
+		return Buffer.buffer(decode(findVariant(variantId), input.getByteBuf()));
+	}
+
+	@Override
+	protected String doEncode(HexEngine engine, String input) {
+		return engine.encode(Unpooled.wrappedBuffer(input.getBytes(StandardCharsets.UTF_8))).toString(StandardCharsets.US_ASCII);
+	}
+
+	@Override
+	protected String doDecode(HexEngine engine, String input) throws IOException {
+		return decode(engine, Unpooled.wrappedBuffer(input.getBytes(StandardCharsets.US_ASCII))).toString(StandardCharsets.UTF_8);
+	}
+
+	@Override
+	protected Transcoder doCreateEncoder(HexEngine engine) {
+		HexEngine.Encoder encoder = engine.createEncoder();
+		return new Transcoder() {
+
+			@Override
+			public Buffer update(Buffer input) {
+				ByteBuf output = Unpooled.buffer(engine.encodedLength(input.length()));
+				encoder.update(input.getByteBuf(), output);
+				return Buffer.buffer(output);
+			}
+
+			@Override
+			public Buffer finish() {
+				return Buffer.buffer();
+			}
+		};
+	}
+
+	@Override
+	protected Transcoder doCreateDecoder(HexEngine engine) {
+		HexEngine.Decoder decoder = engine.createDecoder();
+		return new Transcoder() {
+
+			@Override
+			public Buffer update(Buffer input) throws IOException {
+				ByteBuf output = Unpooled.buffer(input.length() / 2 + 1);
+				try {
+					decoder.update(input.getByteBuf(), output);
+				} catch (IllegalArgumentException e) {
+					throw new IOException("解码失败", e);
+				}
+				return Buffer.buffer(output);
+			}
+
+			@Override
+			public Buffer finish() throws IOException {
+				try {
+					decoder.finish();
+				} catch (IllegalArgumentException e) {
+					throw new IOException("解码失败", e);
+				}
+				return Buffer.buffer();
+			}
+		};
+	}
+
+	@Override
+	protected HexEngine getVariant(String variantId) {
+		switch (variantId) {
+			case VARIANT_ID_LOWER:
+				return HexEngine.LOWER;
+			case VARIANT_ID_UPPER:
+				return HexEngine.UPPER;
+			case VARIANT_ID_COLON:
+				return HexEngine.COLON;
+			case VARIANT_ID_SPACE:
+				return HexEngine.SPACE;
+			case VARIANT_ID_PREFIXED:
+				return HexEngine.PREFIXED;
+			case VARIANT_ID_LENIENT:
+				return HexEngine.LENIENT;
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	protected HexEngine getDefaultVariant() {
+		return HexEngine.LOWER;
+	}
+
+	private static ByteBuf decode(HexEngine engine, ByteBuf input) throws IOException {
+		try {
+			return engine.decode(input);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("解码失败", e);
+		}
+	}
+
+	private static List<Variant> createVariants() {
+		List<Variant> variants = new ArrayList<>();
+		variants.add(Variant.builder().id(VARIANT_ID_LOWER).name("小写").build());
+		variants.add(Variant.builder().id(VARIANT_ID_UPPER).name("大写").build());
+		variants.add(Variant.builder().id(VARIANT_ID_COLON).name("冒号分隔").build());
+		variants.add(Variant.builder().id(VARIANT_ID_SPACE).name("空格分隔").build());
+		variants.add(Variant.builder().id(VARIANT_ID_PREFIXED).name("0x前缀").build());
+		variants.add(Variant.builder().id(VARIANT_ID_LENIENT).name("宽松（解码时忽略空白与冒号）").build());
+		return variants;
 	}
 }
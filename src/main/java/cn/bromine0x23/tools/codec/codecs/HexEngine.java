@@ -0,0 +1,371 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Arrays;
+
+/**
+ * 表驱动的16进制编解码，直接读写 {@link ByteBuf} 的底层数组，无分隔符时每次迭代处理 8 字节。
+ *
+ * <p>严格解码只接受与编码结果相同的格式（数字不区分大小写），宽松解码忽略空白与 {@code :}，并允许开头的 {@code 0x} 前缀。
+ * 格式错误时抛出 {@link IllegalArgumentException} 。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public final class HexEngine {
+
+	private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+	private static final byte[] LOWER_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] UPPER_DIGITS = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] NO_PREFIX  = {};
+	private static final byte[] HEX_PREFIX = {'0', 'x'};
+
+	private static final byte NO_SEPARATOR = 0;
+
+	private static final byte[] NIBBLES = new byte[256];
+
+	static {
+		Arrays.fill(NIBBLES, (byte) -1);
+		for (int i = 0; i < 16; ++i) {
+			NIBBLES[LOWER_DIGITS[i]] = (byte) i;
+			NIBBLES[UPPER_DIGITS[i]] = (byte) i;
+		}
+	}
+
+	public static final HexEngine LOWER    = new HexEngine(LOWER_DIGITS, NO_PREFIX, NO_SEPARATOR, false);
+	public static final HexEngine UPPER    = new HexEngine(UPPER_DIGITS, NO_PREFIX, NO_SEPARATOR, false);
+	public static final HexEngine COLON    = new HexEngine(LOWER_DIGITS, NO_PREFIX, (byte) ':', false);
+	public static final HexEngine SPACE    = new HexEngine(LOWER_DIGITS, NO_PREFIX, (byte) ' ', false);
+	public static final HexEngine PREFIXED = new HexEngine(LOWER_DIGITS, HEX_PREFIX, NO_SEPARATOR, false);
+	public static final HexEngine LENIENT  = new HexEngine(LOWER_DIGITS, NO_PREFIX, NO_SEPARATOR, true);
+
+	/**
+	 * 字节到两个字符的查找表，高位字符在高 8 位
+	 */
+	private final int[] pairs = new int[256];
+
+	private final byte[] prefix;
+
+	private final byte separator;
+
+	private final boolean lenient;
+
+	private HexEngine(byte[] digits, byte[] prefix, byte separator, boolean lenient) {
+		for (int i = 0; i < 256; ++i) {
+			pairs[i] = digits[i >>> 4] << 8 | digits[i & 0x0F];
+		}
+		this.prefix    = prefix;
+		this.separator = separator;
+		this.lenient   = lenient;
+	}
+
+	/**
+	 * 编码 {@code length} 字节得到的字节数
+	 */
+	public int encodedLength(int length) {
+		if (length == 0) {
+			return 0;
+		}
+		long chars = prefix.length + 2L * length + (separator != NO_SEPARATOR ? length - 1 : 0);
+		if (chars > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Input is too large to encode.");
+		}
+		return (int) chars;
+	}
+
+	/**
+	 * 编码 {@code input} 的全部可读字节，不改变其读位置
+	 */
+	public ByteBuf encode(ByteBuf input) {
+		Encoder encoder = createEncoder();
+		ByteBuf output  = Unpooled.buffer(encodedLength(input.readableBytes()));
+		encoder.update(input, output);
+		return output;
+	}
+
+	/**
+	 * 解码 {@code input} 的全部可读字节，不改变其读位置
+	 *
+	 * @throws IllegalArgumentException 格式错误
+	 */
+	public ByteBuf decode(ByteBuf input) {
+		Decoder decoder = createDecoder();
+		ByteBuf output  = Unpooled.buffer(input.readableBytes() / 2);
+		decoder.update(input, output);
+		decoder.finish();
+		return output;
+	}
+
+	/**
+	 * 创建可分多次输入的编码过程
+	 */
+	public Encoder createEncoder() {
+		return new Encoder();
+	}
+
+	/**
+	 * 创建可分多次输入的解码过程
+	 */
+	public Decoder createDecoder() {
+		return new Decoder();
+	}
+
+	private static ByteBuf heap(ByteBuf buffer) {
+		return buffer.hasArray() ? buffer : Unpooled.copiedBuffer(buffer);
+	}
+
+	/**
+	 * 可分多次输入的编码过程，记录是否已输出前缀
+	 */
+	public final class Encoder {
+
+		private boolean started;
+
+		private Encoder() {
+		}
+
+		/**
+		 * 编码 {@code input} 的全部可读字节（不改变其读位置），结果追加到 {@code output}
+		 *
+		 * @throws IllegalArgumentException {@code output} 不是堆缓冲区
+		 */
+		public void update(ByteBuf input, ByteBuf output) {
+			if (!output.hasArray()) {
+				throw new IllegalArgumentException("Output must be a heap buffer.");
+			}
+			int length = input.readableBytes();
+			if (length == 0) {
+				return;
+			}
+			int size = encodedLength(length) - (started ? prefix.length : 0) + (started && separator != NO_SEPARATOR ? 1 : 0);
+			output.ensureWritable(size);
+			ByteBuf source      = heap(input);
+			int     targetStart = output.arrayOffset() + output.writerIndex();
+			int     targetEnd   = encode(source.array(), source.arrayOffset() + source.readerIndex(), length, output.array(), targetStart);
+			output.writerIndex(output.writerIndex() + targetEnd - targetStart);
+		}
+
+		private int encode(byte[] source, int sourceIndex, int length, byte[] target, int targetIndex) {
+			int   sourceEnd = sourceIndex + length;
+			int[] table     = pairs;
+			if (!started) {
+				System.arraycopy(prefix, 0, target, targetIndex, prefix.length);
+				targetIndex += prefix.length;
+			} else if (separator != NO_SEPARATOR) {
+				target[targetIndex++] = separator;
+			}
+			started = true;
+			if (separator == NO_SEPARATOR) {
+				for (int fastEnd = sourceEnd - 7; sourceIndex < fastEnd; sourceIndex += 8, targetIndex += 16) {
+					long value = (long) LONG.get(source, sourceIndex);
+					long high  = (long) table[(int) (value >>> 56)] << 48
+						| (long) table[(int) (value >>> 48) & 0xFF] << 32
+						| (long) table[(int) (value >>> 40) & 0xFF] << 16
+						| table[(int) (value >>> 32) & 0xFF];
+					long low   = (long) table[(int) (value >>> 24) & 0xFF] << 48
+						| (long) table[(int) (value >>> 16) & 0xFF] << 32
+						| (long) table[(int) (value >>> 8) & 0xFF] << 16
+						| table[(int) value & 0xFF];
+					LONG.set(target, targetIndex, high);
+					LONG.set(target, targetIndex + 8, low);
+				}
+				while (sourceIndex < sourceEnd) {
+					int pair = table[source[sourceIndex++] & 0xFF];
+					target[targetIndex++] = (byte) (pair >>> 8);
+					target[targetIndex++] = (byte) pair;
+				}
+			} else {
+				int pair = table[source[sourceIndex++] & 0xFF];
+				target[targetIndex++] = (byte) (pair >>> 8);
+				target[targetIndex++] = (byte) pair;
+				while (sourceIndex < sourceEnd) {
+					pair = table[source[sourceIndex++] & 0xFF];
+					target[targetIndex++] = separator;
+					target[targetIndex++] = (byte) (pair >>> 8);
+					target[targetIndex++] = (byte) pair;
+				}
+			}
+			return targetIndex;
+		}
+	}
+
+	/**
+	 * 可分多次输入的解码过程，跨输入保留解析状态
+	 */
+	public final class Decoder {
+
+		private static final int EXPECT_PREFIX    = 0;
+		private static final int EXPECT_HIGH      = 1;
+		private static final int EXPECT_LOW       = 2;
+		private static final int EXPECT_SEPARATOR = 3;
+
+		private int state = lenient || prefix.length > 0 ? EXPECT_PREFIX : EXPECT_HIGH;
+
+		/**
+		 * 已匹配的前缀字符数
+		 */
+		private int prefixMatched;
+
+		private int high;
+
+		/**
+		 * 已读入的字符数，用于错误信息
+		 */
+		private long position;
+
+		private boolean empty = true;
+
+		private Decoder() {
+		}
+
+		/**
+		 * 解码 {@code input} 的全部可读字节（不改变其读位置），结果追加到 {@code output}
+		 *
+		 * @throws IllegalArgumentException 格式错误，或 {@code output} 不是堆缓冲区
+		 */
+		public void update(ByteBuf input, ByteBuf output) {
+			if (!output.hasArray()) {
+				throw new IllegalArgumentException("Output must be a heap buffer.");
+			}
+			int length = input.readableBytes();
+			if (length == 0) {
+				return;
+			}
+			output.ensureWritable(length / 2 + 1);
+			ByteBuf source      = heap(input);
+			int     sourceIndex = source.arrayOffset() + source.readerIndex();
+			int     targetStart = output.arrayOffset() + output.writerIndex();
+			int     targetEnd   = decode(source.array(), sourceIndex, sourceIndex + length, output.array(), targetStart);
+			output.writerIndex(output.writerIndex() + targetEnd - targetStart);
+		}
+
+		/**
+		 * 检查输入是否完整，之后可以开始解码新的输入
+		 *
+		 * @throws IllegalArgumentException 输入不完整
+		 */
+		public void finish() {
+			boolean complete = state == EXPECT_SEPARATOR
+				|| state == EXPECT_HIGH && (separator == NO_SEPARATOR || empty)
+				|| state == EXPECT_PREFIX && (prefixMatched == 0 || prefixMatched == prefix.length);
+			long end = position;
+			state         = lenient || prefix.length > 0 ? EXPECT_PREFIX : EXPECT_HIGH;
+			prefixMatched = 0;
+			position      = 0;
+			empty         = true;
+			if (!complete) {
+				throw new IllegalArgumentException(MessageFormat.format("Incomplete hex input at offset {0}.", end));
+			}
+		}
+
+		private int decode(byte[] source, int sourceIndex, int sourceEnd, byte[] target, int targetIndex) {
+			byte[] nibbles     = NIBBLES;
+			int    sourceStart = sourceIndex;
+			int    fastResume  = sourceIndex;
+			while (sourceIndex < sourceEnd) {
+				// 快速路径：无分隔符时连续 16 个数字整体解码为 8 字节；遇到非数字后暂停一段，避免夹杂空白时反复尝试
+				if (state == EXPECT_HIGH && separator == NO_SEPARATOR && sourceIndex >= fastResume) {
+					for (int fastEnd = sourceEnd - 15; sourceIndex < fastEnd; sourceIndex += 16, targetIndex += 8) {
+						long value   = 0;
+						int  invalid = 0;
+						for (int i = 0; i < 16; i += 2) {
+							int digitHigh = nibbles[source[sourceIndex + i] & 0xFF];
+							int digitLow  = nibbles[source[sourceIndex + i + 1] & 0xFF];
+							invalid |= digitHigh | digitLow;
+							value = value << 8 | digitHigh << 4 | digitLow;
+						}
+						if (invalid < 0) {
+							fastResume = sourceIndex + 16;
+							break;
+						}
+						LONG.set(target, targetIndex, value);
+						empty = false;
+					}
+					if (sourceIndex == sourceEnd) {
+						break;
+					}
+				}
+				byte octet = source[sourceIndex];
+				int  digit = nibbles[octet & 0xFF];
+				if (lenient && digit < 0 && isIgnorable(octet)) {
+					++sourceIndex;
+					continue;
+				}
+				switch (state) {
+					case EXPECT_PREFIX:
+						if (lenient) {
+							if (prefixMatched == 0 && octet == '0') {
+								prefixMatched = 1;
+								++sourceIndex;
+								continue;
+							}
+							if (prefixMatched == 1) {
+								if (octet == 'x' || octet == 'X') {
+									prefixMatched = 2;
+									state         = EXPECT_HIGH;
+									++sourceIndex;
+									continue;
+								}
+								// 开头的 0 是第一个数字的高位
+								high  = 0;
+								state = EXPECT_LOW;
+								continue;
+							}
+							state = EXPECT_HIGH;
+							continue;
+						}
+						if (octet != prefix[prefixMatched] && !(prefixMatched == 1 && octet == 'X')) {
+							throw invalid(octet, sourceIndex - sourceStart);
+						}
+						if (++prefixMatched == prefix.length) {
+							state = EXPECT_HIGH;
+						}
+						break;
+					case EXPECT_HIGH:
+						if (digit < 0) {
+							throw invalid(octet, sourceIndex - sourceStart);
+						}
+						high  = digit;
+						state = EXPECT_LOW;
+						break;
+					case EXPECT_LOW:
+						if (digit < 0) {
+							throw invalid(octet, sourceIndex - sourceStart);
+						}
+						target[targetIndex++] = (byte) (high << 4 | digit);
+						empty = false;
+						state = separator != NO_SEPARATOR ? EXPECT_SEPARATOR : EXPECT_HIGH;
+						break;
+					default:
+						if (octet != separator) {
+							throw invalid(octet, sourceIndex - sourceStart);
+						}
+						state = EXPECT_HIGH;
+						break;
+				}
+				++sourceIndex;
+			}
+			position += sourceIndex - sourceStart;
+			return targetIndex;
+		}
+
+		private IllegalArgumentException invalid(byte octet, int offset) {
+			return new IllegalArgumentException(MessageFormat.format(
+				"Invalid hex character 0x{0} at offset {1}.",
+				Integer.toHexString(octet & 0xFF), String.valueOf(position + offset)
+			));
+		}
+
+		private boolean isIgnorable(byte octet) {
+			return octet == ' ' || octet == '\t' || octet == '\r' || octet == '\n' || octet == '\f' || octet == ':';
+		}
+	}
+}
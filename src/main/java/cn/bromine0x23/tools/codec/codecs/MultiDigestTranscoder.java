@@ -0,0 +1,43 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * 单次遍历输入同时计算多个消息摘要，结束时输出 {@code 变体ID → 摘要} 的 JSON 对象。
+ *
+ * <p>每个输入块依次交给各算法，不复制也不等待其他线程，与单个摘要一样可在事件循环上执行。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+class MultiDigestTranscoder implements Transcoder {
+
+	private final Map<String, DigestTranscoder> digests;
+
+	/**
+	 * @param digests 变体ID到单个摘要的流式编码过程的映射，按输出顺序排列
+	 */
+	MultiDigestTranscoder(Map<String, DigestTranscoder> digests) {
+		this.digests = digests;
+	}
+
+	@Override
+	public Buffer update(Buffer input) {
+		for (ByteBuffer buffer : input.getByteBuf().nioBuffers()) {
+			for (DigestTranscoder digest : digests.values()) {
+				digest.update(buffer.duplicate());
+			}
+		}
+		return Buffer.buffer();
+	}
+
+	@Override
+	public Buffer finish() {
+		JsonObject result = new JsonObject();
+		digests.forEach((variantId, digest) -> result.put(variantId, digest.result()));
+		return result.toBuffer();
+	}
+}
@@ -1,5 +1,7 @@
 package cn.bromine0x23.tools.codec.codecs;
 
+import lombok.AccessLevel;
+import lombok.Getter;
 import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
@@ -15,6 +17,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * 各编码器在首次使用时创建，避免启动时构造全部编码器。
+ *
  * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
  */
 @SuppressWarnings({"deprecation", "squid:CallToDeprecatedMethod", "squid:S5344"})
@@ -31,17 +35,38 @@ public class StringSecurityCryptoCodec extends CodecWithVariants<PasswordEncoder
 	private static final String VARIANT_ID_STANDARD = "standard";
 	private static final String VARIANT_ID_LDAP     = "ldap";
 
-	private static final PasswordEncoder DEFAULT  = PasswordEncoderFactories.createDelegatingPasswordEncoder();
-	private static final PasswordEncoder NOOP     = NoOpPasswordEncoder.getInstance();
-	private static final PasswordEncoder BCRYPT   = new BCryptPasswordEncoder();
-	private static final PasswordEncoder SCRYPT   = new SCryptPasswordEncoder();
-	private static final PasswordEncoder PBKDF2   = new Pbkdf2PasswordEncoder();
-	private static final PasswordEncoder ARGON2   = new Argon2PasswordEncoder();
-	private static final PasswordEncoder MD5      = new MessageDigestPasswordEncoder("MD5");
-	private static final PasswordEncoder SHA_1    = new MessageDigestPasswordEncoder("SHA-1");
-	private static final PasswordEncoder SHA_256  = new MessageDigestPasswordEncoder("SHA-256");
-	private static final PasswordEncoder STANDARD = new StandardPasswordEncoder();
-	private static final PasswordEncoder LDAP     = new LdapShaPasswordEncoder();
+	@Getter(value = AccessLevel.PRIVATE, lazy = true)
+	private final PasswordEncoder delegating = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+
+	@Getter(value = AccessLevel.PRIVATE, lazy = true)
+	private final PasswordEncoder noop = NoOpPasswordEncoder.getInstance();
+
+	@Getter(value = AccessLevel.PRIVATE, lazy = true)
+	private final PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+
+	@Getter(value = AccessLevel.PRIVATE, lazy = true)
+	private final PasswordEncoder scrypt = new SCryptPasswordEncoder();
+
+	@Getter(value = AccessLevel.PRIVATE, lazy = true)
+	private final PasswordEncoder pbkdf2 = new Pbkdf2PasswordEncoder();
+
+	@Getter(value = AccessLevel.PRIVATE, lazy = true)
+	private final PasswordEncoder argon2 = new Argon2PasswordEncoder();
+
+	@Getter(value = AccessLevel.PRIVATE, lazy = true)
+	private final PasswordEncoder md5 = new MessageDigestPasswordEncoder("MD5");
+
+	@Getter(value = AccessLevel.PRIVATE, lazy = true)
+	private final PasswordEncoder sha1 = new MessageDigestPasswordEncoder("SHA-1");
+
+	@Getter(value = AccessLevel.PRIVATE, lazy = true)
+	private final PasswordEncoder sha256 = new MessageDigestPasswordEncoder("SHA-256");
+
+	@Getter(value = AccessLevel.PRIVATE, lazy = true)
+	private final PasswordEncoder standard = new StandardPasswordEncoder();
+
+	@Getter(value = AccessLevel.PRIVATE, lazy = true)
+	private final PasswordEncoder ldap = new LdapShaPasswordEncoder();
 
 	public StringSecurityCryptoCodec() {
 		super(createVariants());
@@ -62,6 +87,32 @@ public class StringSecurityCryptoCodec extends CodecWithVariants<PasswordEncoder
 		return true;
 	}
 
+	@Override
+	public CostClass getCostClass(String variantId) {
+		if (variantId == null) {
+			return CostClass.EXPENSIVE;
+		}
+		switch (variantId) {
+			case VARIANT_ID_BCRYPT:
+			case VARIANT_ID_SCRYPT:
+			case VARIANT_ID_PBKDF2:
+			case VARIANT_ID_ARGON2:
+				return CostClass.EXPENSIVE;
+			case VARIANT_ID_STANDARD:
+				return CostClass.MODERATE;
+			default:
+				return CostClass.CHEAP;
+		}
+	}
+
+	/**
+	 * 除 {@code noop} 外均使用随机盐，整体视为不确定
+	 */
+	@Override
+	public boolean isDeterministic(String variantId) {
+		return false;
+	}
+
 	@Override
 	protected String doEncode(PasswordEncoder passwordEncoder, String input) {
 		return passwordEncoder.encode(input);
@@ -69,32 +120,32 @@ public class StringSecurityCryptoCodec extends CodecWithVariants<PasswordEncoder
 
 	@Override
 	protected PasswordEncoder getDefaultVariant() {
-		return DEFAULT;
+		return getDelegating();
 	}
 
 	@Override
 	protected PasswordEncoder getVariant(String variantId) {
 		switch (variantId) {
 			case VARIANT_ID_NOOP:
-				return NOOP;
+				return getNoop();
 			case VARIANT_ID_BCRYPT:
-				return BCRYPT;
+				return getBcrypt();
 			case VARIANT_ID_SCRYPT:
-				return SCRYPT;
+				return getScrypt();
 			case VARIANT_ID_PBKDF2:
-				return PBKDF2;
+				return getPbkdf2();
 			case VARIANT_ID_ARGON2:
-				return ARGON2;
+				return getArgon2();
 			case VARIANT_ID_MD5:
-				return MD5;
+				return getMd5();
 			case VARIANT_ID_SHA_1:
-				return SHA_1;
+				return getSha1();
 			case VARIANT_ID_SHA_256:
-				return SHA_256;
+				return getSha256();
 			case VARIANT_ID_STANDARD:
-				return STANDARD;
+				return getStandard();
 			case VARIANT_ID_LDAP:
-				return LDAP;
+				return getLdap();
 			default:
 				return null;
 		}
@@ -0,0 +1,32 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+
+/**
+ * 流式编解码过程，在分块输入之间保存未处理完的部分（如不完整的编码单元）。
+ *
+ * <p>实例有状态且非线程安全，每个流使用独立的实例。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public interface Transcoder {
+
+	/**
+	 * 处理一块输入，返回此时已能确定的输出。
+	 *
+	 * @param input 输入块
+	 * @return 输出块，可能为空
+	 * @throws IOException 输入格式错误
+	 */
+	Buffer update(Buffer input) throws IOException;
+
+	/**
+	 * 结束输入，返回剩余的输出。
+	 *
+	 * @return 输出块，可能为空
+	 * @throws IOException 输入格式错误
+	 */
+	Buffer finish() throws IOException;
+}
@@ -4,6 +4,7 @@ import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.EncoderException;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -52,6 +53,11 @@ public class URLCodec extends CodecWithVariants<org.apache.commons.codec.net.URL
 		return true;
 	}
 
+	@Override
+	public boolean supportStreaming() {
+		return true;
+	}
+
 	@Override
 	protected String doEncode(org.apache.commons.codec.net.URLCodec codec, String input) throws IOException {
 		try {
@@ -70,6 +76,16 @@ public class URLCodec extends CodecWithVariants<org.apache.commons.codec.net.URL
 		}
 	}
 
+	@Override
+	protected Transcoder doCreateEncoder(org.apache.commons.codec.net.URLCodec codec) {
+		return new URLEncodingTranscoder(Charset.forName(codec.getDefaultCharset()));
+	}
+
+	@Override
+	protected Transcoder doCreateDecoder(org.apache.commons.codec.net.URLCodec codec) {
+		return new URLDecodingTranscoder(Charset.forName(codec.getDefaultCharset()));
+	}
+
 	@Override
 	protected org.apache.commons.codec.net.URLCodec getVariant(String variantId) {
 		switch (variantId) {
@@ -0,0 +1,61 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import io.vertx.core.buffer.Buffer;
+import org.apache.commons.codec.DecoderException;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * URL 流式解码，跨块保留不完整的 {@code %XX} 转义序列，解码结果由源字符集转换为 UTF-8 文本。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+class URLDecodingTranscoder implements Transcoder {
+
+	private static final byte ESCAPE_CHAR = '%';
+
+	private final CharsetTranscoder charsetTranscoder;
+
+	private Buffer carry = Buffer.buffer();
+
+	URLDecodingTranscoder(Charset charset) {
+		this.charsetTranscoder = StandardCharsets.UTF_8.equals(charset)
+			? null
+			: new CharsetTranscoder(charset, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public Buffer update(Buffer input) throws IOException {
+		Buffer bytes  = carry.length() > 0 ? carry.appendBuffer(input) : input;
+		int    length = bytes.length();
+		int    end    = length;
+		if (length >= 1 && bytes.getByte(length - 1) == ESCAPE_CHAR) {
+			end = length - 1;
+		} else if (length >= 2 && bytes.getByte(length - 2) == ESCAPE_CHAR) {
+			end = length - 2;
+		}
+		carry = bytes.getBuffer(end, length);
+		Buffer decoded = decode(bytes.getBytes(0, end));
+		return charsetTranscoder != null ? charsetTranscoder.update(decoded) : decoded;
+	}
+
+	@Override
+	public Buffer finish() throws IOException {
+		Buffer decoded = decode(carry.getBytes());
+		carry = Buffer.buffer();
+		if (charsetTranscoder == null) {
+			return decoded;
+		}
+		return charsetTranscoder.update(decoded).appendBuffer(charsetTranscoder.finish());
+	}
+
+	private static Buffer decode(byte[] bytes) throws IOException {
+		try {
+			return Buffer.buffer(org.apache.commons.codec.net.URLCodec.decodeUrl(bytes));
+		} catch (DecoderException e) {
+			throw new IOException("解码失败", e);
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * URL 流式编码，输入为 UTF-8 文本，先转换为目标字符集再逐字节编码。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+class URLEncodingTranscoder implements Transcoder {
+
+	private final CharsetTranscoder charsetTranscoder;
+
+	URLEncodingTranscoder(Charset charset) {
+		this.charsetTranscoder = StandardCharsets.UTF_8.equals(charset)
+			? null
+			: new CharsetTranscoder(StandardCharsets.UTF_8, charset);
+	}
+
+	@Override
+	public Buffer update(Buffer input) {
+		return encode(charsetTranscoder != null ? charsetTranscoder.update(input) : input);
+	}
+
+	@Override
+	public Buffer finish() {
+		return charsetTranscoder != null ? encode(charsetTranscoder.finish()) : Buffer.buffer();
+	}
+
+	private static Buffer encode(Buffer bytes) {
+		return Buffer.buffer(org.apache.commons.codec.net.URLCodec.encodeUrl(null, bytes.getBytes()));
+	}
+}
@@ -0,0 +1,319 @@
+package cn.bromine0x23.tools.codec.commands;
+
+import cn.bromine0x23.tools.codec.utility.Blake3;
+import cn.bromine0x23.tools.codec.utility.Checksum;
+import cn.bromine0x23.tools.codec.utility.DigestAlgorithm;
+import cn.bromine0x23.tools.codec.utility.MessageDigest;
+import cn.bromine0x23.tools.codec.utility.TreeHash;
+import io.vertx.core.cli.CLIException;
+import io.vertx.core.cli.annotations.Argument;
+import io.vertx.core.cli.annotations.DefaultValue;
+import io.vertx.core.cli.annotations.Description;
+import io.vertx.core.cli.annotations.Name;
+import io.vertx.core.cli.annotations.Option;
+import io.vertx.core.cli.annotations.Summary;
+import io.vertx.core.spi.launcher.DefaultCommand;
+import io.vertx.core.spi.launcher.ExecutionContext;
+import org.apache.commons.codec.binary.Hex;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 计算本地文件的消息摘要，输出与 {@code sha256sum} 等工具兼容。
+ *
+ * <p>文件按窗口大小分段映射到内存后交给摘要算法或校验和（见 {@link Checksum} ），不经过堆上的缓冲区；
+ * 多个文件在 {@link ForkJoinPool} 中并行计算，按参数顺序输出。
+ * 树形摘要（{@code -t} ，见 {@link TreeHash} ）与 BLAKE3 在同一线程池中对单个文件的各部分并行计算。
+ *
+ * <pre>java -jar tools-codec-fat.jar digest -a SHA_256 -r target/ backup.tar</pre>
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@Name("digest")
+@Summary("Compute message digests of local files.")
+@Description("Prints one line per file in the format of sha256sum: the lowercase hex digest, two spaces and the file name. "
+	+ "`-` reads standard input. Files are memory-mapped in windows and hashed in parallel; "
+	+ "tree hashes and BLAKE3 also hash the parts of a single file in parallel. "
+	+ "Files that cannot be read are reported on standard error, and the command fails after the other files are printed.")
+public class DigestCommand extends DefaultCommand {
+
+	private static final String STDIN = "-";
+
+	private static final int STDIN_BUFFER_BYTES = 1 << 20;
+
+	private static final long MIB = 1 << 20;
+
+	/**
+	 * {@code sun.misc.Unsafe#invokeCleaner(ByteBuffer)} ，用于立即解除映射；不可用时为 {@code null} ，映射由 GC 回收
+	 */
+	private static final MethodHandle INVOKE_CLEANER = lookupInvokeCleaner();
+
+	private String algorithmName;
+
+	/**
+	 * 消息摘要或校验和，按窗口顺序计算
+	 */
+	private DigestAlgorithm algorithm;
+
+	/**
+	 * 树形摘要或 BLAKE3 ，为 {@code null} 时按 {@link #algorithm} 顺序计算
+	 */
+	private DigestAlgorithm parallelAlgorithm;
+
+	private boolean tree;
+
+	private boolean recursive;
+
+	private int parallelism;
+
+	private long windowBytes;
+
+	private List<String> files = Collections.emptyList();
+
+	@Option(shortName = "a", longName = "algorithm", argName = "name")
+	@DefaultValue("SHA_256")
+	@Description("Digest algorithm, one of the MessageDigest constants, e.g. MD5, SHA_256, SHA3_512 or BC_SM3, BLAKE3, "
+		+ "or one of the Checksum constants, e.g. CRC32C or XXH3; `-` may be used for `_`, and `_` may be omitted for checksums.")
+	public void setAlgorithm(String algorithm) {
+		this.algorithmName = algorithm;
+	}
+
+	@Option(shortName = "t", longName = "tree", flag = true)
+	@Description("Print the RFC 6962 style tree hash over 1 MiB leaves instead of the plain digest, computed in parallel within each file.")
+	public void setTree(boolean tree) {
+		this.tree = tree;
+	}
+
+	@Option(shortName = "r", longName = "recursive", flag = true)
+	@Description("Hash the regular files under directories, in path order.")
+	public void setRecursive(boolean recursive) {
+		this.recursive = recursive;
+	}
+
+	@Option(shortName = "p", longName = "parallelism", argName = "threads")
+	@Description("Files hashed at the same time, by default the number of processors.")
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	@Option(shortName = "w", longName = "window", argName = "MiB")
+	@DefaultValue("64")
+	@Description("Size of each memory-mapped window.")
+	public void setWindow(int window) {
+		this.windowBytes = window * MIB;
+	}
+
+	@Argument(index = 0, argName = "files", required = false)
+	@Description("Files or, with -r, directories; standard input when omitted.")
+	public void setFiles(List<String> files) {
+		this.files = files;
+	}
+
+	@Override
+	public void setUp(ExecutionContext context) throws CLIException {
+		super.setUp(context);
+		String   name     = algorithmName.replace('-', '_').toUpperCase(Locale.ROOT);
+		Checksum checksum = checksum(name);
+		if ("BLAKE3".equals(name)) {
+			if (tree) {
+				throw new CLIException("BLAKE3 is a tree hash already, -t does not apply.");
+			}
+			parallelAlgorithm = Blake3.INSTANCE;
+		} else if (checksum != null) {
+			if (tree) {
+				throw new CLIException("Tree hashes apply to message digests only, not to " + checksum + ".");
+			}
+			algorithm = checksum;
+		} else {
+			MessageDigest messageDigest;
+			try {
+				messageDigest = MessageDigest.valueOf(name);
+			} catch (IllegalArgumentException exception) {
+				throw new CLIException("Unknown algorithm `" + algorithmName + "`.");
+			}
+			algorithm         = DigestAlgorithm.of(messageDigest);
+			parallelAlgorithm = tree ? new TreeHash(messageDigest) : null;
+		}
+		if (windowBytes <= 0 || windowBytes > Integer.MAX_VALUE) {
+			throw new CLIException("Window must be between 1 and " + Integer.MAX_VALUE / MIB + " MiB.");
+		}
+	}
+
+	@Override
+	public void run() throws CLIException {
+		List<String> names = new ArrayList<>();
+		for (String file : files.isEmpty() ? List.of(STDIN) : files) {
+			names.addAll(expand(file));
+		}
+		ForkJoinPool pool     = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+		int          failures = 0;
+		try {
+			List<ForkJoinTask<String>> digests = new ArrayList<>(names.size());
+			for (String name : names) {
+				// 标准输入只能顺序读取，在当前线程计算
+				digests.add(STDIN.equals(name) ? null : pool.submit(() -> Hex.encodeHexString(digest(Paths.get(name)))));
+			}
+			PrintStream out = out();
+			for (int i = 0; i < names.size(); ++i) {
+				String name = names.get(i);
+				try {
+					String digest = digests.get(i) != null ? digests.get(i).get() : Hex.encodeHexString(digestStdin());
+					out.println(line(digest, name));
+				} catch (Exception exception) {
+					++failures;
+					out.flush();
+					System.err.println("digest: " + name + ": " + describe(exception));
+				}
+			}
+			out.flush();
+		} finally {
+			pool.shutdownNow();
+		}
+		if (failures > 0) {
+			throw new CLIException(failures + " of " + names.size() + " files could not be hashed.");
+		}
+	}
+
+	/**
+	 * 递归时将目录展开为其下的常规文件，按路径排序
+	 */
+	private List<String> expand(String name) {
+		Path path = Paths.get(name);
+		if (!recursive || STDIN.equals(name) || !Files.isDirectory(path)) {
+			return List.of(name);
+		}
+		try (Stream<Path> walk = Files.walk(path)) {
+			return walk.filter(Files::isRegularFile).sorted().map(Path::toString).collect(Collectors.toList());
+		} catch (IOException exception) {
+			throw new CLIException("Could not list `" + name + "`: " + exception.getMessage());
+		}
+	}
+
+	/**
+	 * 按窗口映射文件并计算摘要，每个窗口用完后立即解除映射，不等待 GC
+	 */
+	private byte[] digest(Path path) throws IOException {
+		if (Files.isDirectory(path)) {
+			throw new IOException("Is a directory");
+		}
+		if (parallelAlgorithm != null) {
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				return parallelAlgorithm.digest(channel);
+			}
+		}
+		DigestAlgorithm.Hasher hasher = algorithm.newHasher();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			for (long position = 0; position < size; position += windowBytes) {
+				MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowBytes, size - position));
+				try {
+					hasher.update(window);
+				} finally {
+					unmap(window);
+				}
+			}
+		}
+		return hasher.digest();
+	}
+
+	private byte[] digestStdin() throws IOException {
+		DigestAlgorithm.Hasher hasher  = (parallelAlgorithm != null ? parallelAlgorithm : algorithm).newHasher();
+		ReadableByteChannel    channel = Channels.newChannel(System.in);
+		ByteBuffer             buffer  = ByteBuffer.allocate(STDIN_BUFFER_BYTES);
+		while (channel.read(buffer) >= 0) {
+			buffer.flip();
+			hasher.update(buffer);
+			buffer.clear();
+		}
+		return hasher.digest();
+	}
+
+	/**
+	 * 按常量名查找校验和，忽略下划线，如 {@code CRC32C} 与 {@code CRC_32C} 均对应 {@link Checksum#CRC_32C}
+	 *
+	 * @return 不存在时为 {@code null}
+	 */
+	private static Checksum checksum(String name) {
+		String key = name.replace("_", "");
+		for (Checksum checksum : Checksum.values()) {
+			if (checksum.name().replace("_", "").equals(key)) {
+				return checksum;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 与 GNU coreutils 一致：文件名含反斜杠或换行时转义，并在行首加反斜杠
+	 */
+	static String line(String digest, String name) {
+		if (name.indexOf('\\') < 0 && name.indexOf('\n') < 0) {
+			return digest + "  " + name;
+		}
+		return "\\" + digest + "  " + name.replace("\\", "\\\\").replace("\n", "\\n");
+	}
+
+	private static void unmap(MappedByteBuffer buffer) {
+		if (INVOKE_CLEANER != null) {
+			try {
+				INVOKE_CLEANER.invokeExact((ByteBuffer) buffer);
+			} catch (Throwable ignored) {
+				// 解除映射失败时由 GC 回收
+			}
+		}
+	}
+
+	private static MethodHandle lookupInvokeCleaner() {
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field    field       = unsafeClass.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			return MethodHandles.lookup()
+				.findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+				.bindTo(field.get(null));
+		} catch (ReflectiveOperationException | RuntimeException exception) {
+			return null;
+		}
+	}
+
+	/**
+	 * 取异常链最内层的原因，按 coreutils 的措辞描述常见错误
+	 */
+	private static String describe(Throwable exception) {
+		Throwable cause = exception;
+		while (cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		if (cause instanceof NoSuchFileException) {
+			return "No such file or directory";
+		}
+		if (cause instanceof AccessDeniedException) {
+			return "Permission denied";
+		}
+		return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+	}
+}
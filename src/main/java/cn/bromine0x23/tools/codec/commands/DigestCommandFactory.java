@@ -0,0 +1,15 @@
+package cn.bromine0x23.tools.codec.commands;
+
+import io.vertx.core.spi.launcher.DefaultCommandFactory;
+
+/**
+ * 向 Vert.x 启动器注册 {@link DigestCommand} 。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class DigestCommandFactory extends DefaultCommandFactory<DigestCommand> {
+
+	public DigestCommandFactory() {
+		super(DigestCommand.class, DigestCommand::new);
+	}
+}
@@ -0,0 +1,26 @@
+package cn.bromine0x23.tools.codec.eventbus;
+
+import io.vertx.core.buffer.Buffer;
+import lombok.Value;
+
+/**
+ * 事件总线上的编解码请求与回复，载荷为原始字节，由 {@link CodecMessageCodec} 传递。
+ *
+ * <p>本地投递时不复制载荷，发送后不应再修改。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@Value(staticConstructor = "of")
+public class CodecMessage {
+
+	/**
+	 * 变体ID，为 {@code null} 时表示默认变体；回复中总为 {@code null}
+	 */
+	String variantId;
+
+	/**
+	 * 输入或输出的字节
+	 */
+	Buffer payload;
+
+}
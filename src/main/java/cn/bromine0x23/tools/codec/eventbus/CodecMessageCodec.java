@@ -0,0 +1,63 @@
+package cn.bromine0x23.tools.codec.eventbus;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link CodecMessage} 的消息编解码器。
+ *
+ * <p>本地投递直接传递同一实例，不复制载荷；跨节点时依次写出变体ID的长度（{@code null} 为 -1 ）、变体ID的 UTF-8 字节、
+ * 载荷长度与载荷。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class CodecMessageCodec implements MessageCodec<CodecMessage, CodecMessage> {
+
+	public static final String NAME = "tools-codec.message";
+
+	private static final int NULL_LENGTH = -1;
+
+	@Override
+	public void encodeToWire(Buffer buffer, CodecMessage message) {
+		String variantId = message.getVariantId();
+		if (variantId == null) {
+			buffer.appendInt(NULL_LENGTH);
+		} else {
+			byte[] bytes = variantId.getBytes(StandardCharsets.UTF_8);
+			buffer.appendInt(bytes.length).appendBytes(bytes);
+		}
+		Buffer payload = message.getPayload();
+		buffer.appendInt(payload.length()).appendBuffer(payload);
+	}
+
+	@Override
+	public CodecMessage decodeFromWire(int pos, Buffer buffer) {
+		int    variantLength = buffer.getInt(pos);
+		String variantId     = null;
+		pos += Integer.BYTES;
+		if (variantLength != NULL_LENGTH) {
+			variantId = buffer.getString(pos, pos + variantLength, StandardCharsets.UTF_8.name());
+			pos += variantLength;
+		}
+		int payloadLength = buffer.getInt(pos);
+		pos += Integer.BYTES;
+		return CodecMessage.of(variantId, buffer.getBuffer(pos, pos + payloadLength));
+	}
+
+	@Override
+	public CodecMessage transform(CodecMessage message) {
+		return message;
+	}
+
+	@Override
+	public String name() {
+		return NAME;
+	}
+
+	@Override
+	public byte systemCodecID() {
+		return -1;
+	}
+}
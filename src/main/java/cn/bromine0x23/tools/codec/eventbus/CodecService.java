@@ -0,0 +1,86 @@
+package cn.bromine0x23.tools.codec.eventbus;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.EventBus;
+
+/**
+ * 经事件总线调用编解码器，供同一 Vert.x 实例中的其他 Verticle 使用，省去经 HTTP 回环的开销。
+ *
+ * <p>每个编解码器的每种操作有各自的地址 {@code tools-codec.codecs.<id>.<encode|decode>} ，
+ * 请求与回复均为 {@link CodecMessage} 。失败时回复 {@link io.vertx.core.eventbus.ReplyException} ，
+ * 其 {@code failureCode} 与 HTTP 接口的状态码一致：输入或变体无效为 400 ，被准入控制拒绝为 429 或 503 ，工作线程池饱和为 503 ；
+ * 编解码器不存在或不支持该操作时没有处理器（{@code NO_HANDLERS}）。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class CodecService {
+
+	public static final String OPERATION_ENCODE = "encode";
+	public static final String OPERATION_DECODE = "decode";
+
+	private static final String ADDRESS_PREFIX = "tools-codec.codecs.";
+
+	/**
+	 * 标识调用方的消息头，准入控制按此区分客户端，未设置时所有调用方视为同一客户端
+	 */
+	public static final String CLIENT_HEADER = "client";
+
+	private final EventBus eventBus;
+
+	private final DeliveryOptions deliveryOptions;
+
+	public CodecService(Vertx vertx) {
+		this(vertx, new DeliveryOptions());
+	}
+
+	/**
+	 * @param vertx           Vert.x 实例
+	 * @param deliveryOptions 发送选项，如超时与 {@link #CLIENT_HEADER}
+	 */
+	public CodecService(Vertx vertx, DeliveryOptions deliveryOptions) {
+		registerMessageCodec(vertx);
+		this.eventBus        = vertx.eventBus();
+		this.deliveryOptions = deliveryOptions;
+	}
+
+	/**
+	 * 编解码器 {@code codecId} 的操作 {@code operation} 的地址
+	 */
+	public static String address(String codecId, String operation) {
+		return ADDRESS_PREFIX + codecId + "." + operation;
+	}
+
+	/**
+	 * 将 {@link CodecMessageCodec} 注册为 {@link CodecMessage} 的默认消息编解码器，已注册时忽略
+	 */
+	public static void registerMessageCodec(Vertx vertx) {
+		try {
+			vertx.eventBus().registerDefaultCodec(CodecMessage.class, new CodecMessageCodec());
+		} catch (IllegalStateException ignored) {
+			// 已注册
+		}
+	}
+
+	public void encode(String codecId, String variantId, Buffer input, Handler<AsyncResult<Buffer>> handler) {
+		request(address(codecId, OPERATION_ENCODE), variantId, input, handler);
+	}
+
+	public void decode(String codecId, String variantId, Buffer input, Handler<AsyncResult<Buffer>> handler) {
+		request(address(codecId, OPERATION_DECODE), variantId, input, handler);
+	}
+
+	private void request(String address, String variantId, Buffer input, Handler<AsyncResult<Buffer>> handler) {
+		eventBus.<CodecMessage>request(address, CodecMessage.of(variantId, input), deliveryOptions, reply -> {
+			if (reply.succeeded()) {
+				handler.handle(Future.succeededFuture(reply.result().body().getPayload()));
+			} else {
+				handler.handle(Future.failedFuture(reply.cause()));
+			}
+		});
+	}
+}
@@ -0,0 +1,149 @@
+package cn.bromine0x23.tools.codec.handlers;
+
+import cn.bromine0x23.tools.codec.codecs.Codec;
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import cn.bromine0x23.tools.codec.utility.AdmissionController;
+import cn.bromine0x23.tools.codec.utility.CodecFailures;
+import cn.bromine0x23.tools.codec.utility.Codecs;
+import cn.bromine0x23.tools.codec.utility.Pipeline;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 在编解码处理之前执行准入控制，见 {@link AdmissionController} 。客户端按远端地址区分，响应结束或连接关闭时释放许可。
+ *
+ * <p>路由处理器按路径参数确定开销等级：编解码器不存在或参数无效时直接放行，交由后续处理器响应错误。
+ * 排队期间暂停读取请求体，流式接口在准入后才开始消费输入。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class AdmissionHandler {
+
+	/**
+	 * 响应关闭时依次执行的处理器列表的 {@link RoutingContext} 数据键，见 {@link #addCloseHandler(RoutingContext, Handler)}
+	 */
+	private static final String CLOSE_HANDLERS = "admission.closeHandlers";
+
+	private final AdmissionController admissionController;
+
+	public AdmissionHandler(AdmissionController admissionController) {
+		this.admissionController = admissionController;
+	}
+
+	/**
+	 * 按 {@code id} 与 {@code variantId} 参数指定的编解码器准入
+	 */
+	public void codec(RoutingContext context) {
+		HttpServerRequest request = context.request();
+		Codec             codec   = Codecs.get(request.getParam("id"));
+		if (codec == null) {
+			context.next();
+			return;
+		}
+		CostClass costClass;
+		try {
+			costClass = codec.getCostClass(request.getParam("variantId"));
+		} catch (IllegalArgumentException exception) {
+			context.next();
+			return;
+		}
+		admit(context, costClass, RoutingContext::next);
+	}
+
+	/**
+	 * 按 {@code steps} 参数描述的流水线中最昂贵的步骤准入
+	 */
+	public void pipeline(RoutingContext context) {
+		Pipeline pipeline;
+		try {
+			pipeline = Pipeline.compile(context.request().getParam("steps"));
+		} catch (IllegalArgumentException exception) {
+			context.next();
+			return;
+		}
+		admit(context, pipeline.getCostClass(), RoutingContext::next);
+	}
+
+	/**
+	 * 按消息摘要的开销准入
+	 */
+	public void moderate(RoutingContext context) {
+		admit(context, CostClass.MODERATE, RoutingContext::next);
+	}
+
+	/**
+	 * 申请准入，成功后执行 {@code next} ；被拒绝时以 429 或 503 响应，并给出 {@code Retry-After}
+	 */
+	public void admit(RoutingContext context, CostClass costClass, Handler<RoutingContext> next) {
+		HttpServerRequest request = context.request();
+		// 请求体已由 BodyHandler 读完时无需暂停，HTTP/2 请求读完后不允许再暂停
+		boolean paused = !request.isEnded();
+		if (paused) {
+			request.pause();
+		}
+		admissionController.admit(costClass, client(request), result -> {
+			HttpServerResponse response = context.response();
+			if (result.failed()) {
+				resume(request, paused);
+				reject(response, (AdmissionController.RejectedException) result.cause());
+				return;
+			}
+			AdmissionController.Permit permit = result.result();
+			if (response.closed()) {
+				permit.release();
+				return;
+			}
+			context.addBodyEndHandler(ignored -> permit.release());
+			addCloseHandler(context, ignored -> permit.release());
+			next.handle(context);
+			resume(request, paused);
+		});
+	}
+
+	private static void reject(HttpServerResponse response, AdmissionController.RejectedException exception) {
+		if (!response.closed()) {
+			response
+				.setStatusCode(CodecFailures.statusCode(exception))
+				.putHeader(HttpHeaders.RETRY_AFTER, String.valueOf(CodecFailures.retryAfterSeconds(exception)))
+				.end(CodecFailures.message(exception));
+		}
+	}
+
+	/**
+	 * 添加响应关闭（未正常结束即断开）时的处理器。
+	 *
+	 * <p>{@link HttpServerResponse#closeHandler(Handler)} 只保留最后设置的处理器，
+	 * 同一请求多次准入时各处理器存于 {@link RoutingContext} ，由首次添加时设置的唯一关闭处理器依次执行。
+	 */
+	static void addCloseHandler(RoutingContext context, Handler<Void> handler) {
+		List<Handler<Void>> handlers = context.get(CLOSE_HANDLERS);
+		if (handlers == null) {
+			List<Handler<Void>> created = new ArrayList<>();
+			context.put(CLOSE_HANDLERS, created);
+			context.response().closeHandler(ignored -> created.forEach(closeHandler -> closeHandler.handle(null)));
+			handlers = created;
+		}
+		handlers.add(handler);
+	}
+
+	private static void resume(HttpServerRequest request, boolean paused) {
+		if (paused) {
+			request.resume();
+		}
+	}
+
+	/**
+	 * 客户端标识：远端地址
+	 */
+	static String client(HttpServerRequest request) {
+		SocketAddress address = request.remoteAddress();
+		return address != null ? address.host() : "";
+	}
+}
@@ -0,0 +1,280 @@
+package cn.bromine0x23.tools.codec.handlers;
+
+import cn.bromine0x23.tools.codec.codecs.Codec;
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import cn.bromine0x23.tools.codec.utility.AdmissionController;
+import cn.bromine0x23.tools.codec.utility.CodecCache;
+import cn.bromine0x23.tools.codec.utility.CodecExecutor;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import cn.bromine0x23.tools.codec.utility.Codecs;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.ext.web.RoutingContext;
+import lombok.Data;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+
+/**
+ * 批量编解码，一次请求执行多个操作。
+ *
+ * <p>廉价操作直接执行，昂贵操作经 {@link CodecExecutor} 分派到工作线程；结果按请求顺序返回，单项失败不影响其他项。
+ *
+ * <p>整批按其中最昂贵的非昂贵操作准入；昂贵操作逐项准入，每批同时执行的昂贵操作不超过工作线程数，
+ * 其余依次等待，不会因一次提交过多而超出工作线程池的排队上限。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class BatchHandler {
+
+	private static final int MAX_ITEMS = 10_000;
+
+	private static final String OPERATION_ENCODE = "encode";
+	private static final String OPERATION_DECODE = "decode";
+
+	private final CodecExecutor codecExecutor;
+
+	private final CodecCache codecCache;
+
+	private final CodecMetrics codecMetrics;
+
+	private final AdmissionController admissionController;
+
+	private final AdmissionHandler admissionHandler;
+
+	/**
+	 * @param codecExecutor       编解码任务分派
+	 * @param codecCache          编解码结果缓存，为 {@code null} 时不缓存
+	 * @param codecMetrics        指标
+	 * @param admissionController 准入控制，昂贵操作逐项准入
+	 */
+	public BatchHandler(CodecExecutor codecExecutor, CodecCache codecCache, CodecMetrics codecMetrics, AdmissionController admissionController) {
+		this.codecExecutor       = codecExecutor;
+		this.codecCache          = codecCache;
+		this.codecMetrics        = codecMetrics;
+		this.admissionController = admissionController;
+		this.admissionHandler    = new AdmissionHandler(admissionController);
+	}
+
+	public void execute(RoutingContext context) {
+		Item[] items;
+		try {
+			items = Json.decodeValue(context.getBody(), Item[].class);
+		} catch (DecodeException exception) {
+			context.fail(HttpResponseStatus.BAD_REQUEST.code(), exception);
+			return;
+		}
+		if (items == null) {
+			context.fail(HttpResponseStatus.BAD_REQUEST.code());
+			return;
+		}
+		if (items.length > MAX_ITEMS) {
+			context.response()
+				.setStatusCode(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code())
+				.end("Batch exceeds " + MAX_ITEMS + " items.");
+			return;
+		}
+		Item[] admitted = items;
+		admissionHandler.admit(context, costClassOf(items), ignored -> {
+			Batch batch = new Batch(context, admitted.length, codecExecutor.getPoolSize());
+			for (int i = 0; i < admitted.length; ++i) {
+				execute(batch, i, admitted[i]);
+			}
+			batch.drain();
+		});
+	}
+
+	/**
+	 * 整批的准入等级：最昂贵的非昂贵操作，昂贵操作另行逐项准入
+	 */
+	private static CostClass costClassOf(Item[] items) {
+		CostClass costClass = CostClass.CHEAP;
+		for (Item item : items) {
+			Codec     codec         = item != null ? Codecs.get(item.codec) : null;
+			CostClass itemCostClass = codec != null ? codec.getCostClass(item.variant) : CostClass.CHEAP;
+			if (itemCostClass != CostClass.EXPENSIVE && itemCostClass.compareTo(costClass) > 0) {
+				costClass = itemCostClass;
+			}
+		}
+		return costClass;
+	}
+
+	private void execute(Batch batch, int index, Item item) {
+		Codec codec = item != null ? Codecs.get(item.codec) : null;
+		if (codec == null) {
+			batch.complete(index, Result.failure("Codec not found."));
+			return;
+		}
+		Callable<String> task;
+		if (OPERATION_ENCODE.equals(item.operation) && codec.supportEncode()) {
+			task = () -> codec.encode(item.input, item.variant);
+		} else if (OPERATION_DECODE.equals(item.operation) && codec.supportDecode()) {
+			task = () -> codec.decode(item.input, item.variant);
+		} else {
+			batch.complete(index, Result.failure("Operation `" + item.operation + "` not supported."));
+			return;
+		}
+		CostClass costClass = codec.getCostClass(item.variant);
+		if (costClass != CostClass.EXPENSIVE) {
+			execute(codec, item, costClass, task, result -> batch.complete(index, Result.of(result)));
+			return;
+		}
+		String client = AdmissionHandler.client(batch.context.request());
+		batch.enqueue(() -> admissionController.admit(costClass, client, admission -> {
+			if (admission.failed()) {
+				batch.complete(index, Result.of(admission.mapEmpty()));
+				batch.release();
+				return;
+			}
+			AdmissionController.Permit permit = admission.result();
+			execute(codec, item, costClass, task, result -> {
+				permit.release();
+				batch.complete(index, Result.of(result));
+				batch.release();
+			});
+		}));
+	}
+
+	private void execute(Codec codec, Item item, CostClass costClass, Callable<String> task, Handler<AsyncResult<String>> handler) {
+		long                         start    = System.nanoTime();
+		Handler<AsyncResult<String>> recorder = result -> {
+			codecMetrics.record(
+				item.codec, item.variant, item.operation, start,
+				item.input != null ? item.input.length() : 0,
+				result.succeeded() && result.result() != null ? result.result().length() : 0,
+				result.failed()
+			);
+			handler.handle(result);
+		};
+		if (codecCache != null && item.input != null && codec.isDeterministic(item.variant)) {
+			codecCache.get(item.codec, item.variant, item.operation, item.input, loaded -> codecExecutor.execute(costClass, task, loaded), recorder);
+		} else {
+			codecExecutor.execute(costClass, task, recorder);
+		}
+	}
+
+	/**
+	 * 收集结果，全部完成后响应，并限制同时执行的昂贵操作数。结果回调均在请求所在的上下文中执行，无需同步。
+	 */
+	private static class Batch {
+
+		private final RoutingContext context;
+
+		private final Result[] results;
+
+		private final int window;
+
+		private final ArrayDeque<Runnable> queued = new ArrayDeque<>();
+
+		private int remaining;
+
+		private int running;
+
+		private boolean draining;
+
+		private Batch(RoutingContext context, int size, int window) {
+			this.context   = context;
+			this.results   = new Result[size];
+			this.window    = window;
+			this.remaining = size;
+			if (size == 0) {
+				respond();
+			}
+		}
+
+		/**
+		 * 排队一个昂贵操作，操作结束时须调用 {@link #release()}
+		 */
+		private void enqueue(Runnable task) {
+			queued.add(task);
+		}
+
+		private void release() {
+			--running;
+			drain();
+		}
+
+		/**
+		 * 在窗口内启动排队的操作；操作同步结束时由外层循环继续，避免递归
+		 */
+		private void drain() {
+			if (draining) {
+				return;
+			}
+			draining = true;
+			try {
+				while (running < window && !queued.isEmpty() && !context.response().closed()) {
+					++running;
+					queued.poll().run();
+				}
+			} finally {
+				draining = false;
+			}
+		}
+
+		private void complete(int index, Result result) {
+			results[index] = result;
+			if (--remaining == 0) {
+				respond();
+			}
+		}
+
+		private void respond() {
+			if (context.response().closed()) {
+				return;
+			}
+			context.response()
+				.putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+				.end(Json.encodeToBuffer(results));
+		}
+	}
+
+	@Data
+	private static class Item {
+
+		@JsonProperty("codec")
+		private String codec;
+
+		@JsonProperty("variant")
+		private String variant;
+
+		@JsonProperty("op")
+		private String operation;
+
+		@JsonProperty("input")
+		private String input;
+	}
+
+	@Data
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private static class Result {
+
+		@JsonProperty("output")
+		private String output;
+
+		@JsonProperty("error")
+		private String error;
+
+		private static Result of(AsyncResult<String> result) {
+			if (result.succeeded()) {
+				Result success = new Result();
+				success.output = result.result();
+				return success;
+			}
+			Throwable cause = result.cause();
+			return failure(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+		}
+
+		private static Result failure(String error) {
+			Result failure = new Result();
+			failure.error = error;
+			return failure;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package cn.bromine0x23.tools.codec.handlers;
+
+import cn.bromine0x23.tools.codec.utility.PasswordEncoderCalibrator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.Json;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 密码散列开销参数的标定，见 {@link PasswordEncoderCalibrator} 。
+ *
+ * <p>标定在专用的单线程工作线程池中执行，不占用昂贵编解码的工作线程，也不受其排队上限影响；
+ * 无效参数与已有标定在进行时在事件循环中立即拒绝。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class CalibrationHandler {
+
+	private static final String WORKER_POOL_NAME = "codec-calibration-worker";
+
+	private static final long MAX_EXECUTE_TIME_SECONDS = 60;
+
+	private static final long DEFAULT_TARGET_MILLIS = 500;
+
+	private static final String[] OPTIONS = {"r", "p", "memory", "parallelism"};
+
+	private final WorkerExecutor workerExecutor;
+
+	private final PasswordEncoderCalibrator calibrator;
+
+	/**
+	 * @param vertx      Vert.x 实例
+	 * @param calibrator 各实例共享的标定器
+	 */
+	public CalibrationHandler(Vertx vertx, PasswordEncoderCalibrator calibrator) {
+		this.workerExecutor = vertx.createSharedWorkerExecutor(WORKER_POOL_NAME, 1, MAX_EXECUTE_TIME_SECONDS, TimeUnit.SECONDS);
+		this.calibrator     = calibrator;
+	}
+
+	/**
+	 * 各算法最近一次的标定结果
+	 */
+	public void index(RoutingContext context) {
+		context.response()
+			.putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+			.end(Json.encodeToBuffer(calibrator.getCalibrations()));
+	}
+
+	/**
+	 * 标定 {@code algorithm} 参数指定的算法，目标耗时由 {@code target} 参数（毫秒）指定
+	 */
+	public void calibrate(RoutingContext context) {
+		HttpServerRequest request   = context.request();
+		String            algorithm = request.getParam("algorithm");
+		if (!PasswordEncoderCalibrator.isSupported(algorithm)) {
+			context.response()
+				.setStatusCode(HttpResponseStatus.NOT_FOUND.code())
+				.end("Algorithm `" + algorithm + "` not supported.");
+			return;
+		}
+		Supplier<PasswordEncoderCalibrator.Calibration> task;
+		try {
+			String               target       = request.getParam("target");
+			long                 targetMillis = target != null ? Long.parseLong(target) : DEFAULT_TARGET_MILLIS;
+			Map<String, Integer> options      = new HashMap<>();
+			for (String option : OPTIONS) {
+				String value = request.getParam(option);
+				if (value != null) {
+					options.put(option, Integer.parseInt(value));
+				}
+			}
+			task = calibrator.reserve(algorithm, targetMillis, options);
+		} catch (IllegalArgumentException exception) {
+			context.response()
+				.setStatusCode(HttpResponseStatus.BAD_REQUEST.code())
+				.end(exception.getMessage());
+			return;
+		} catch (IllegalStateException exception) {
+			// 在排队前拒绝，而不是在单线程的工作线程池中等待上一次标定
+			context.response()
+				.setStatusCode(HttpResponseStatus.CONFLICT.code())
+				.end(exception.getMessage());
+			return;
+		}
+		workerExecutor.<PasswordEncoderCalibrator.Calibration>executeBlocking(
+			promise -> promise.complete(task.get()),
+			false,
+			result -> {
+				HttpServerResponse response = context.response();
+				if (response.closed()) {
+					return;
+				}
+				if (result.succeeded()) {
+					response
+						.putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+						.end(Json.encodeToBuffer(result.result()));
+				} else {
+					context.fail(result.cause());
+				}
+			}
+		);
+	}
+}
@@ -1,24 +1,84 @@
 package cn.bromine0x23.tools.codec.handlers;
 
 import cn.bromine0x23.tools.codec.codecs.Codec;
+import cn.bromine0x23.tools.codec.utility.CodecCache;
+import cn.bromine0x23.tools.codec.utility.CodecExecutor;
+import cn.bromine0x23.tools.codec.utility.CodecFailures;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
 import cn.bromine0x23.tools.codec.utility.Codecs;
+import cn.bromine0x23.tools.codec.utility.MessageDigest;
+import cn.bromine0x23.tools.codec.utility.Pipeline;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.Json;
+import io.vertx.ext.web.MIMEHeader;
 import io.vertx.ext.web.RoutingContext;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.Callable;
 
 /**
+ * 编解码接口。
+ *
+ * <p>请求体为 {@code application/octet-stream} 或 {@code Accept} 优先接受 {@code application/octet-stream} 时，
+ * 以字节调用编解码器（见 {@link Codec#encode(Buffer, String)}），不经过字符集转换，此时按 {@code Accept} 返回原始字节或文本，不使用缓存，
+ * 解码结果不是合法的 UTF-8 时总是返回原始字节；否则请求体按文本处理。
+ *
+ * <p>编解码器目录在首次请求时序列化一次，各实例共享，以内容的 SHA-256 作为强 {@code ETag} ，客户端每次重新验证，未变化时响应 304 。
+ *
  * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
  */
 public class CodecsHandler {
 
+	private static final String OCTET_STREAM = "application/octet-stream";
+
+	private static final String TEXT_PLAIN = "text/plain; charset=UTF-8";
+
+	private static final String CATALOGUE_CACHE_CONTROL = "no-cache";
+
+	private static final String OPERATION_ENCODE = "encode";
+	private static final String OPERATION_DECODE = "decode";
+
+	private static final String PIPELINE_CODEC_ID  = "pipeline";
+	private static final String OPERATION_PIPELINE = "apply";
+
+	private final CodecExecutor codecExecutor;
+
+	private final CodecCache codecCache;
+
+	private final CodecMetrics codecMetrics;
+
+	/**
+	 * @param codecExecutor 编解码任务分派
+	 * @param codecCache    编解码结果缓存，为 {@code null} 时不缓存
+	 * @param codecMetrics  指标
+	 */
+	public CodecsHandler(CodecExecutor codecExecutor, CodecCache codecCache, CodecMetrics codecMetrics) {
+		this.codecExecutor = codecExecutor;
+		this.codecCache    = codecCache;
+		this.codecMetrics  = codecMetrics;
+	}
+
 	public void index(RoutingContext context) {
-		context.response()
+		HttpServerResponse response = context.response()
+			.putHeader(HttpHeaders.ETAG, Catalogue.E_TAG)
+			.putHeader(HttpHeaders.CACHE_CONTROL, CATALOGUE_CACHE_CONTROL);
+		if (matchesETag(context.request().getHeader(HttpHeaders.IF_NONE_MATCH), Catalogue.E_TAG)) {
+			response
+				.setStatusCode(HttpResponseStatus.NOT_MODIFIED.code())
+				.end();
+			return;
+		}
+		response
 			.putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
-			.end(Json.encodeToBuffer(Codecs.getCodecs()));
+			.end(Catalogue.BODY);
 	}
 
 	public void encode(RoutingContext context) {
@@ -36,14 +96,26 @@ public class CodecsHandler {
 				.end("Codec `" + payload.codecId + "` doesn't support encode.");
 			return;
 		}
-		try {
-			String output = codec.encode(payload.input, payload.variantId);
-			context.response()
-				.putHeader(HttpHeaders.CONTENT_TYPE, "text/plain")
-				.end(output);
-		} catch (IOException exception) {
-			context.fail(HttpResponseStatus.BAD_REQUEST.code(), exception);
+		long start = System.nanoTime();
+		if (payload.binary) {
+			codecExecutor.execute(
+				codec.getCostClass(payload.variantId),
+				() -> codec.encode(payload.body, payload.variantId),
+				result -> {
+					record(payload.codecId, payload.variantId, OPERATION_ENCODE, start, payload.body.length(), result);
+					respond(context, result, payload.acceptsBinary ? OCTET_STREAM : TEXT_PLAIN);
+				}
+			);
+			return;
 		}
+		execute(
+			codec, payload, OPERATION_ENCODE,
+			() -> codec.encode(payload.input, payload.variantId),
+			result -> {
+				record(payload.codecId, payload.variantId, OPERATION_ENCODE, start, payload.input.length(), result);
+				respond(context, result, TEXT_PLAIN);
+			}
+		);
 	}
 
 	public void decode(RoutingContext context) {
@@ -61,28 +133,191 @@ public class CodecsHandler {
 				.end("Codec `" + payload.codecId + "` doesn't support decode.");
 			return;
 		}
+		long start = System.nanoTime();
+		if (payload.binary) {
+			codecExecutor.execute(
+				codec.getCostClass(payload.variantId),
+				() -> codec.decode(payload.body, payload.variantId),
+				result -> {
+					record(payload.codecId, payload.variantId, OPERATION_DECODE, start, payload.body.length(), result);
+					respond(context, result, payload.acceptsBinary ? OCTET_STREAM : textOrBinary(result));
+				}
+			);
+			return;
+		}
+		execute(
+			codec, payload, OPERATION_DECODE,
+			() -> codec.decode(payload.input, payload.variantId),
+			result -> {
+				record(payload.codecId, payload.variantId, OPERATION_DECODE, start, payload.input.length(), result);
+				respond(context, result, TEXT_PLAIN);
+			}
+		);
+	}
+
+	/**
+	 * 执行 {@code steps} 参数描述的流水线，见 {@link Pipeline} 。
+	 */
+	public void pipeline(RoutingContext context) {
+		Pipeline pipeline;
 		try {
-			String output = codec.decode(payload.input, payload.variantId);
+			pipeline = Pipeline.compile(context.request().getParam("steps"));
+		} catch (IllegalArgumentException exception) {
 			context.response()
-				.putHeader(HttpHeaders.CONTENT_TYPE, "text/plain; charset=UTF-8")
-				.end(output);
-		} catch (IOException exception) {
-			context.fail(HttpResponseStatus.BAD_REQUEST.code(), exception);
+				.setStatusCode(HttpResponseStatus.BAD_REQUEST.code())
+				.end(exception.getMessage());
+			return;
+		}
+		Buffer input = context.getBody() != null ? context.getBody() : Buffer.buffer();
+		long   start = System.nanoTime();
+		codecExecutor.execute(
+			pipeline.getCostClass(),
+			() -> pipeline.apply(input),
+			result -> {
+				codecMetrics.record(PIPELINE_CODEC_ID, null, OPERATION_PIPELINE, start, input.length(), outputLength(result), result.failed());
+				respond(context, result, pipeline.isEncoding() ? TEXT_PLAIN : OCTET_STREAM);
+			}
+		);
+	}
+
+	/**
+	 * 确定性的编解码先查缓存，未命中时再分派执行
+	 */
+	private void execute(Codec codec, Payload payload, String operation, Callable<String> task, Handler<AsyncResult<String>> handler) {
+		var costClass = codec.getCostClass(payload.variantId);
+		if (codecCache != null && codec.isDeterministic(payload.variantId)) {
+			codecCache.get(
+				payload.codecId, payload.variantId, operation, payload.input,
+				loaded -> codecExecutor.execute(costClass, task, loaded),
+				handler
+			);
+		} else {
+			codecExecutor.execute(costClass, task, handler);
+		}
+	}
+
+	private void record(String codecId, String variantId, String operation, long start, long inputLength, AsyncResult<?> result) {
+		codecMetrics.record(codecId, variantId, operation, start, inputLength, outputLength(result), result.failed());
+	}
+
+	private static long outputLength(AsyncResult<?> result) {
+		Object output = result.result();
+		if (output instanceof Buffer) {
+			return ((Buffer) output).length();
+		}
+		return output != null ? ((String) output).length() : 0;
+	}
+
+	/**
+	 * 字节解码结果为合法的 UTF-8 时按文本返回，否则返回原始字节
+	 */
+	private static String textOrBinary(AsyncResult<Buffer> result) {
+		return result.succeeded() && !ByteBufUtil.isText(result.result().getByteBuf(), StandardCharsets.UTF_8) ? OCTET_STREAM : TEXT_PLAIN;
+	}
+
+	private static void respond(RoutingContext context, AsyncResult<?> result, String contentType) {
+		HttpServerResponse response = context.response();
+		if (response.closed()) {
+			return;
+		}
+		if (result.succeeded()) {
+			response.putHeader(HttpHeaders.CONTENT_TYPE, contentType);
+			Object output = result.result();
+			if (output instanceof Buffer) {
+				response.end((Buffer) output);
+			} else {
+				response.end((String) output);
+			}
+			return;
+		}
+		Throwable exception  = result.cause();
+		int       status     = CodecFailures.statusCode(exception);
+		long      retryAfter = CodecFailures.retryAfterSeconds(exception);
+		if (retryAfter > 0) {
+			response
+				.setStatusCode(status)
+				.putHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+				.end(CodecFailures.message(exception));
+		} else if (status == HttpResponseStatus.INTERNAL_SERVER_ERROR.code()) {
+			context.fail(exception);
+		} else {
+			context.fail(status, exception);
 		}
 	}
 
 	private static Payload extractPayload(RoutingContext context) {
 		HttpServerRequest request = context.request();
 		Payload           payload = new Payload();
-		payload.codecId   = request.getParam("id");
-		payload.variantId = request.getParam("variantId");
-		payload.input     = context.getBodyAsString();
+		payload.codecId       = request.getParam("id");
+		payload.variantId     = request.getParam("variantId");
+		payload.acceptsBinary = acceptsBinary(context);
+		payload.binary        = payload.acceptsBinary || isBinary(context.parsedHeaders().contentType());
+		if (payload.binary) {
+			payload.body = context.getBody() != null ? context.getBody() : Buffer.buffer();
+		} else {
+			String input = context.getBodyAsString();
+			payload.input = input != null ? input : "";
+		}
 		return payload;
 	}
 
+	/**
+	 * {@code Accept} 中 {@code application/octet-stream} 的优先级是否高于文本
+	 */
+	private static boolean acceptsBinary(RoutingContext context) {
+		for (MIMEHeader accept : context.parsedHeaders().accept()) {
+			if (isBinary(accept)) {
+				return true;
+			}
+			if ("text".equals(accept.component()) || "*".equals(accept.component())) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isBinary(MIMEHeader header) {
+		return header != null && OCTET_STREAM.equalsIgnoreCase(header.value());
+	}
+
+	/**
+	 * {@code If-None-Match} 是否包含 {@code eTag} ，按 RFC 7232 的弱比较
+	 */
+	private static boolean matchesETag(String ifNoneMatch, String eTag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			candidate = candidate.trim();
+			if (candidate.startsWith("W/")) {
+				candidate = candidate.substring(2);
+			}
+			if (candidate.equals("*") || candidate.equals(eTag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 序列化的编解码器目录，首次使用时创建，避免启动时加载 Jackson 与 JCA
+	 */
+	private static final class Catalogue {
+
+		private static final Buffer BODY = Json.encodeToBuffer(Codecs.getCodecs());
+
+		private static final String E_TAG = '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest.SHA_256.digest(BODY.getBytes())) + '"';
+
+		private Catalogue() {
+		}
+	}
+
 	private static class Payload {
-		private String codecId;
-		private String variantId;
-		private String input;
+		private String  codecId;
+		private String  variantId;
+		private boolean binary;
+		private boolean acceptsBinary;
+		private String  input;
+		private Buffer  body;
 	}
 }
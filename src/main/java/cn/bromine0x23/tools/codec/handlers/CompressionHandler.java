@@ -0,0 +1,68 @@
+package cn.bromine0x23.tools.codec.handlers;
+
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 决定响应是否压缩。压缩本身由 HTTP 服务按 {@code Accept-Encoding} 协商 gzip 或 deflate 完成，
+ * 此处理器在写出响应头时为不值得压缩的响应设置 {@code Content-Encoding: identity} 使其原样发送：
+ *
+ * <ul>
+ *     <li>内容类型不可压缩，如 {@code application/octet-stream} 或图片</li>
+ *     <li>已知长度且小于 {@code minBytes} ，压缩节省的字节抵不上开销</li>
+ * </ul>
+ *
+ * <p>长度未知的分块响应（流式接口）只按内容类型判断。HTTP/2 响应在创建时即已带有协商的 {@code Content-Encoding} ，
+ * 与之相同时同样视为尚未指定编码；其余由应用指定的编码保持不变。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class CompressionHandler {
+
+	private static final Set<String> COMPRESSIBLE_TYPES = Set.of(
+		"application/javascript",
+		"application/json",
+		"application/xml",
+		"image/svg+xml"
+	);
+
+	private final long minBytes;
+
+	/**
+	 * @param minBytes 压缩的最小响应长度（字节）
+	 */
+	public CompressionHandler(long minBytes) {
+		this.minBytes = minBytes;
+	}
+
+	public void handle(RoutingContext context) {
+		HttpServerResponse response   = context.response();
+		String             negotiated = response.headers().get(HttpHeaders.CONTENT_ENCODING);
+		context.addHeadersEndHandler(v -> {
+			var headers         = response.headers();
+			var contentEncoding = headers.get(HttpHeaders.CONTENT_ENCODING);
+			if (contentEncoding != null && !contentEncoding.equals(negotiated)) {
+				return;
+			}
+			var contentLength = headers.get(HttpHeaders.CONTENT_LENGTH);
+			if (!isCompressible(headers.get(HttpHeaders.CONTENT_TYPE))
+				|| contentLength != null && Long.parseLong(contentLength) < minBytes) {
+				headers.set(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
+			}
+		});
+		context.next();
+	}
+
+	private static boolean isCompressible(String contentType) {
+		if (contentType == null) {
+			return false;
+		}
+		var separator = contentType.indexOf(';');
+		var mimeType  = (separator >= 0 ? contentType.substring(0, separator) : contentType).trim().toLowerCase(Locale.ROOT);
+		return mimeType.startsWith("text/") || COMPRESSIBLE_TYPES.contains(mimeType);
+	}
+}
@@ -0,0 +1,27 @@
+package cn.bromine0x23.tools.codec.handlers;
+
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * 以 Prometheus 文本格式导出 {@link CodecMetrics} 。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class MetricsHandler {
+
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	private final CodecMetrics codecMetrics;
+
+	public MetricsHandler(CodecMetrics codecMetrics) {
+		this.codecMetrics = codecMetrics;
+	}
+
+	public void scrape(RoutingContext context) {
+		context.response()
+			.putHeader(HttpHeaders.CONTENT_TYPE, CONTENT_TYPE)
+			.end(codecMetrics.scrape());
+	}
+}
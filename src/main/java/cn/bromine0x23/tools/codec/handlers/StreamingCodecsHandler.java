@@ -0,0 +1,236 @@
+package cn.bromine0x23.tools.codec.handlers;
+
+import cn.bromine0x23.tools.codec.codecs.Codec;
+import cn.bromine0x23.tools.codec.codecs.DigestCodec;
+import cn.bromine0x23.tools.codec.codecs.Transcoder;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import cn.bromine0x23.tools.codec.utility.Codecs;
+import cn.bromine0x23.tools.codec.utility.Pipeline;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 流式编解码，请求体按块读入、编解码后立即写出，内存占用与输入大小无关。
+ *
+ * <p>需挂载在 {@link io.vertx.ext.web.handler.BodyHandler} 之前。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@Slf4j
+public class StreamingCodecsHandler {
+
+	private static final String OPERATION_ENCODE = "encode";
+	private static final String OPERATION_DECODE = "decode";
+
+	private static final String PIPELINE_CODEC_ID  = "pipeline";
+	private static final String OPERATION_PIPELINE = "apply";
+
+	private static final String DIGESTS_VARIANT_ID = "multi";
+
+	private final CodecMetrics codecMetrics;
+
+	public StreamingCodecsHandler(CodecMetrics codecMetrics) {
+		this.codecMetrics = codecMetrics;
+	}
+
+	public void encode(RoutingContext context) {
+		HttpServerRequest request = context.request();
+		String            codecId = request.getParam("id");
+		Codec             codec   = Codecs.get(codecId);
+		if (codec == null) {
+			context.response()
+				.setStatusCode(HttpResponseStatus.NOT_FOUND.code())
+				.end("Codec `" + codecId + "` not found.");
+			return;
+		}
+		if (!codec.supportEncode() || !codec.supportStreaming()) {
+			context.response()
+				.setStatusCode(HttpResponseStatus.BAD_REQUEST.code())
+				.end("Codec `" + codecId + "` doesn't support streaming encode.");
+			return;
+		}
+		String     variantId = request.getParam("variantId");
+		Transcoder transcoder;
+		try {
+			transcoder = codec.createEncoder(variantId);
+		} catch (IllegalArgumentException exception) {
+			context.fail(HttpResponseStatus.BAD_REQUEST.code(), exception);
+			return;
+		}
+		transcode(context, transcoder, "text/plain", new Sample(codecId, variantId, OPERATION_ENCODE));
+	}
+
+	public void decode(RoutingContext context) {
+		HttpServerRequest request = context.request();
+		String            codecId = request.getParam("id");
+		Codec             codec   = Codecs.get(codecId);
+		if (codec == null) {
+			context.response()
+				.setStatusCode(HttpResponseStatus.NOT_FOUND.code())
+				.end("Codec `" + codecId + "` not found.");
+			return;
+		}
+		if (!codec.supportDecode() || !codec.supportStreaming()) {
+			context.response()
+				.setStatusCode(HttpResponseStatus.BAD_REQUEST.code())
+				.end("Codec `" + codecId + "` doesn't support streaming decode.");
+			return;
+		}
+		String     variantId = request.getParam("variantId");
+		Transcoder transcoder;
+		try {
+			transcoder = codec.createDecoder(variantId);
+		} catch (IllegalArgumentException exception) {
+			context.fail(HttpResponseStatus.BAD_REQUEST.code(), exception);
+			return;
+		}
+		transcode(context, transcoder, "application/octet-stream", new Sample(codecId, variantId, OPERATION_DECODE));
+	}
+
+	/**
+	 * 单次遍历请求体计算 {@code variants} 参数（逗号分隔）中列出的所有消息摘要，返回 JSON 对象。
+	 */
+	public void digests(RoutingContext context) {
+		String variants = context.request().getParam("variants");
+		if (variants == null || variants.isBlank()) {
+			context.response()
+				.setStatusCode(HttpResponseStatus.BAD_REQUEST.code())
+				.end("Parameter `variants` is required.");
+			return;
+		}
+		Set<String> variantIds = Arrays.stream(variants.split(","))
+			.map(String::trim)
+			.filter(variantId -> !variantId.isEmpty())
+			.collect(Collectors.toCollection(LinkedHashSet::new));
+		Transcoder transcoder;
+		try {
+			transcoder = ((DigestCodec) Codecs.get(DigestCodec.ID)).createMultiEncoder(variantIds);
+		} catch (IllegalArgumentException exception) {
+			context.fail(HttpResponseStatus.BAD_REQUEST.code(), exception);
+			return;
+		}
+		transcode(context, transcoder, "application/json", new Sample(DigestCodec.ID, DIGESTS_VARIANT_ID, OPERATION_ENCODE));
+	}
+
+	/**
+	 * 流式执行 {@code steps} 参数描述的流水线，要求所有步骤都支持流式处理，见 {@link Pipeline} 。
+	 */
+	public void pipeline(RoutingContext context) {
+		Pipeline pipeline;
+		try {
+			pipeline = Pipeline.compile(context.request().getParam("steps"));
+		} catch (IllegalArgumentException exception) {
+			context.response()
+				.setStatusCode(HttpResponseStatus.BAD_REQUEST.code())
+				.end(exception.getMessage());
+			return;
+		}
+		if (!pipeline.isStreaming()) {
+			context.response()
+				.setStatusCode(HttpResponseStatus.BAD_REQUEST.code())
+				.end("Pipeline contains steps that don't support streaming.");
+			return;
+		}
+		transcode(
+			context,
+			pipeline.createTranscoder(),
+			pipeline.isEncoding() ? "text/plain" : "application/octet-stream",
+			new Sample(PIPELINE_CODEC_ID, null, OPERATION_PIPELINE)
+		);
+	}
+
+	private void transcode(RoutingContext context, Transcoder transcoder, String contentType, Sample sample) {
+		HttpServerRequest  request  = context.request();
+		HttpServerResponse response = context.response()
+			.setChunked(true)
+			.putHeader(HttpHeaders.CONTENT_TYPE, contentType);
+		request.handler(chunk -> {
+			Buffer output;
+			try {
+				output = transcoder.update(chunk);
+			} catch (IOException exception) {
+				abort(context, exception, sample);
+				return;
+			}
+			sample.inputBytes += chunk.length();
+			if (output.length() > 0) {
+				sample.outputBytes += output.length();
+				response.write(output);
+			}
+			if (response.writeQueueFull()) {
+				request.pause();
+				response.drainHandler(ignored -> request.resume());
+			}
+		});
+		request.endHandler(ignored -> {
+			if (response.ended()) {
+				return;
+			}
+			Buffer output;
+			try {
+				output = transcoder.finish();
+			} catch (IOException exception) {
+				abort(context, exception, sample);
+				return;
+			}
+			sample.outputBytes += output.length();
+			record(sample, false);
+			response.end(output);
+		});
+		request.exceptionHandler(exception -> abort(context, exception, sample));
+	}
+
+	private void abort(RoutingContext context, Throwable exception, Sample sample) {
+		HttpServerResponse response = context.response();
+		if (response.ended() || response.closed()) {
+			return;
+		}
+		record(sample, true);
+		if (!response.headWritten()) {
+			context.request().handler(null);
+			context.fail(HttpResponseStatus.BAD_REQUEST.code(), exception);
+		} else {
+			log.warn("Streaming codec aborted after response started", exception);
+			response.close();
+		}
+	}
+
+	private void record(Sample sample, boolean error) {
+		codecMetrics.record(sample.codecId, sample.variantId, sample.operation, sample.start, sample.inputBytes, sample.outputBytes, error);
+	}
+
+	/**
+	 * 单个流式请求的统计，只在请求所在的上下文中更新
+	 */
+	private static class Sample {
+
+		private final String codecId;
+
+		private final String variantId;
+
+		private final String operation;
+
+		private final long start = System.nanoTime();
+
+		private long inputBytes;
+
+		private long outputBytes;
+
+		private Sample(String codecId, String variantId, String operation) {
+			this.codecId   = codecId;
+			this.variantId = variantId;
+			this.operation = operation;
+		}
+	}
+}
@@ -0,0 +1,327 @@
+package cn.bromine0x23.tools.codec.handlers;
+
+import cn.bromine0x23.tools.codec.codecs.Codec;
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import cn.bromine0x23.tools.codec.codecs.Transcoder;
+import cn.bromine0x23.tools.codec.utility.AdmissionController;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import cn.bromine0x23.tools.codec.utility.Codecs;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.http.WebSocketFrame;
+import io.vertx.ext.web.RoutingContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+/**
+ * WebSocket 编解码会话，握手时按路径参数绑定编解码器、变体与操作，之后每收到一帧即增量编解码并立即推送输出，
+ * 省去每次转换的 HTTP 请求、路由与 {@link io.vertx.ext.web.handler.BodyHandler} 的开销。
+ *
+ * <ul>
+ *     <li>客户端发送文本或二进制帧，均按字节输入（文本为 UTF-8），帧可在编码单元中间切分，未处理完的部分留待下一帧；</li>
+ *     <li>每个非空输入帧之后，服务端推送此时已能确定的输出，没有输出时不推送；</li>
+ *     <li>空消息（各分片均为空的完整消息）结束当前输入，非空消息末尾的空分片不算；服务端推送剩余的输出，
+ *     再以一个空消息标记此次结果结束，之后可在同一会话中开始下一次输入；</li>
+ *     <li>编码结果为文本帧，解码结果为二进制帧；输入格式错误时以 1007 关闭会话，原因为错误消息。</li>
+ * </ul>
+ *
+ * <p>每次输入按编解码器的开销等级准入（见 {@link AdmissionController} ），许可从输入的第一帧持有至结果结束，
+ * 与流式 HTTP 接口持有许可至请求结束一致；排队期间暂停读取，被拒绝时以 1013 关闭会话，原因为拒绝消息。
+ *
+ * <p>只支持流式编解码器；需挂载在 {@link io.vertx.ext.web.handler.BodyHandler} 之前。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@Slf4j
+public class WebSocketCodecsHandler {
+
+	private static final String OPERATION_ENCODE = "encode";
+	private static final String OPERATION_DECODE = "decode";
+
+	private static final String WEBSOCKET = "websocket";
+
+	/**
+	 * 关闭码：数据与消息类型不一致（RFC 6455 §7.4.1），用于输入格式错误
+	 */
+	private static final short CLOSE_INVALID_PAYLOAD = 1007;
+
+	/**
+	 * 关闭码：稍后重试（IANA WebSocket 关闭码注册表），用于准入被拒绝
+	 */
+	private static final short CLOSE_TRY_AGAIN_LATER = 1013;
+
+	/**
+	 * 关闭帧中原因的最大字节数
+	 */
+	private static final int MAX_CLOSE_REASON_BYTES = 123;
+
+	private final CodecMetrics codecMetrics;
+
+	private final AdmissionController admissionController;
+
+	/**
+	 * @param codecMetrics        各实例共享的指标
+	 * @param admissionController 各实例共享的准入控制
+	 */
+	public WebSocketCodecsHandler(CodecMetrics codecMetrics, AdmissionController admissionController) {
+		this.codecMetrics        = codecMetrics;
+		this.admissionController = admissionController;
+	}
+
+	public void encode(RoutingContext context) {
+		open(context, OPERATION_ENCODE);
+	}
+
+	public void decode(RoutingContext context) {
+		open(context, OPERATION_DECODE);
+	}
+
+	private void open(RoutingContext context, String operation) {
+		HttpServerRequest request = context.request();
+		String            codecId = request.getParam("id");
+		Codec             codec   = Codecs.get(codecId);
+		if (codec == null) {
+			context.response()
+				.setStatusCode(HttpResponseStatus.NOT_FOUND.code())
+				.end("Codec `" + codecId + "` not found.");
+			return;
+		}
+		boolean encoding = OPERATION_ENCODE.equals(operation);
+		if (!(encoding ? codec.supportEncode() : codec.supportDecode()) || !codec.supportStreaming()) {
+			context.response()
+				.setStatusCode(HttpResponseStatus.BAD_REQUEST.code())
+				.end("Codec `" + codecId + "` doesn't support streaming " + operation + ".");
+			return;
+		}
+		if (!WEBSOCKET.equalsIgnoreCase(request.getHeader(HttpHeaders.UPGRADE))) {
+			context.response()
+				.setStatusCode(HttpResponseStatus.UPGRADE_REQUIRED.code())
+				.putHeader(HttpHeaders.UPGRADE, WEBSOCKET)
+				.end("WebSocket upgrade required.");
+			return;
+		}
+		String               variantId = request.getParam("variantId");
+		Supplier<Transcoder> factory   = encoding ? () -> codec.createEncoder(variantId) : () -> codec.createDecoder(variantId);
+		Transcoder           transcoder;
+		CostClass            costClass;
+		try {
+			transcoder = factory.get();
+			costClass  = codec.getCostClass(variantId);
+		} catch (IllegalArgumentException exception) {
+			context.fail(HttpResponseStatus.BAD_REQUEST.code(), exception);
+			return;
+		}
+		String client = AdmissionHandler.client(request);
+		new Session(request.upgrade(), factory, transcoder, !encoding, codecId, variantId, operation, costClass, client).start();
+	}
+
+	/**
+	 * 单个 WebSocket 会话，只在连接所在的上下文中访问
+	 */
+	private class Session {
+
+		private final ServerWebSocket webSocket;
+
+		private final Supplier<Transcoder> factory;
+
+		private final boolean binary;
+
+		private final String codecId;
+
+		private final String variantId;
+
+		private final String operation;
+
+		private final CostClass costClass;
+
+		private final String client;
+
+		/**
+		 * 等待准入的帧，准入后按序处理
+		 */
+		private final Deque<WebSocketFrame> pending = new ArrayDeque<>();
+
+		/**
+		 * 当前输入的准入许可，输入的第一帧之前与结果结束之后为 {@code null}
+		 */
+		private AdmissionController.Permit permit;
+
+		private boolean closed;
+
+		private Transcoder transcoder;
+
+		private long start;
+
+		private long inputBytes;
+
+		private long outputBytes;
+
+		/**
+		 * 当前消息已收到的字节数，消息的最后一帧之后清零
+		 */
+		private long messageBytes;
+
+		private Session(
+			ServerWebSocket webSocket, Supplier<Transcoder> factory, Transcoder transcoder, boolean binary,
+			String codecId, String variantId, String operation, CostClass costClass, String client
+		) {
+			this.webSocket  = webSocket;
+			this.factory    = factory;
+			this.transcoder = transcoder;
+			this.binary     = binary;
+			this.codecId    = codecId;
+			this.variantId  = variantId;
+			this.operation  = operation;
+			this.costClass  = costClass;
+			this.client     = client;
+		}
+
+		private void start() {
+			webSocket.frameHandler(this::handleFrame);
+			webSocket.closeHandler(ignored -> close());
+			webSocket.exceptionHandler(exception -> log.debug("WebSocket codec session failed", exception));
+		}
+
+		private void handleFrame(WebSocketFrame frame) {
+			if (!frame.isText() && !frame.isBinary() && !frame.isContinuation()) {
+				return;
+			}
+			if (permit == null) {
+				pending.add(frame);
+				if (pending.size() == 1) {
+					admit();
+				}
+				return;
+			}
+			process(frame);
+		}
+
+		/**
+		 * 为 {@link #pending} 中第一帧开始的输入申请准入，期间暂停读取
+		 */
+		private void admit() {
+			webSocket.pause();
+			admissionController.admit(costClass, client, result -> {
+				if (closed) {
+					if (result.succeeded()) {
+						result.result().release();
+					}
+					return;
+				}
+				if (result.failed()) {
+					pending.clear();
+					webSocket.close(CLOSE_TRY_AGAIN_LATER, closeReason(result.cause()));
+					return;
+				}
+				permit = result.result();
+				// 结果结束时许可即释放，其后排队的帧属于下一次输入，重新准入
+				while (permit != null && !pending.isEmpty()) {
+					process(pending.poll());
+				}
+				if (!pending.isEmpty()) {
+					admit();
+				} else if (!closed) {
+					webSocket.resume();
+				}
+			});
+		}
+
+		private void process(WebSocketFrame frame) {
+			if (closed) {
+				return;
+			}
+			Buffer input = frame.binaryData();
+			messageBytes += input.length();
+			try {
+				if (input.length() > 0) {
+					update(input);
+				}
+				if (frame.isFinal()) {
+					if (messageBytes == 0) {
+						finish();
+					}
+					messageBytes = 0;
+				}
+			} catch (IOException exception) {
+				record(true);
+				close();
+				webSocket.close(CLOSE_INVALID_PAYLOAD, closeReason(exception));
+			}
+		}
+
+		private void update(Buffer input) throws IOException {
+			if (inputBytes == 0) {
+				start = System.nanoTime();
+			}
+			inputBytes += input.length();
+			Buffer output = transcoder.update(input);
+			if (output.length() > 0) {
+				send(output);
+			}
+		}
+
+		private void finish() throws IOException {
+			if (inputBytes == 0) {
+				start = System.nanoTime();
+			}
+			Buffer output = transcoder.finish();
+			if (output.length() > 0) {
+				send(output);
+			}
+			send(Buffer.buffer());
+			record(false);
+			release();
+			transcoder  = factory.get();
+			inputBytes  = 0;
+			outputBytes = 0;
+		}
+
+		private void send(Buffer output) {
+			outputBytes += output.length();
+			if (binary) {
+				webSocket.writeBinaryMessage(output);
+			} else {
+				webSocket.writeTextMessage(output.toString(StandardCharsets.UTF_8));
+			}
+			if (webSocket.writeQueueFull()) {
+				webSocket.pause();
+				webSocket.drainHandler(ignored -> webSocket.resume());
+			}
+		}
+
+		private void record(boolean error) {
+			codecMetrics.record(codecId, variantId, operation, start, inputBytes, outputBytes, error);
+		}
+
+		private void release() {
+			if (permit != null) {
+				permit.release();
+				permit = null;
+			}
+		}
+
+		private void close() {
+			closed = true;
+			pending.clear();
+			release();
+		}
+	}
+
+	private static String closeReason(Throwable exception) {
+		String message = exception.getMessage() != null ? exception.getMessage() : exception.getClass().getSimpleName();
+		byte[] bytes   = message.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length <= MAX_CLOSE_REASON_BYTES) {
+			return message;
+		}
+		// 按字节截断，再丢弃末尾不完整的字符
+		return new String(bytes, 0, MAX_CLOSE_REASON_BYTES, StandardCharsets.UTF_8).replaceAll("\\uFFFD+$", "");
+	}
+}
@@ -0,0 +1,182 @@
+package cn.bromine0x23.tools.codec.tcp;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.NetClientOptions;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.parsetools.RecordParser;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link TcpProtocol} 的客户端，一个实例对应一个连接，请求不等待之前的响应即发出。
+ *
+ * <p>状态只在建立连接时的上下文中访问，从其他线程调用时转到该上下文执行；同一次事件循环任务中发出的请求合并为一次写出。
+ * 服务端响应失败时结果为 {@link FailureException} ，连接关闭时尚未响应的请求以 {@link VertxException} 失败。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class TcpCodecClient {
+
+	private final NetClient netClient;
+
+	private final NetSocket socket;
+
+	private final Context context;
+
+	private final RecordParser parser = RecordParser.newFixed(TcpProtocol.LENGTH_BYTES);
+
+	private final Map<Integer, Handler<AsyncResult<Buffer>>> handlers = new HashMap<>();
+
+	private int nextRequestId;
+
+	private boolean expectingLength = true;
+
+	/**
+	 * 本次事件循环任务中尚未写出的请求
+	 */
+	private Buffer outbound;
+
+	private boolean closed;
+
+	private TcpCodecClient(NetClient netClient, NetSocket socket, Context context) {
+		this.netClient = netClient;
+		this.socket    = socket;
+		this.context   = context;
+	}
+
+	/**
+	 * 连接到服务端
+	 */
+	public static void connect(Vertx vertx, int port, String host, Handler<AsyncResult<TcpCodecClient>> handler) {
+		NetClient netClient = vertx.createNetClient(new NetClientOptions().setTcpNoDelay(true));
+		Context   context   = vertx.getOrCreateContext();
+		context.runOnContext(ignored -> netClient.connect(port, host, connected -> {
+			if (connected.failed()) {
+				netClient.close();
+				handler.handle(Future.failedFuture(connected.cause()));
+				return;
+			}
+			TcpCodecClient client = new TcpCodecClient(netClient, connected.result(), context);
+			client.start();
+			handler.handle(Future.succeededFuture(client));
+		}));
+	}
+
+	public void encode(String codecId, String variantId, Buffer input, Handler<AsyncResult<Buffer>> handler) {
+		request(TcpProtocol.OPERATION_ENCODE, codecId, variantId, input, handler);
+	}
+
+	public void decode(String codecId, String variantId, Buffer input, Handler<AsyncResult<Buffer>> handler) {
+		request(TcpProtocol.OPERATION_DECODE, codecId, variantId, input, handler);
+	}
+
+	public void close() {
+		if (context != Vertx.currentContext()) {
+			context.runOnContext(ignored -> close());
+			return;
+		}
+		netClient.close();
+	}
+
+	private void start() {
+		parser.handler(this::handleRecord);
+		socket.handler(parser);
+		socket.closeHandler(ignored -> handleClosed());
+	}
+
+	private void request(byte operation, String codecId, String variantId, Buffer input, Handler<AsyncResult<Buffer>> handler) {
+		if (context != Vertx.currentContext()) {
+			context.runOnContext(ignored -> request(operation, codecId, variantId, input, handler));
+			return;
+		}
+		if (closed) {
+			handler.handle(Future.failedFuture(new VertxException("Connection closed.")));
+			return;
+		}
+		int requestId = nextRequestId++;
+		if (outbound == null) {
+			outbound = Buffer.buffer();
+			context.runOnContext(ignored -> flush());
+		}
+		try {
+			TcpProtocol.appendRequest(outbound, requestId, operation, codecId, variantId, input);
+		} catch (IllegalArgumentException exception) {
+			handler.handle(Future.failedFuture(exception));
+			return;
+		}
+		handlers.put(requestId, handler);
+	}
+
+	private void flush() {
+		Buffer buffer = outbound;
+		outbound = null;
+		if (!closed && buffer.length() > 0) {
+			socket.write(buffer);
+		}
+	}
+
+	private void handleRecord(Buffer record) {
+		if (expectingLength) {
+			int length = record.getInt(0);
+			if (length < TcpProtocol.MIN_RESPONSE_BYTES || length > TcpProtocol.MAX_FRAME_BYTES) {
+				socket.close();
+				return;
+			}
+			expectingLength = false;
+			parser.fixedSizeMode(length);
+			return;
+		}
+		expectingLength = true;
+		parser.fixedSizeMode(TcpProtocol.LENGTH_BYTES);
+		int                          requestId = record.getInt(0);
+		short                        status    = record.getShort(Integer.BYTES);
+		Buffer                       output    = record.slice(TcpProtocol.MIN_RESPONSE_BYTES, record.length());
+		Handler<AsyncResult<Buffer>> handler   = handlers.remove(requestId);
+		if (handler == null) {
+			return;
+		}
+		if (status == TcpProtocol.STATUS_OK) {
+			handler.handle(Future.succeededFuture(output));
+		} else {
+			handler.handle(Future.failedFuture(new FailureException(status, output.toString(StandardCharsets.UTF_8))));
+		}
+	}
+
+	private void handleClosed() {
+		closed = true;
+		var exception = new VertxException("Connection closed.");
+		var pending   = new HashMap<>(handlers);
+		handlers.clear();
+		pending.values().forEach(handler -> handler.handle(Future.failedFuture(exception)));
+	}
+
+	/**
+	 * 服务端响应失败
+	 */
+	public static class FailureException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * 状态码，与 HTTP 接口一致
+		 */
+		@Getter
+		private final int status;
+
+		FailureException(int status, String message) {
+			super(message);
+			this.status = status;
+		}
+	}
+}
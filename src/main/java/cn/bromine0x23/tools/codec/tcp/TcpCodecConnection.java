@@ -0,0 +1,202 @@
+package cn.bromine0x23.tools.codec.tcp;
+
+import cn.bromine0x23.tools.codec.codecs.Codec;
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import cn.bromine0x23.tools.codec.utility.AdmissionController;
+import cn.bromine0x23.tools.codec.utility.CodecExecutor;
+import cn.bromine0x23.tools.codec.utility.CodecFailures;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import cn.bromine0x23.tools.codec.utility.Codecs;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.net.NetSocket;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.core.parsetools.RecordParser;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+
+/**
+ * 服务端的单个 {@link TcpProtocol} 连接，只在连接所在的上下文中访问。
+ *
+ * <p>请求与 HTTP 接口一样按开销等级准入并由 {@link CodecExecutor} 分派，载荷按字节处理，不使用缓存。
+ * 同一次读取中立即完成的请求，其响应合并为一次写出；在工作线程池中执行的请求完成后单独写出，因此可能先于之前的请求返回。
+ * 帧长无效时关闭连接。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@Slf4j
+public class TcpCodecConnection {
+
+	private static final String OPERATION_ENCODE = "encode";
+	private static final String OPERATION_DECODE = "decode";
+
+	private final NetSocket socket;
+
+	private final CodecExecutor codecExecutor;
+
+	private final CodecMetrics codecMetrics;
+
+	private final AdmissionController admissionController;
+
+	private final RecordParser parser = RecordParser.newFixed(TcpProtocol.LENGTH_BYTES);
+
+	private final String client;
+
+	/**
+	 * 正在处理一次读取时暂存的响应
+	 */
+	private Buffer pending;
+
+	private boolean expectingLength = true;
+
+	/**
+	 * 帧长无效而关闭连接后为 {@code true} ，同一次读取中余下的数据不再解析
+	 */
+	private boolean closed;
+
+	public TcpCodecConnection(NetSocket socket, CodecExecutor codecExecutor, CodecMetrics codecMetrics, AdmissionController admissionController) {
+		this.socket              = socket;
+		this.codecExecutor       = codecExecutor;
+		this.codecMetrics        = codecMetrics;
+		this.admissionController = admissionController;
+		SocketAddress address = socket.remoteAddress();
+		this.client = address != null ? address.host() : "";
+	}
+
+	public void start() {
+		parser.handler(this::handleRecord);
+		socket.handler(this::handleRead);
+		socket.exceptionHandler(exception -> log.debug("TCP codec connection failed", exception));
+	}
+
+	private void handleRead(Buffer buffer) {
+		pending = Buffer.buffer();
+		try {
+			parser.handle(buffer);
+		} finally {
+			Buffer responses = pending;
+			pending = null;
+			if (responses.length() > 0) {
+				write(responses);
+			}
+		}
+	}
+
+	private void handleRecord(Buffer record) {
+		if (closed) {
+			return;
+		}
+		if (expectingLength) {
+			int length = record.getInt(0);
+			if (length < TcpProtocol.MIN_REQUEST_BYTES || length > TcpProtocol.MAX_FRAME_BYTES) {
+				log.debug("Invalid TCP codec frame length {} from {}", length, client);
+				closed = true;
+				socket.handler(null);
+				socket.close();
+				return;
+			}
+			expectingLength = false;
+			parser.fixedSizeMode(length);
+			return;
+		}
+		expectingLength = true;
+		parser.fixedSizeMode(TcpProtocol.LENGTH_BYTES);
+		TcpProtocol.Request request;
+		try {
+			request = TcpProtocol.parseRequest(record);
+		} catch (IllegalArgumentException exception) {
+			respond(record.getInt(0), HttpResponseStatus.BAD_REQUEST, exception.getMessage());
+			return;
+		}
+		handleRequest(request);
+	}
+
+	private void handleRequest(TcpProtocol.Request request) {
+		Codec codec = Codecs.get(request.getCodecId());
+		if (codec == null) {
+			respond(request.getRequestId(), HttpResponseStatus.NOT_FOUND, "Codec `" + request.getCodecId() + "` not found.");
+			return;
+		}
+		String           operation;
+		Callable<Buffer> task;
+		if (request.getOperation() == TcpProtocol.OPERATION_ENCODE && codec.supportEncode()) {
+			operation = OPERATION_ENCODE;
+			task      = () -> codec.encode(request.getInput(), request.getVariantId());
+		} else if (request.getOperation() == TcpProtocol.OPERATION_DECODE && codec.supportDecode()) {
+			operation = OPERATION_DECODE;
+			task      = () -> codec.decode(request.getInput(), request.getVariantId());
+		} else {
+			respond(request.getRequestId(), HttpResponseStatus.BAD_REQUEST, "Codec `" + request.getCodecId() + "` doesn't support operation " + request.getOperation() + ".");
+			return;
+		}
+		CostClass costClass;
+		try {
+			costClass = codec.getCostClass(request.getVariantId());
+		} catch (IllegalArgumentException exception) {
+			respond(request.getRequestId(), HttpResponseStatus.BAD_REQUEST, "Variant `" + request.getVariantId() + "` not found.");
+			return;
+		}
+		admissionController.admit(costClass, client, admitted -> {
+			if (admitted.failed()) {
+				fail(request.getRequestId(), admitted.cause());
+				return;
+			}
+			var permit = admitted.result();
+			var start  = System.nanoTime();
+			codecExecutor.execute(costClass, task, result -> {
+				permit.release();
+				record(request, operation, start, result);
+				if (result.succeeded()) {
+					respond(request.getRequestId(), TcpProtocol.STATUS_OK, result.result());
+				} else {
+					fail(request.getRequestId(), result.cause());
+				}
+			});
+		});
+	}
+
+	private void record(TcpProtocol.Request request, String operation, long start, AsyncResult<Buffer> result) {
+		var outputBytes = result.succeeded() ? result.result().length() : 0;
+		codecMetrics.record(request.getCodecId(), request.getVariantId(), operation, start, request.getInput().length(), outputBytes, result.failed());
+	}
+
+	/**
+	 * 以 {@link CodecFailures} 的状态码响应失败
+	 */
+	private void fail(int requestId, Throwable exception) {
+		int status = CodecFailures.statusCode(exception);
+		if (status == HttpResponseStatus.INTERNAL_SERVER_ERROR.code()) {
+			log.warn("TCP codec request failed", exception);
+		}
+		respond(requestId, (short) status, CodecFailures.message(exception));
+	}
+
+	private void respond(int requestId, HttpResponseStatus status, String message) {
+		respond(requestId, (short) status.code(), message);
+	}
+
+	private void respond(int requestId, short status, String message) {
+		respond(requestId, status, Buffer.buffer(message, StandardCharsets.UTF_8.name()));
+	}
+
+	private void respond(int requestId, short status, Buffer output) {
+		if (pending != null) {
+			TcpProtocol.appendResponse(pending, requestId, status, output);
+			return;
+		}
+		Buffer response = Buffer.buffer(TcpProtocol.LENGTH_BYTES + TcpProtocol.MIN_RESPONSE_BYTES + output.length());
+		TcpProtocol.appendResponse(response, requestId, status, output);
+		write(response);
+	}
+
+	private void write(Buffer buffer) {
+		socket.write(buffer);
+		if (socket.writeQueueFull()) {
+			socket.pause();
+			socket.drainHandler(ignored -> socket.resume());
+		}
+	}
+}
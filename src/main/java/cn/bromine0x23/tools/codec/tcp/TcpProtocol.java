@@ -0,0 +1,133 @@
+package cn.bromine0x23.tools.codec.tcp;
+
+import io.vertx.core.buffer.Buffer;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 长度前缀的二进制编解码协议，整数均为大端序。每帧以 4 字节的帧长（不含自身）开头：
+ *
+ * <ul>
+ *     <li>请求：请求ID（4 字节）、操作（1 字节，{@link #OPERATION_ENCODE} 或 {@link #OPERATION_DECODE}）、
+ *     编解码器ID长度（1 字节）与 UTF-8 字节、变体ID长度（1 字节，0 表示默认变体）与 UTF-8 字节，其余为输入</li>
+ *     <li>响应：请求ID（4 字节）、状态（2 字节，与 HTTP 接口的状态码一致，成功为 200），其余为输出，失败时为 UTF-8 的错误消息</li>
+ * </ul>
+ *
+ * <p>同一连接上可连续发送请求而不等待响应；响应以请求ID对应，不保证按请求的顺序返回。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public final class TcpProtocol {
+
+	public static final byte OPERATION_ENCODE = 1;
+	public static final byte OPERATION_DECODE = 2;
+
+	public static final short STATUS_OK = 200;
+
+	/**
+	 * 帧长字段的字节数
+	 */
+	public static final int LENGTH_BYTES = Integer.BYTES;
+
+	/**
+	 * 帧长上限，超过时关闭连接
+	 */
+	public static final int MAX_FRAME_BYTES = 16 << 20;
+
+	/**
+	 * 请求帧的最小长度：请求ID、操作与两个长度字段
+	 */
+	public static final int MIN_REQUEST_BYTES = Integer.BYTES + 3;
+
+	/**
+	 * 响应帧的最小长度：请求ID与状态
+	 */
+	public static final int MIN_RESPONSE_BYTES = Integer.BYTES + Short.BYTES;
+
+	private static final int MAX_ID_BYTES = 0xFF;
+
+	private TcpProtocol() {
+	}
+
+	/**
+	 * 将请求帧（含帧长）追加到 {@code buffer}
+	 */
+	public static void appendRequest(Buffer buffer, int requestId, byte operation, String codecId, String variantId, Buffer input) {
+		byte[] codecIdBytes   = idBytes(codecId);
+		byte[] variantIdBytes = variantId != null ? idBytes(variantId) : new byte[0];
+		buffer
+			.appendInt(MIN_REQUEST_BYTES + codecIdBytes.length + variantIdBytes.length + input.length())
+			.appendInt(requestId)
+			.appendByte(operation)
+			.appendUnsignedByte((short) codecIdBytes.length)
+			.appendBytes(codecIdBytes)
+			.appendUnsignedByte((short) variantIdBytes.length)
+			.appendBytes(variantIdBytes)
+			.appendBuffer(input);
+	}
+
+	/**
+	 * 将响应帧（含帧长）追加到 {@code buffer}
+	 */
+	public static void appendResponse(Buffer buffer, int requestId, short status, Buffer output) {
+		buffer
+			.appendInt(MIN_RESPONSE_BYTES + output.length())
+			.appendInt(requestId)
+			.appendShort(status)
+			.appendBuffer(output);
+	}
+
+	/**
+	 * 解析不含帧长的请求帧
+	 *
+	 * @throws IllegalArgumentException 帧格式错误
+	 */
+	public static Request parseRequest(Buffer frame) {
+		if (frame.length() < MIN_REQUEST_BYTES) {
+			throw new IllegalArgumentException("Request frame too short.");
+		}
+		int  requestId     = frame.getInt(0);
+		byte operation     = frame.getByte(Integer.BYTES);
+		int  codecIdLength = frame.getUnsignedByte(Integer.BYTES + 1);
+		int  position      = Integer.BYTES + 2;
+		if (position + codecIdLength + 1 > frame.length()) {
+			throw new IllegalArgumentException("Request frame too short.");
+		}
+		String codecId = frame.getString(position, position + codecIdLength, StandardCharsets.UTF_8.name());
+		position += codecIdLength;
+		int variantIdLength = frame.getUnsignedByte(position++);
+		if (position + variantIdLength > frame.length()) {
+			throw new IllegalArgumentException("Request frame too short.");
+		}
+		String variantId = variantIdLength > 0 ? frame.getString(position, position + variantIdLength, StandardCharsets.UTF_8.name()) : null;
+		position += variantIdLength;
+		return new Request(requestId, operation, codecId, variantId, frame.slice(position, frame.length()));
+	}
+
+	private static byte[] idBytes(String id) {
+		byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > MAX_ID_BYTES) {
+			throw new IllegalArgumentException("ID `" + id + "` is longer than " + MAX_ID_BYTES + " bytes.");
+		}
+		return bytes;
+	}
+
+	/**
+	 * 请求帧
+	 */
+	@Value
+	public static class Request {
+
+		int requestId;
+
+		byte operation;
+
+		String codecId;
+
+		String variantId;
+
+		Buffer input;
+
+	}
+}
@@ -0,0 +1,401 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Value;
+
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按开销等级的准入控制，各等级独立限制：
+ *
+ * <ul>
+ *     <li>令牌桶限制请求速率，令牌不足时以 429 拒绝；</li>
+ *     <li>限制同时执行的请求数，超出的请求按客户端分队列，各客户端轮流出队，避免单个客户端占满；</li>
+ *     <li>按近期的平均占用时间估算排队等待，预计超过延迟目标或队列已满时立即以 503 拒绝，排队超过延迟目标的请求同样被拒绝。</li>
+ * </ul>
+ *
+ * <p>可在任意线程调用，准入结果在调用时所在的上下文中回调。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class AdmissionController {
+
+	/**
+	 * 平均占用时间的指数加权系数
+	 */
+	private static final double SERVICE_TIME_WEIGHT = 0.2;
+
+	private final Map<CostClass, Lane> lanes = new EnumMap<>(CostClass.class);
+
+	private final long sloNanos;
+
+	/**
+	 * @param limits    各开销等级的限制，未给出的等级不限制
+	 * @param sloMillis 延迟目标（毫秒），排队等待不超过此值
+	 */
+	public AdmissionController(Map<CostClass, Limits> limits, long sloMillis) {
+		for (CostClass costClass : CostClass.values()) {
+			lanes.put(costClass, new Lane(costClass, limits.getOrDefault(costClass, Limits.UNLIMITED)));
+		}
+		this.sloNanos = TimeUnit.MILLISECONDS.toNanos(sloMillis);
+	}
+
+	/**
+	 * 申请准入，成功时得到 {@link Permit} ，请求结束后须释放；失败时为 {@link RejectedException}
+	 *
+	 * @param costClass 开销等级
+	 * @param client    客户端标识，用于排队时的轮转
+	 * @param handler   准入结果回调，在调用本方法时所在的上下文中执行
+	 */
+	public void admit(CostClass costClass, String client, Handler<AsyncResult<Permit>> handler) {
+		lanes.get(costClass).admit(client, new Waiter(Vertx.currentContext(), handler));
+	}
+
+	public int getInFlight(CostClass costClass) {
+		return lanes.get(costClass).getInFlight();
+	}
+
+	public int getQueued(CostClass costClass) {
+		return lanes.get(costClass).getQueued();
+	}
+
+	public long getAdmitted(CostClass costClass) {
+		return lanes.get(costClass).admitted.sum();
+	}
+
+	public long getRejected(CostClass costClass, Reason reason) {
+		return lanes.get(costClass).rejected.get(reason).sum();
+	}
+
+	/**
+	 * 单个开销等级的限制
+	 */
+	@Value
+	@Builder
+	public static class Limits {
+
+		static final Limits UNLIMITED = Limits.builder().build();
+
+		/**
+		 * 每秒补充的令牌数，为 0 时不限速率
+		 */
+		double rate;
+
+		/**
+		 * 令牌桶容量，允许的突发请求数
+		 */
+		int burst;
+
+		/**
+		 * 同时执行的请求数上限，为 0 时不限
+		 */
+		int maxInFlight;
+
+		/**
+		 * 排队的请求数上限
+		 */
+		int maxQueued;
+	}
+
+	/**
+	 * 拒绝原因
+	 */
+	public enum Reason {
+
+		/**
+		 * 超过速率限制
+		 */
+		RATE_LIMITED(429),
+
+		/**
+		 * 队列已满
+		 */
+		QUEUE_FULL(503),
+
+		/**
+		 * 预计排队等待超过延迟目标
+		 */
+		SLO(503),
+
+		/**
+		 * 排队等待超过延迟目标
+		 */
+		TIMEOUT(503);
+
+		@Getter
+		private final int statusCode;
+
+		Reason(int statusCode) {
+			this.statusCode = statusCode;
+		}
+	}
+
+	/**
+	 * 准入被拒绝
+	 */
+	public static class RejectedException extends RejectedExecutionException {
+
+		private static final long serialVersionUID = 1L;
+
+		@Getter
+		private final transient Reason reason;
+
+		/**
+		 * 建议客户端重试前等待的秒数
+		 */
+		@Getter
+		private final long retryAfterSeconds;
+
+		RejectedException(CostClass costClass, Reason reason, long retryAfterNanos) {
+			super(MessageFormat.format("Request rejected by admission control ({0}, {1}).", costClass.name().toLowerCase(Locale.ROOT), reason.name().toLowerCase(Locale.ROOT)));
+			this.reason            = reason;
+			this.retryAfterSeconds = Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+		}
+	}
+
+	/**
+	 * 准入许可，重复释放无效
+	 */
+	public static class Permit {
+
+		private final Lane lane;
+
+		private final long start = System.nanoTime();
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private Permit(Lane lane) {
+			this.lane = lane;
+		}
+
+		public void release() {
+			if (released.compareAndSet(false, true)) {
+				lane.release(System.nanoTime() - start);
+			}
+		}
+	}
+
+	/**
+	 * 单个开销等级的状态，所有可变状态由自身的锁保护
+	 */
+	private class Lane {
+
+		private final CostClass costClass;
+
+		private final Limits limits;
+
+		private final LinkedHashMap<String, ArrayDeque<Waiter>> queues = new LinkedHashMap<>();
+
+		private final LongAdder admitted = new LongAdder();
+
+		private final Map<Reason, LongAdder> rejected = new EnumMap<>(Reason.class);
+
+		private double tokens;
+
+		private long refilledAt = System.nanoTime();
+
+		private int inFlight;
+
+		private int queued;
+
+		private double serviceNanos;
+
+		private Lane(CostClass costClass, Limits limits) {
+			this.costClass = costClass;
+			this.limits    = limits;
+			this.tokens    = burst();
+			for (Reason reason : Reason.values()) {
+				rejected.put(reason, new LongAdder());
+			}
+		}
+
+		private void admit(String client, Waiter waiter) {
+			Reason reason;
+			long   retryAfterNanos;
+			synchronized (this) {
+				long now = System.nanoTime();
+				refill(now);
+				if (limits.rate > 0 && tokens < 1) {
+					reason          = Reason.RATE_LIMITED;
+					retryAfterNanos = (long) ((1 - tokens) / limits.rate * TimeUnit.SECONDS.toNanos(1));
+				} else if (limits.maxInFlight <= 0 || inFlight < limits.maxInFlight && queued == 0) {
+					take();
+					++inFlight;
+					reason          = null;
+					retryAfterNanos = 0;
+				} else {
+					long estimatedNanos = (long) ((queued + 1) * serviceNanos / limits.maxInFlight);
+					if (queued >= limits.maxQueued) {
+						reason          = Reason.QUEUE_FULL;
+						retryAfterNanos = estimatedNanos;
+					} else if (estimatedNanos > sloNanos) {
+						reason          = Reason.SLO;
+						retryAfterNanos = estimatedNanos;
+					} else {
+						take();
+						queues.computeIfAbsent(client, ignored -> new ArrayDeque<>()).add(waiter);
+						++queued;
+						waiter.client = client;
+						waiter.lane   = this;
+						waiter.await(sloNanos);
+						return;
+					}
+				}
+			}
+			if (reason == null) {
+				admitted.increment();
+				waiter.grant(new Permit(this));
+			} else {
+				reject(waiter, reason, retryAfterNanos);
+			}
+		}
+
+		private void release(long heldNanos) {
+			Waiter next;
+			synchronized (this) {
+				serviceNanos = serviceNanos == 0 ? heldNanos : serviceNanos + SERVICE_TIME_WEIGHT * (heldNanos - serviceNanos);
+				--inFlight;
+				next = poll();
+				if (next != null) {
+					++inFlight;
+				}
+			}
+			if (next != null) {
+				admitted.increment();
+				next.grant(new Permit(this));
+			}
+		}
+
+		/**
+		 * 排队超时，若仍在队列中则移出并拒绝
+		 */
+		private void expire(Waiter waiter) {
+			synchronized (this) {
+				ArrayDeque<Waiter> queue = queues.get(waiter.client);
+				if (queue == null || !queue.remove(waiter)) {
+					return;
+				}
+				if (queue.isEmpty()) {
+					queues.remove(waiter.client);
+				}
+				--queued;
+			}
+			reject(waiter, Reason.TIMEOUT, sloNanos);
+		}
+
+		/**
+		 * 轮流从各客户端的队列中取出一个请求，取出后该客户端移到末尾
+		 */
+		private Waiter poll() {
+			Iterator<Map.Entry<String, ArrayDeque<Waiter>>> iterator = queues.entrySet().iterator();
+			if (!iterator.hasNext()) {
+				return null;
+			}
+			Map.Entry<String, ArrayDeque<Waiter>> entry = iterator.next();
+			iterator.remove();
+			Waiter waiter = entry.getValue().poll();
+			if (!entry.getValue().isEmpty()) {
+				queues.put(entry.getKey(), entry.getValue());
+			}
+			--queued;
+			return waiter;
+		}
+
+		private void reject(Waiter waiter, Reason reason, long retryAfterNanos) {
+			rejected.get(reason).increment();
+			waiter.reject(new RejectedException(costClass, reason, retryAfterNanos));
+		}
+
+		private void refill(long now) {
+			if (limits.rate > 0) {
+				tokens     = Math.min(burst(), tokens + (now - refilledAt) * limits.rate / TimeUnit.SECONDS.toNanos(1));
+				refilledAt = now;
+			}
+		}
+
+		private void take() {
+			if (limits.rate > 0) {
+				tokens -= 1;
+			}
+		}
+
+		private double burst() {
+			return Math.max(1, limits.burst > 0 ? limits.burst : Math.ceil(limits.rate));
+		}
+
+		private synchronized int getInFlight() {
+			return inFlight;
+		}
+
+		private synchronized int getQueued() {
+			return queued;
+		}
+	}
+
+	/**
+	 * 等待准入的请求
+	 */
+	private static class Waiter {
+
+		private final Context context;
+
+		private final Handler<AsyncResult<Permit>> handler;
+
+		private String client;
+
+		private Lane lane;
+
+		private volatile long timerId = -1;
+
+		private Waiter(Context context, Handler<AsyncResult<Permit>> handler) {
+			this.context = context;
+			this.handler = handler;
+		}
+
+		/**
+		 * 在请求所在的上下文中设置排队超时
+		 */
+		private void await(long timeoutNanos) {
+			if (context != null) {
+				long timeoutMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+				context.runOnContext(ignored -> timerId = context.owner().setTimer(timeoutMillis, id -> lane.expire(this)));
+			}
+		}
+
+		private void grant(Permit permit) {
+			if (timerId >= 0) {
+				context.owner().cancelTimer(timerId);
+			}
+			dispatch(Future.succeededFuture(permit));
+		}
+
+		private void reject(RejectedException exception) {
+			dispatch(Future.failedFuture(exception));
+		}
+
+		private void dispatch(AsyncResult<Permit> result) {
+			if (context == null || context == Vertx.currentContext()) {
+				handler.handle(result);
+			} else {
+				context.runOnContext(ignored -> handler.handle(result));
+			}
+		}
+	}
+}
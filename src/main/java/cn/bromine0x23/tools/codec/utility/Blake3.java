@@ -0,0 +1,866 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <a href="https://github.com/BLAKE3-team/BLAKE3-specs">BLAKE3</a> 的散列模式，输出 256 位。
+ *
+ * <p>BLAKE3 本身即为树形结构：输入按 {@value #CHUNK_LEN} 字节切分为块，左子树取不超过总块数减一的最大的2的幂个块。
+ * 对完整的输入，{@value #SEGMENT_LEN} 字节以上的子树分叉并行计算；增量计算按参考实现以链值栈顺序合并。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public final class Blake3 implements DigestAlgorithm {
+
+	public static final Blake3 INSTANCE = new Blake3();
+
+	/**
+	 * 输出长度（字节）
+	 */
+	public static final int OUT_LEN = 32;
+
+	private static final int BLOCK_LEN = 64;
+
+	private static final int CHUNK_LEN = 1024;
+
+	/**
+	 * 并行计算时顺序处理的子树大小，1 MiB
+	 */
+	private static final int SEGMENT_LEN = 1 << 20;
+
+	private static final int CHUNK_START = 1;
+
+	private static final int CHUNK_END = 1 << 1;
+
+	private static final int PARENT = 1 << 2;
+
+	private static final int ROOT = 1 << 3;
+
+	private static final int[] IV = {
+		0x6A09E667, 0xBB67AE85, 0x3C6EF372, 0xA54FF53A, 0x510E527F, 0x9B05688C, 0x1F83D9AB, 0x5BE0CD19,
+	};
+
+	private final ThreadLocal<ByteBuffer> localSegmentBuffer = ThreadLocal.withInitial(
+		() -> ByteBuffer.allocate(SEGMENT_LEN).order(ByteOrder.LITTLE_ENDIAN)
+	);
+
+	private Blake3() {
+	}
+
+	@Override
+	public Hasher newHasher() {
+		return new IncrementalHasher();
+	}
+
+	/**
+	 * 子树并行计算
+	 */
+	@Override
+	public byte[] digest(@NonNull ByteBuffer input) {
+		ByteBuffer data = input.slice();
+		input.position(input.limit());
+		return digest(data.remaining(), (offset, length) -> {
+			ByteBuffer segment = data.duplicate();
+			segment.position((int) offset).limit((int) offset + length);
+			return segment.slice().order(ByteOrder.LITTLE_ENDIAN);
+		});
+	}
+
+	/**
+	 * 子树并行地按位置读取，不改变通道的位置
+	 */
+	@Override
+	public byte[] digest(@NonNull FileChannel channel) throws IOException {
+		long size = channel.size();
+		try {
+			return digest(size, (offset, length) -> {
+				ByteBuffer segment = localSegmentBuffer.get();
+				segment.clear().limit(length);
+				try {
+					while (segment.hasRemaining()) {
+						if (channel.read(segment, offset + segment.position()) < 0) {
+							throw new IOException("File truncated while hashing");
+						}
+					}
+				} catch (IOException exception) {
+					throw new UncheckedIOException(exception);
+				}
+				return segment.flip();
+			});
+		} catch (UncheckedIOException exception) {
+			throw exception.getCause();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "BLAKE3";
+	}
+
+	private static byte[] digest(long length, Source source) {
+		if (length <= CHUNK_LEN) {
+			return chunkOutput(source.read(0, (int) length), 0, (int) length, 0).rootBytes();
+		}
+		long    split = leftLength(length);
+		Subtree left  = new Subtree(source, 0, split);
+		Subtree right = new Subtree(source, split, length - split);
+		if (length <= SEGMENT_LEN) {
+			return parentOutput(left.compute(), right.compute()).rootBytes();
+		}
+		ForkJoinTask.invokeAll(left, right);
+		return parentOutput(left.join(), right.join()).rootBytes();
+	}
+
+	/**
+	 * 多于一个块时左子树的长度：不超过总块数减一的最大的2的幂个块
+	 */
+	private static long leftLength(long length) {
+		return Long.highestOneBit((length - 1) / CHUNK_LEN) * CHUNK_LEN;
+	}
+
+	/**
+	 * 顺序计算非根子树的链值
+	 */
+	private static void chainingValue(ByteBuffer data, int offset, int length, long chunkCounter, int[] out) {
+		if (length <= CHUNK_LEN) {
+			chunkOutput(data, offset, length, chunkCounter).chainingValue(out);
+			return;
+		}
+		int   split = (int) leftLength(length);
+		int[] left  = new int[8];
+		int[] right = new int[8];
+		chainingValue(data, offset, split, chunkCounter, left);
+		chainingValue(data, offset + split, length - split, chunkCounter + split / CHUNK_LEN, right);
+		parentOutput(left, right).chainingValue(out);
+	}
+
+	/**
+	 * 一个块的输出，最后一个分组留待调用方以链值或根节点的方式压缩
+	 *
+	 * @param data 小端序的输入
+	 */
+	private static Output chunkOutput(ByteBuffer data, int offset, int length, long chunkCounter) {
+		Output output = new Output();
+		System.arraycopy(IV, 0, output.chainingValue, 0, IV.length);
+		int flags    = CHUNK_START;
+		int position = offset;
+		int end      = offset + length;
+		for (; end - position > BLOCK_LEN; position += BLOCK_LEN) {
+			for (int i = 0; i < 16; ++i) {
+				output.block[i] = data.getInt(position + 4 * i);
+			}
+			compress(output.chainingValue, output.block, chunkCounter, BLOCK_LEN, flags, output.chainingValue);
+			flags = 0;
+		}
+		int remaining = end - position;
+		for (int i = 0; i < 16; ++i) {
+			output.block[i] = 0;
+		}
+		for (int i = 0; i < remaining; ++i) {
+			output.block[i >> 2] |= (data.get(position + i) & 0xFF) << ((i & 3) << 3);
+		}
+		output.counter  = chunkCounter;
+		output.blockLen = remaining;
+		output.flags    = flags | CHUNK_END;
+		return output;
+	}
+
+	private static Output parentOutput(int[] left, int[] right) {
+		Output output = new Output();
+		System.arraycopy(IV, 0, output.chainingValue, 0, IV.length);
+		System.arraycopy(left, 0, output.block, 0, 8);
+		System.arraycopy(right, 0, output.block, 8, 8);
+		output.counter  = 0;
+		output.blockLen = BLOCK_LEN;
+		output.flags    = PARENT;
+		return output;
+	}
+
+	/**
+	 * 压缩函数，只输出前 8 个字，{@code out} 可与 {@code chainingValue} 相同
+	 *
+	 * <p>状态与消息字均放在局部变量中，7 轮按消息置换展开，每轮使用的消息字在展开时确定。
+	 */
+	private static void compress(int[] chainingValue, int[] block, long counter, int blockLen, int flags, int[] out) {
+		int m0  = block[0];
+		int m1  = block[1];
+		int m2  = block[2];
+		int m3  = block[3];
+		int m4  = block[4];
+		int m5  = block[5];
+		int m6  = block[6];
+		int m7  = block[7];
+		int m8  = block[8];
+		int m9  = block[9];
+		int m10 = block[10];
+		int m11 = block[11];
+		int m12 = block[12];
+		int m13 = block[13];
+		int m14 = block[14];
+		int m15 = block[15];
+		int v0  = chainingValue[0];
+		int v1  = chainingValue[1];
+		int v2  = chainingValue[2];
+		int v3  = chainingValue[3];
+		int v4  = chainingValue[4];
+		int v5  = chainingValue[5];
+		int v6  = chainingValue[6];
+		int v7  = chainingValue[7];
+		int v8  = IV[0];
+		int v9  = IV[1];
+		int v10 = IV[2];
+		int v11 = IV[3];
+		int v12 = (int) counter;
+		int v13 = (int) (counter >>> 32);
+		int v14 = blockLen;
+		int v15 = flags;
+		// 第 1 轮
+		v0 += v4 + m0;
+		v12 = Integer.rotateRight(v12 ^ v0, 16);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 12);
+		v0 += v4 + m1;
+		v12 = Integer.rotateRight(v12 ^ v0, 8);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 7);
+		v1 += v5 + m2;
+		v13 = Integer.rotateRight(v13 ^ v1, 16);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 12);
+		v1 += v5 + m3;
+		v13 = Integer.rotateRight(v13 ^ v1, 8);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 7);
+		v2 += v6 + m4;
+		v14 = Integer.rotateRight(v14 ^ v2, 16);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 12);
+		v2 += v6 + m5;
+		v14 = Integer.rotateRight(v14 ^ v2, 8);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 7);
+		v3 += v7 + m6;
+		v15 = Integer.rotateRight(v15 ^ v3, 16);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 12);
+		v3 += v7 + m7;
+		v15 = Integer.rotateRight(v15 ^ v3, 8);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 7);
+		v0 += v5 + m8;
+		v15 = Integer.rotateRight(v15 ^ v0, 16);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 12);
+		v0 += v5 + m9;
+		v15 = Integer.rotateRight(v15 ^ v0, 8);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 7);
+		v1 += v6 + m10;
+		v12 = Integer.rotateRight(v12 ^ v1, 16);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 12);
+		v1 += v6 + m11;
+		v12 = Integer.rotateRight(v12 ^ v1, 8);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 7);
+		v2 += v7 + m12;
+		v13 = Integer.rotateRight(v13 ^ v2, 16);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 12);
+		v2 += v7 + m13;
+		v13 = Integer.rotateRight(v13 ^ v2, 8);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 7);
+		v3 += v4 + m14;
+		v14 = Integer.rotateRight(v14 ^ v3, 16);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 12);
+		v3 += v4 + m15;
+		v14 = Integer.rotateRight(v14 ^ v3, 8);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 7);
+		// 第 2 轮
+		v0 += v4 + m2;
+		v12 = Integer.rotateRight(v12 ^ v0, 16);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 12);
+		v0 += v4 + m6;
+		v12 = Integer.rotateRight(v12 ^ v0, 8);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 7);
+		v1 += v5 + m3;
+		v13 = Integer.rotateRight(v13 ^ v1, 16);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 12);
+		v1 += v5 + m10;
+		v13 = Integer.rotateRight(v13 ^ v1, 8);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 7);
+		v2 += v6 + m7;
+		v14 = Integer.rotateRight(v14 ^ v2, 16);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 12);
+		v2 += v6 + m0;
+		v14 = Integer.rotateRight(v14 ^ v2, 8);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 7);
+		v3 += v7 + m4;
+		v15 = Integer.rotateRight(v15 ^ v3, 16);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 12);
+		v3 += v7 + m13;
+		v15 = Integer.rotateRight(v15 ^ v3, 8);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 7);
+		v0 += v5 + m1;
+		v15 = Integer.rotateRight(v15 ^ v0, 16);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 12);
+		v0 += v5 + m11;
+		v15 = Integer.rotateRight(v15 ^ v0, 8);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 7);
+		v1 += v6 + m12;
+		v12 = Integer.rotateRight(v12 ^ v1, 16);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 12);
+		v1 += v6 + m5;
+		v12 = Integer.rotateRight(v12 ^ v1, 8);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 7);
+		v2 += v7 + m9;
+		v13 = Integer.rotateRight(v13 ^ v2, 16);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 12);
+		v2 += v7 + m14;
+		v13 = Integer.rotateRight(v13 ^ v2, 8);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 7);
+		v3 += v4 + m15;
+		v14 = Integer.rotateRight(v14 ^ v3, 16);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 12);
+		v3 += v4 + m8;
+		v14 = Integer.rotateRight(v14 ^ v3, 8);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 7);
+		// 第 3 轮
+		v0 += v4 + m3;
+		v12 = Integer.rotateRight(v12 ^ v0, 16);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 12);
+		v0 += v4 + m4;
+		v12 = Integer.rotateRight(v12 ^ v0, 8);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 7);
+		v1 += v5 + m10;
+		v13 = Integer.rotateRight(v13 ^ v1, 16);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 12);
+		v1 += v5 + m12;
+		v13 = Integer.rotateRight(v13 ^ v1, 8);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 7);
+		v2 += v6 + m13;
+		v14 = Integer.rotateRight(v14 ^ v2, 16);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 12);
+		v2 += v6 + m2;
+		v14 = Integer.rotateRight(v14 ^ v2, 8);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 7);
+		v3 += v7 + m7;
+		v15 = Integer.rotateRight(v15 ^ v3, 16);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 12);
+		v3 += v7 + m14;
+		v15 = Integer.rotateRight(v15 ^ v3, 8);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 7);
+		v0 += v5 + m6;
+		v15 = Integer.rotateRight(v15 ^ v0, 16);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 12);
+		v0 += v5 + m5;
+		v15 = Integer.rotateRight(v15 ^ v0, 8);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 7);
+		v1 += v6 + m9;
+		v12 = Integer.rotateRight(v12 ^ v1, 16);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 12);
+		v1 += v6 + m0;
+		v12 = Integer.rotateRight(v12 ^ v1, 8);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 7);
+		v2 += v7 + m11;
+		v13 = Integer.rotateRight(v13 ^ v2, 16);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 12);
+		v2 += v7 + m15;
+		v13 = Integer.rotateRight(v13 ^ v2, 8);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 7);
+		v3 += v4 + m8;
+		v14 = Integer.rotateRight(v14 ^ v3, 16);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 12);
+		v3 += v4 + m1;
+		v14 = Integer.rotateRight(v14 ^ v3, 8);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 7);
+		// 第 4 轮
+		v0 += v4 + m10;
+		v12 = Integer.rotateRight(v12 ^ v0, 16);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 12);
+		v0 += v4 + m7;
+		v12 = Integer.rotateRight(v12 ^ v0, 8);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 7);
+		v1 += v5 + m12;
+		v13 = Integer.rotateRight(v13 ^ v1, 16);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 12);
+		v1 += v5 + m9;
+		v13 = Integer.rotateRight(v13 ^ v1, 8);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 7);
+		v2 += v6 + m14;
+		v14 = Integer.rotateRight(v14 ^ v2, 16);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 12);
+		v2 += v6 + m3;
+		v14 = Integer.rotateRight(v14 ^ v2, 8);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 7);
+		v3 += v7 + m13;
+		v15 = Integer.rotateRight(v15 ^ v3, 16);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 12);
+		v3 += v7 + m15;
+		v15 = Integer.rotateRight(v15 ^ v3, 8);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 7);
+		v0 += v5 + m4;
+		v15 = Integer.rotateRight(v15 ^ v0, 16);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 12);
+		v0 += v5 + m0;
+		v15 = Integer.rotateRight(v15 ^ v0, 8);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 7);
+		v1 += v6 + m11;
+		v12 = Integer.rotateRight(v12 ^ v1, 16);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 12);
+		v1 += v6 + m2;
+		v12 = Integer.rotateRight(v12 ^ v1, 8);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 7);
+		v2 += v7 + m5;
+		v13 = Integer.rotateRight(v13 ^ v2, 16);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 12);
+		v2 += v7 + m8;
+		v13 = Integer.rotateRight(v13 ^ v2, 8);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 7);
+		v3 += v4 + m1;
+		v14 = Integer.rotateRight(v14 ^ v3, 16);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 12);
+		v3 += v4 + m6;
+		v14 = Integer.rotateRight(v14 ^ v3, 8);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 7);
+		// 第 5 轮
+		v0 += v4 + m12;
+		v12 = Integer.rotateRight(v12 ^ v0, 16);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 12);
+		v0 += v4 + m13;
+		v12 = Integer.rotateRight(v12 ^ v0, 8);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 7);
+		v1 += v5 + m9;
+		v13 = Integer.rotateRight(v13 ^ v1, 16);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 12);
+		v1 += v5 + m11;
+		v13 = Integer.rotateRight(v13 ^ v1, 8);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 7);
+		v2 += v6 + m15;
+		v14 = Integer.rotateRight(v14 ^ v2, 16);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 12);
+		v2 += v6 + m10;
+		v14 = Integer.rotateRight(v14 ^ v2, 8);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 7);
+		v3 += v7 + m14;
+		v15 = Integer.rotateRight(v15 ^ v3, 16);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 12);
+		v3 += v7 + m8;
+		v15 = Integer.rotateRight(v15 ^ v3, 8);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 7);
+		v0 += v5 + m7;
+		v15 = Integer.rotateRight(v15 ^ v0, 16);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 12);
+		v0 += v5 + m2;
+		v15 = Integer.rotateRight(v15 ^ v0, 8);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 7);
+		v1 += v6 + m5;
+		v12 = Integer.rotateRight(v12 ^ v1, 16);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 12);
+		v1 += v6 + m3;
+		v12 = Integer.rotateRight(v12 ^ v1, 8);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 7);
+		v2 += v7 + m0;
+		v13 = Integer.rotateRight(v13 ^ v2, 16);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 12);
+		v2 += v7 + m1;
+		v13 = Integer.rotateRight(v13 ^ v2, 8);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 7);
+		v3 += v4 + m6;
+		v14 = Integer.rotateRight(v14 ^ v3, 16);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 12);
+		v3 += v4 + m4;
+		v14 = Integer.rotateRight(v14 ^ v3, 8);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 7);
+		// 第 6 轮
+		v0 += v4 + m9;
+		v12 = Integer.rotateRight(v12 ^ v0, 16);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 12);
+		v0 += v4 + m14;
+		v12 = Integer.rotateRight(v12 ^ v0, 8);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 7);
+		v1 += v5 + m11;
+		v13 = Integer.rotateRight(v13 ^ v1, 16);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 12);
+		v1 += v5 + m5;
+		v13 = Integer.rotateRight(v13 ^ v1, 8);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 7);
+		v2 += v6 + m8;
+		v14 = Integer.rotateRight(v14 ^ v2, 16);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 12);
+		v2 += v6 + m12;
+		v14 = Integer.rotateRight(v14 ^ v2, 8);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 7);
+		v3 += v7 + m15;
+		v15 = Integer.rotateRight(v15 ^ v3, 16);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 12);
+		v3 += v7 + m1;
+		v15 = Integer.rotateRight(v15 ^ v3, 8);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 7);
+		v0 += v5 + m13;
+		v15 = Integer.rotateRight(v15 ^ v0, 16);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 12);
+		v0 += v5 + m3;
+		v15 = Integer.rotateRight(v15 ^ v0, 8);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 7);
+		v1 += v6 + m0;
+		v12 = Integer.rotateRight(v12 ^ v1, 16);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 12);
+		v1 += v6 + m10;
+		v12 = Integer.rotateRight(v12 ^ v1, 8);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 7);
+		v2 += v7 + m2;
+		v13 = Integer.rotateRight(v13 ^ v2, 16);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 12);
+		v2 += v7 + m6;
+		v13 = Integer.rotateRight(v13 ^ v2, 8);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 7);
+		v3 += v4 + m4;
+		v14 = Integer.rotateRight(v14 ^ v3, 16);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 12);
+		v3 += v4 + m7;
+		v14 = Integer.rotateRight(v14 ^ v3, 8);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 7);
+		// 第 7 轮
+		v0 += v4 + m11;
+		v12 = Integer.rotateRight(v12 ^ v0, 16);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 12);
+		v0 += v4 + m15;
+		v12 = Integer.rotateRight(v12 ^ v0, 8);
+		v8 += v12;
+		v4 = Integer.rotateRight(v4 ^ v8, 7);
+		v1 += v5 + m5;
+		v13 = Integer.rotateRight(v13 ^ v1, 16);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 12);
+		v1 += v5 + m0;
+		v13 = Integer.rotateRight(v13 ^ v1, 8);
+		v9 += v13;
+		v5 = Integer.rotateRight(v5 ^ v9, 7);
+		v2 += v6 + m1;
+		v14 = Integer.rotateRight(v14 ^ v2, 16);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 12);
+		v2 += v6 + m9;
+		v14 = Integer.rotateRight(v14 ^ v2, 8);
+		v10 += v14;
+		v6 = Integer.rotateRight(v6 ^ v10, 7);
+		v3 += v7 + m8;
+		v15 = Integer.rotateRight(v15 ^ v3, 16);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 12);
+		v3 += v7 + m6;
+		v15 = Integer.rotateRight(v15 ^ v3, 8);
+		v11 += v15;
+		v7 = Integer.rotateRight(v7 ^ v11, 7);
+		v0 += v5 + m14;
+		v15 = Integer.rotateRight(v15 ^ v0, 16);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 12);
+		v0 += v5 + m10;
+		v15 = Integer.rotateRight(v15 ^ v0, 8);
+		v10 += v15;
+		v5 = Integer.rotateRight(v5 ^ v10, 7);
+		v1 += v6 + m2;
+		v12 = Integer.rotateRight(v12 ^ v1, 16);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 12);
+		v1 += v6 + m12;
+		v12 = Integer.rotateRight(v12 ^ v1, 8);
+		v11 += v12;
+		v6 = Integer.rotateRight(v6 ^ v11, 7);
+		v2 += v7 + m3;
+		v13 = Integer.rotateRight(v13 ^ v2, 16);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 12);
+		v2 += v7 + m4;
+		v13 = Integer.rotateRight(v13 ^ v2, 8);
+		v8 += v13;
+		v7 = Integer.rotateRight(v7 ^ v8, 7);
+		v3 += v4 + m7;
+		v14 = Integer.rotateRight(v14 ^ v3, 16);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 12);
+		v3 += v4 + m13;
+		v14 = Integer.rotateRight(v14 ^ v3, 8);
+		v9 += v14;
+		v4 = Integer.rotateRight(v4 ^ v9, 7);
+		out[0] = v0 ^ v8;
+		out[1] = v1 ^ v9;
+		out[2] = v2 ^ v10;
+		out[3] = v3 ^ v11;
+		out[4] = v4 ^ v12;
+		out[5] = v5 ^ v13;
+		out[6] = v6 ^ v14;
+		out[7] = v7 ^ v15;
+	}
+
+	/**
+	 * 按偏移读取不超过 {@value #SEGMENT_LEN} 字节的输入，返回小端序、位置为 0 的缓冲区
+	 */
+	@FunctionalInterface
+	private interface Source {
+
+		ByteBuffer read(long offset, int length);
+	}
+
+	/**
+	 * 尚未压缩的最后一个分组，可作为链值或根节点输出
+	 */
+	private static class Output {
+
+		private final int[] chainingValue = new int[8];
+
+		private final int[] block = new int[16];
+
+		private long counter;
+
+		private int blockLen;
+
+		private int flags;
+
+		private void chainingValue(int[] out) {
+			compress(chainingValue, block, counter, blockLen, flags, out);
+		}
+
+		private byte[] rootBytes() {
+			int[] words = new int[8];
+			compress(chainingValue, block, 0, blockLen, flags | ROOT, words);
+			byte[] bytes = new byte[OUT_LEN];
+			ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(words);
+			return bytes;
+		}
+	}
+
+	/**
+	 * 计算非根子树 {@code [offset, offset + length)} 的链值，{@value #SEGMENT_LEN} 字节以内顺序计算
+	 */
+	private static class Subtree extends RecursiveTask<int[]> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Source source;
+
+		private final long offset;
+
+		private final long length;
+
+		private Subtree(Source source, long offset, long length) {
+			this.source = source;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		@Override
+		protected int[] compute() {
+			int[] out = new int[8];
+			if (length <= SEGMENT_LEN) {
+				chainingValue(source.read(offset, (int) length), 0, (int) length, offset / CHUNK_LEN, out);
+				return out;
+			}
+			long    split = leftLength(length);
+			Subtree left  = new Subtree(source, offset, split);
+			left.fork();
+			int[] right = new Subtree(source, offset + split, length - split).compute();
+			parentOutput(left.join(), right).chainingValue(out);
+			return out;
+		}
+	}
+
+	/**
+	 * 增量计算，与参考实现相同：已完成的子树链值入栈，块数的二进制末尾每多一个 0 合并一次
+	 */
+	private static class IncrementalHasher implements Hasher {
+
+		/**
+		 * 2<sup>64</sup> 字节输入的树高
+		 */
+		private static final int MAX_DEPTH = 54;
+
+		private final int[][] stack = new int[MAX_DEPTH][];
+
+		private final int[] chainingValue = IV.clone();
+
+		private final int[] words = new int[16];
+
+		private final ByteBuffer block = ByteBuffer.allocate(BLOCK_LEN).order(ByteOrder.LITTLE_ENDIAN);
+
+		private int stackSize;
+
+		private long chunkCounter;
+
+		private int blocksCompressed;
+
+		@Override
+		public void update(ByteBuffer input) {
+			while (input.hasRemaining()) {
+				if (chunkLength() == CHUNK_LEN) {
+					int[] chunk = new int[8];
+					chunkOutput().chainingValue(chunk);
+					pushChunk(chunk);
+				}
+				if (!block.hasRemaining()) {
+					compressBlock();
+				}
+				int        length = Math.min(block.remaining(), Math.min(input.remaining(), CHUNK_LEN - chunkLength()));
+				ByteBuffer part   = input.duplicate();
+				part.limit(part.position() + length);
+				block.put(part);
+				input.position(input.position() + length);
+			}
+		}
+
+		@Override
+		public byte[] digest() {
+			Output output = chunkOutput();
+			for (int i = stackSize - 1; i >= 0; --i) {
+				int[] right = new int[8];
+				output.chainingValue(right);
+				output = parentOutput(stack[i], right);
+			}
+			return output.rootBytes();
+		}
+
+		private int chunkLength() {
+			return blocksCompressed * BLOCK_LEN + block.position();
+		}
+
+		private int startFlag() {
+			return blocksCompressed == 0 ? CHUNK_START : 0;
+		}
+
+		private void compressBlock() {
+			for (int i = 0; i < 16; ++i) {
+				words[i] = block.getInt(4 * i);
+			}
+			compress(chainingValue, words, chunkCounter, BLOCK_LEN, startFlag(), chainingValue);
+			++blocksCompressed;
+			block.clear();
+		}
+
+		private Output chunkOutput() {
+			Output output = new Output();
+			System.arraycopy(chainingValue, 0, output.chainingValue, 0, 8);
+			int blockLen = block.position();
+			for (int i = blockLen; i < BLOCK_LEN; ++i) {
+				block.put(i, (byte) 0);
+			}
+			for (int i = 0; i < 16; ++i) {
+				output.block[i] = block.getInt(4 * i);
+			}
+			output.counter  = chunkCounter;
+			output.blockLen = blockLen;
+			output.flags    = startFlag() | CHUNK_END;
+			return output;
+		}
+
+		/**
+		 * 压入已完成的块的链值，并开始下一个块
+		 */
+		private void pushChunk(int[] chunk) {
+			long total = ++chunkCounter;
+			while ((total & 1) == 0) {
+				int[] merged = new int[8];
+				parentOutput(stack[--stackSize], chunk).chainingValue(merged);
+				chunk = merged;
+				total >>= 1;
+			}
+			stack[stackSize++] = chunk;
+			System.arraycopy(IV, 0, chainingValue, 0, 8);
+			blocksCompressed = 0;
+			block.clear();
+		}
+	}
+}
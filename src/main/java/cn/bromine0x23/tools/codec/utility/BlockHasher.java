@@ -0,0 +1,73 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 按固定大小的块处理输入的增量计算过程，不足一块的输入暂存，块直接从输入中读取，不经过复制。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+abstract class BlockHasher implements DigestAlgorithm.Hasher {
+
+	private final int blockSize;
+
+	/**
+	 * 小端序的暂存区，不足一块的输入
+	 */
+	private final ByteBuffer pending;
+
+	private long totalLength;
+
+	BlockHasher(int blockSize) {
+		this.blockSize = blockSize;
+		this.pending   = ByteBuffer.allocate(blockSize).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	@Override
+	public void update(ByteBuffer input) {
+		ByteBuffer data = input.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		input.position(input.limit());
+		totalLength += data.remaining();
+		if (pending.position() > 0) {
+			int length = Math.min(pending.remaining(), data.remaining());
+			ByteBuffer part = data.duplicate();
+			part.limit(part.position() + length);
+			pending.put(part);
+			data.position(data.position() + length);
+			if (pending.hasRemaining()) {
+				return;
+			}
+			processBlock(pending, 0);
+			pending.clear();
+		}
+		int position = data.position();
+		for (; data.limit() - position >= blockSize; position += blockSize) {
+			processBlock(data, position);
+		}
+		data.position(position);
+		pending.put(data);
+	}
+
+	@Override
+	public byte[] digest() {
+		pending.flip();
+		return finish(pending, totalLength);
+	}
+
+	/**
+	 * 处理一块
+	 *
+	 * @param data   小端序的数据
+	 * @param offset 块的起始位置
+	 */
+	protected abstract void processBlock(ByteBuffer data, int offset);
+
+	/**
+	 * 处理不足一块的剩余输入并输出结果
+	 *
+	 * @param remaining   小端序、位置为 0 的剩余输入
+	 * @param totalLength 输入的总长度
+	 */
+	protected abstract byte[] finish(ByteBuffer remaining, long totalLength);
+}
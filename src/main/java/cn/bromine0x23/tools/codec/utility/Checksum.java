@@ -0,0 +1,130 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+
+/**
+ * 非密码学的校验和与散列，用于去重、缓存键等只需区分内容、不需抗碰撞的场合，吞吐量远高于消息摘要。
+ *
+ * <p>结果为整数值的大端序，即通常打印的16进制形式；种子均为 0 。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public enum Checksum implements DigestAlgorithm {
+
+	/**
+	 * CRC-32 (ISO-HDLC)，JDK 以 CPU 指令加速
+	 *
+	 * @see java.util.zip.CRC32
+	 */
+	CRC_32(32) {
+		@Override
+		public Hasher newHasher() {
+			return new ZipHasher(new CRC32());
+		}
+	},
+	/**
+	 * CRC-32C (Castagnoli)，JDK 以 CPU 指令加速
+	 *
+	 * @see java.util.zip.CRC32C
+	 */
+	CRC_32C(32) {
+		@Override
+		public Hasher newHasher() {
+			return new ZipHasher(new CRC32C());
+		}
+	},
+	/**
+	 * <a href="https://en.wikipedia.org/wiki/Adler-32">Adler-32</a>
+	 *
+	 * @see java.util.zip.Adler32
+	 */
+	ADLER_32(32) {
+		@Override
+		public Hasher newHasher() {
+			return new ZipHasher(new Adler32());
+		}
+	},
+	/**
+	 * <a href="https://github.com/Cyan4973/xxHash">xxHash</a>: XXH32
+	 */
+	XXH32(32) {
+		@Override
+		public Hasher newHasher() {
+			return new XxHash.Hasher32();
+		}
+	},
+	/**
+	 * <a href="https://github.com/Cyan4973/xxHash">xxHash</a>: XXH64
+	 */
+	XXH64(64) {
+		@Override
+		public Hasher newHasher() {
+			return new XxHash.Hasher64();
+		}
+	},
+	/**
+	 * <a href="https://github.com/Cyan4973/xxHash">xxHash</a>: XXH3 (64 位)
+	 */
+	XXH3(64) {
+		@Override
+		public Hasher newHasher() {
+			return new XxHash.Hasher3();
+		}
+	},
+	/**
+	 * <a href="https://github.com/aappleby/smhasher/wiki/MurmurHash3">MurmurHash3</a>: x86_32
+	 */
+	MURMUR3_32(32) {
+		@Override
+		public Hasher newHasher() {
+			return new MurmurHash3.X86Hasher32();
+		}
+	},
+	/**
+	 * <a href="https://github.com/aappleby/smhasher/wiki/MurmurHash3">MurmurHash3</a>: x64_128 ，值为 {@code h2 << 64 | h1}
+	 */
+	MURMUR3_128(128) {
+		@Override
+		public Hasher newHasher() {
+			return new MurmurHash3.X64Hasher128();
+		}
+	},
+	;
+
+	/**
+	 * 结果位数
+	 */
+	@Getter
+	private final int bits;
+
+	Checksum(int bits) {
+		this.bits = bits;
+	}
+
+	/**
+	 * 以 {@link java.util.zip.Checksum} 实现，值为 32 位
+	 */
+	private static class ZipHasher implements Hasher {
+
+		private final java.util.zip.Checksum checksum;
+
+		private ZipHasher(java.util.zip.Checksum checksum) {
+			this.checksum = checksum;
+		}
+
+		@Override
+		public void update(ByteBuffer input) {
+			checksum.update(input);
+		}
+
+		@Override
+		public byte[] digest() {
+			return ByteBuffer.allocate(4).putInt((int) checksum.getValue()).array();
+		}
+	}
+}
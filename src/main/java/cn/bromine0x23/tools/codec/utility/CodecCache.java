@@ -0,0 +1,306 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 编解码结果缓存，只应用于确定性的编解码（见 {@link cn.bromine0x23.tools.codec.codecs.Codec#isDeterministic(String)}）。
+ *
+ * <p>按估算的内存字节数限制容量，分段的 LRU，每段一把锁。键保存完整输入，散列冲突不会返回错误结果。
+ * 相同键的并发未命中只计算一次，其余请求等待同一结果，并在各自的上下文中收到回调。失败的结果不缓存。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class CodecCache {
+
+	private static final int SEGMENTS = 16;
+
+	/**
+	 * 每个条目除字符串内容外的估算开销（键、条目、链表节点与字符串对象头）
+	 */
+	private static final int ENTRY_OVERHEAD = 160;
+
+	private final Segment[] segments = new Segment[SEGMENTS];
+
+	/**
+	 * 单个条目的最大字节数，更大的结果不缓存，避免一个条目清空整段
+	 */
+	private final long maxEntryBytes;
+
+	private final Map<Key, Flight> flights = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder coalesced = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param maxBytes 缓存占用的最大字节数（估算）
+	 */
+	public CodecCache(long maxBytes) {
+		long segmentBytes = Math.max(1, maxBytes / SEGMENTS);
+		for (int i = 0; i < SEGMENTS; ++i) {
+			segments[i] = new Segment(segmentBytes);
+		}
+		this.maxEntryBytes = segmentBytes / 4;
+	}
+
+	/**
+	 * 取得缓存的结果；未命中时调用 {@code loader} 计算，若已有相同键的计算进行中则等待其结果。
+	 *
+	 * @param codecId   编解码器ID
+	 * @param variantId 变体ID，可为 {@code null}
+	 * @param operation 操作
+	 * @param input     输入
+	 * @param loader    计算过程，完成时须调用传入的回调
+	 * @param handler   结果回调，在调用本方法时所在的上下文中执行
+	 */
+	public void get(String codecId, String variantId, String operation, String input, Handler<Handler<AsyncResult<String>>> loader, Handler<AsyncResult<String>> handler) {
+		Key     key     = new Key(codecId, variantId, operation, input);
+		Segment segment = segmentFor(key);
+		String  value   = segment.get(key);
+		if (value != null) {
+			hits.increment();
+			handler.handle(Future.succeededFuture(value));
+			return;
+		}
+		Flight flight   = new Flight();
+		Flight existing = flights.putIfAbsent(key, flight);
+		if (existing != null) {
+			coalesced.increment();
+			existing.await(handler);
+			return;
+		}
+		misses.increment();
+		flight.await(handler);
+		loader.handle(result -> {
+			if (result.succeeded() && result.result() != null) {
+				long weight = weigh(key, result.result());
+				if (weight <= maxEntryBytes) {
+					evictions.add(segment.put(key, result.result(), weight));
+				}
+			}
+			flights.remove(key, flight);
+			flight.complete(result);
+		});
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * 合并到进行中计算的请求数
+	 */
+	public long getCoalesced() {
+		return coalesced.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	/**
+	 * 当前占用的字节数（估算）
+	 */
+	public long getBytes() {
+		long bytes = 0;
+		for (Segment segment : segments) {
+			bytes += segment.getBytes();
+		}
+		return bytes;
+	}
+
+	public long getEntries() {
+		long entries = 0;
+		for (Segment segment : segments) {
+			entries += segment.getEntries();
+		}
+		return entries;
+	}
+
+	private Segment segmentFor(Key key) {
+		int hash = key.hash;
+		return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+	}
+
+	private static long weigh(Key key, String value) {
+		return ENTRY_OVERHEAD + 2L * (key.input.length() + value.length());
+	}
+
+	private static class Key {
+
+		private final String codecId;
+
+		private final String variantId;
+
+		private final String operation;
+
+		private final String input;
+
+		private final int hash;
+
+		private Key(String codecId, String variantId, String operation, String input) {
+			this.codecId   = codecId;
+			this.variantId = variantId;
+			this.operation = operation;
+			this.input     = input;
+			this.hash      = Objects.hash(codecId, variantId, operation, input);
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (this == object) {
+				return true;
+			}
+			if (!(object instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) object;
+			return hash == other.hash
+				&& codecId.equals(other.codecId)
+				&& Objects.equals(variantId, other.variantId)
+				&& operation.equals(other.operation)
+				&& input.equals(other.input);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * LRU 段，所有操作持有段的锁
+	 */
+	private static class Segment {
+
+		private final long maxBytes;
+
+		private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+		private long bytes;
+
+		private Segment(long maxBytes) {
+			this.maxBytes = maxBytes;
+		}
+
+		private synchronized String get(Key key) {
+			Entry entry = entries.get(key);
+			return entry != null ? entry.value : null;
+		}
+
+		/**
+		 * @return 淘汰的条目数
+		 */
+		private synchronized int put(Key key, String value, long weight) {
+			Entry previous = entries.put(key, new Entry(value, weight));
+			if (previous != null) {
+				bytes -= previous.weight;
+			}
+			bytes += weight;
+			int             evicted  = 0;
+			Iterator<Entry> iterator = entries.values().iterator();
+			while (bytes > maxBytes && iterator.hasNext()) {
+				bytes -= iterator.next().weight;
+				iterator.remove();
+				++evicted;
+			}
+			return evicted;
+		}
+
+		private synchronized long getBytes() {
+			return bytes;
+		}
+
+		private synchronized int getEntries() {
+			return entries.size();
+		}
+	}
+
+	private static class Entry {
+
+		private final String value;
+
+		private final long weight;
+
+		private Entry(String value, long weight) {
+			this.value  = value;
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * 进行中的计算与等待其结果的回调
+	 */
+	private static class Flight {
+
+		private final List<Waiter> waiters = new ArrayList<>(1);
+
+		private AsyncResult<String> result;
+
+		private void await(Handler<AsyncResult<String>> handler) {
+			Waiter              waiter = new Waiter(Vertx.currentContext(), handler);
+			AsyncResult<String> completed;
+			synchronized (this) {
+				if (result == null) {
+					waiters.add(waiter);
+					return;
+				}
+				completed = result;
+			}
+			waiter.dispatch(completed);
+		}
+
+		private void complete(AsyncResult<String> result) {
+			List<Waiter> completed;
+			synchronized (this) {
+				this.result = result;
+				completed   = new ArrayList<>(waiters);
+				waiters.clear();
+			}
+			for (Waiter waiter : completed) {
+				waiter.dispatch(result);
+			}
+		}
+	}
+
+	private static class Waiter {
+
+		private final Context context;
+
+		private final Handler<AsyncResult<String>> handler;
+
+		private Waiter(Context context, Handler<AsyncResult<String>> handler) {
+			this.context = context;
+			this.handler = handler;
+		}
+
+		private void dispatch(AsyncResult<String> result) {
+			if (context == null || context == Vertx.currentContext()) {
+				handler.handle(result);
+			} else {
+				context.runOnContext(ignored -> handler.handle(result));
+			}
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import lombok.Getter;
+
+import java.text.MessageFormat;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按开销等级分派编解码任务。
+ *
+ * <p>{@link CostClass#EXPENSIVE} 的任务提交到专用的、大小固定的工作线程池（与 Vert.x 默认工作线程池隔离），
+ * 排队中与执行中的任务数超过上限时立即以 {@link SaturatedException} 失败；其余任务直接在调用线程上执行。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class CodecExecutor {
+
+	private static final String WORKER_POOL_NAME = "codec-expensive-worker";
+
+	private static final long MAX_EXECUTE_TIME_SECONDS = 30;
+
+	private final WorkerExecutor workerExecutor;
+
+	@Getter
+	private final int poolSize;
+
+	@Getter
+	private final int maxPending;
+
+	private final AtomicInteger pending = new AtomicInteger();
+
+	/**
+	 * @param vertx      Vert.x 实例
+	 * @param poolSize   工作线程数
+	 * @param maxPending 排队中与执行中的任务数上限
+	 */
+	public CodecExecutor(Vertx vertx, int poolSize, int maxPending) {
+		this.workerExecutor = vertx.createSharedWorkerExecutor(WORKER_POOL_NAME, poolSize, MAX_EXECUTE_TIME_SECONDS, TimeUnit.SECONDS);
+		this.poolSize       = poolSize;
+		this.maxPending     = maxPending;
+	}
+
+	/**
+	 * 当前排队中与执行中的任务数
+	 */
+	public int getPending() {
+		return pending.get();
+	}
+
+	public <T> void execute(CostClass costClass, Callable<T> task, Handler<AsyncResult<T>> handler) {
+		if (costClass != CostClass.EXPENSIVE) {
+			handler.handle(call(task));
+			return;
+		}
+		if (pending.incrementAndGet() > maxPending) {
+			pending.decrementAndGet();
+			handler.handle(Future.failedFuture(new SaturatedException(maxPending)));
+			return;
+		}
+		workerExecutor.<T>executeBlocking(promise -> {
+			try {
+				promise.handle(call(task));
+			} finally {
+				pending.decrementAndGet();
+			}
+		}, false, handler);
+	}
+
+	public void close() {
+		workerExecutor.close();
+	}
+
+	private static <T> AsyncResult<T> call(Callable<T> task) {
+		try {
+			return Future.succeededFuture(task.call());
+		} catch (Exception exception) {
+			return Future.failedFuture(exception);
+		}
+	}
+
+	/**
+	 * 工作线程池已饱和
+	 */
+	public static class SaturatedException extends RejectedExecutionException {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * 建议客户端重试前等待的秒数
+		 */
+		public static final int RETRY_AFTER_SECONDS = 1;
+
+		SaturatedException(int maxPending) {
+			super(MessageFormat.format("Codec worker pool is saturated ({0} tasks pending).", maxPending));
+		}
+	}
+}
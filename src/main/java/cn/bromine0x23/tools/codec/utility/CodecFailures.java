@@ -0,0 +1,54 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+
+/**
+ * 编解码失败到状态码的映射，HTTP 、事件总线与 TCP 接口共用，同一失败在各接口中以相同的状态码响应：
+ *
+ * <ul>
+ *     <li>准入被拒绝（{@link AdmissionController.RejectedException}）按拒绝原因为 429 或 503 ；</li>
+ *     <li>工作线程池已饱和（{@link CodecExecutor.SaturatedException}）为 503 ；</li>
+ *     <li>输入格式错误（{@link IOException}）或参数无效（{@link IllegalArgumentException}）为 400 ；</li>
+ *     <li>其余为 500 。</li>
+ * </ul>
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@UtilityClass
+public class CodecFailures {
+
+	public static int statusCode(Throwable exception) {
+		if (exception instanceof AdmissionController.RejectedException) {
+			return ((AdmissionController.RejectedException) exception).getReason().getStatusCode();
+		} else if (exception instanceof CodecExecutor.SaturatedException) {
+			return HttpResponseStatus.SERVICE_UNAVAILABLE.code();
+		} else if (exception instanceof IOException || exception instanceof IllegalArgumentException) {
+			return HttpResponseStatus.BAD_REQUEST.code();
+		} else {
+			return HttpResponseStatus.INTERNAL_SERVER_ERROR.code();
+		}
+	}
+
+	/**
+	 * 建议客户端重试前等待的秒数，不属于过载的失败为 0
+	 */
+	public static long retryAfterSeconds(Throwable exception) {
+		if (exception instanceof AdmissionController.RejectedException) {
+			return ((AdmissionController.RejectedException) exception).getRetryAfterSeconds();
+		} else if (exception instanceof CodecExecutor.SaturatedException) {
+			return CodecExecutor.SaturatedException.RETRY_AFTER_SECONDS;
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * 响应中的错误消息，异常没有消息时为其类名
+	 */
+	public static String message(Throwable exception) {
+		return exception.getMessage() != null ? exception.getMessage() : exception.getClass().getSimpleName();
+	}
+}
@@ -0,0 +1,211 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import lombok.Value;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 编解码指标：按编解码器、变体与操作统计的延迟直方图、请求数、错误数与字节数，以及事件循环延迟与自定义的仪表值。
+ *
+ * <p>记录路径只涉及 {@link ConcurrentHashMap} 查找与无锁计数，可在任意线程调用。
+ * {@link #scrape()} 输出 Prometheus 文本格式。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class CodecMetrics {
+
+	private static final String DEFAULT_VARIANT = "default";
+
+	/**
+	 * 标签组合数上限，变体ID等来自请求，超出后的记录归入同一个溢出序列，避免指标无限增长
+	 */
+	private static final int MAX_SERIES = 4096;
+
+	private static final Key OVERFLOW_KEY = new Key("other", "other", "other");
+
+	private static final long EVENT_LOOP_PROBE_INTERVAL_MILLIS = 100;
+
+	/**
+	 * 导出的直方图桶上界为 2<sup>0</sup> 到 2<sup>{@value}</sup> 微秒（约 67 秒）
+	 */
+	private static final int MAX_EXPORTED_BUCKET_EXPONENT = 26;
+
+	private static final double MICROS_PER_SECOND = 1_000_000.0;
+
+	private final Map<Key, Series> series = new ConcurrentHashMap<>();
+
+	private final Histogram eventLoopLag = new Histogram();
+
+	/**
+	 * 按序列名（指标名与标签）排序，同名的序列相邻，只输出一次说明
+	 */
+	private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+
+	/**
+	 * 记录一次编解码
+	 *
+	 * @param codecId     编解码器ID
+	 * @param variantId   变体ID，为 {@code null} 时表示默认变体
+	 * @param operation   操作
+	 * @param startNanos  开始时间（{@link System#nanoTime()}）
+	 * @param inputBytes  输入字节数
+	 * @param outputBytes 输出字节数（字符串输出按字符数计）
+	 * @param error       是否失败
+	 */
+	public void record(String codecId, String variantId, String operation, long startNanos, long inputBytes, long outputBytes, boolean error) {
+		Key    key    = new Key(codecId, variantId != null ? variantId : DEFAULT_VARIANT, operation);
+		Series target = series.get(key);
+		if (target == null) {
+			target = series.computeIfAbsent(series.size() < MAX_SERIES ? key : OVERFLOW_KEY, ignored -> new Series());
+		}
+		target.latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+		target.requests.increment();
+		target.inputBytes.add(inputBytes);
+		target.outputBytes.add(outputBytes);
+		if (error) {
+			target.errors.increment();
+		}
+	}
+
+	/**
+	 * 注册仪表值，同名的仪表会被替换
+	 */
+	public void registerGauge(String name, String help, LongSupplier supplier) {
+		registerGauge(name, "", help, supplier);
+	}
+
+	/**
+	 * 注册带标签的仪表值，{@code labels} 形如 {@code class="cheap"} ，同名同标签的仪表会被替换
+	 */
+	public void registerGauge(String name, String labels, String help, LongSupplier supplier) {
+		gauges.put(seriesName(name, labels), new Gauge(name, "gauge", help, supplier));
+	}
+
+	/**
+	 * 注册由外部维护的单调计数，同名的计数会被替换
+	 */
+	public void registerCounter(String name, String help, LongSupplier supplier) {
+		registerCounter(name, "", help, supplier);
+	}
+
+	/**
+	 * 注册带标签的单调计数，{@code labels} 形如 {@code class="cheap"} ，同名同标签的计数会被替换
+	 */
+	public void registerCounter(String name, String labels, String help, LongSupplier supplier) {
+		gauges.put(seriesName(name, labels), new Gauge(name, "counter", help, supplier));
+	}
+
+	/**
+	 * 在当前上下文的事件循环上周期性地测量定时器的实际触发延迟，反映事件循环被阻塞的程度。
+	 *
+	 * <p>需在 Verticle 的上下文中调用，Verticle 卸载时定时器随之取消。
+	 */
+	public void monitorEventLoop(Vertx vertx) {
+		long expected = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(EVENT_LOOP_PROBE_INTERVAL_MILLIS);
+		vertx.setTimer(EVENT_LOOP_PROBE_INTERVAL_MILLIS, id -> {
+			eventLoopLag.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - expected));
+			monitorEventLoop(vertx);
+		});
+	}
+
+	/**
+	 * 以 Prometheus 文本格式导出所有指标
+	 */
+	public Buffer scrape() {
+		StringBuilder builder = new StringBuilder(4096);
+
+		header(builder, "codec_request_duration_seconds", "histogram", "Codec operation latency.");
+		series.forEach((key, value) -> histogram(builder, "codec_request_duration_seconds", labels(key), value.latency.snapshot()));
+		counter(builder, "codec_requests_total", "Codec operations.", series -> series.requests);
+		counter(builder, "codec_errors_total", "Failed codec operations.", series -> series.errors);
+		counter(builder, "codec_input_bytes_total", "Codec input bytes.", series -> series.inputBytes);
+		counter(builder, "codec_output_bytes_total", "Codec output bytes.", series -> series.outputBytes);
+
+		header(builder, "event_loop_lag_seconds", "histogram", "Delay of event loop timers beyond their schedule.");
+		histogram(builder, "event_loop_lag_seconds", "", eventLoopLag.snapshot());
+
+		String previous = null;
+		for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+			Gauge gauge = entry.getValue();
+			if (!gauge.name.equals(previous)) {
+				header(builder, gauge.name, gauge.type, gauge.help);
+				previous = gauge.name;
+			}
+			builder.append(entry.getKey()).append(' ').append(gauge.supplier.getAsLong()).append('\n');
+		}
+		return Buffer.buffer(builder.toString());
+	}
+
+	private void counter(StringBuilder builder, String name, String help, Function<Series, LongAdder> field) {
+		header(builder, name, "counter", help);
+		series.forEach((key, value) -> builder.append(name).append('{').append(labels(key)).append("} ").append(field.apply(value).sum()).append('\n'));
+	}
+
+	private static void header(StringBuilder builder, String name, String type, String help) {
+		builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+	}
+
+	private static void histogram(StringBuilder builder, String name, String labels, Histogram.Snapshot snapshot) {
+		String prefix = labels.isEmpty() ? "" : labels + ",";
+		for (int exponent = 0; exponent <= MAX_EXPORTED_BUCKET_EXPONENT; ++exponent) {
+			long bound = 1L << exponent;
+			builder.append(name).append("_bucket{").append(prefix).append("le=\"").append(bound / MICROS_PER_SECOND).append("\"} ")
+				.append(snapshot.countBelow(bound)).append('\n');
+		}
+		builder.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ").append(snapshot.getCount()).append('\n');
+		builder.append(name).append("_sum");
+		if (!labels.isEmpty()) {
+			builder.append('{').append(labels).append('}');
+		}
+		builder.append(' ').append(snapshot.getSum() / MICROS_PER_SECOND).append('\n');
+		builder.append(name).append("_count");
+		if (!labels.isEmpty()) {
+			builder.append('{').append(labels).append('}');
+		}
+		builder.append(' ').append(snapshot.getCount()).append('\n');
+	}
+
+	private static String seriesName(String name, String labels) {
+		return labels.isEmpty() ? name : name + '{' + labels + '}';
+	}
+
+	private static String labels(Key key) {
+		return "codec=\"" + escape(key.codecId) + "\",variant=\"" + escape(key.variantId) + "\",operation=\"" + escape(key.operation) + "\"";
+	}
+
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	@Value
+	private static class Key {
+		String codecId;
+		String variantId;
+		String operation;
+	}
+
+	private static class Series {
+		private final Histogram latency     = new Histogram();
+		private final LongAdder requests    = new LongAdder();
+		private final LongAdder errors      = new LongAdder();
+		private final LongAdder inputBytes  = new LongAdder();
+		private final LongAdder outputBytes = new LongAdder();
+	}
+
+	@Value
+	private static class Gauge {
+		String       name;
+		String       type;
+		String       help;
+		LongSupplier supplier;
+	}
+}
@@ -1,44 +1,68 @@
 package cn.bromine0x23.tools.codec.utility;
 
-import cn.bromine0x23.tools.codec.codecs.*;
+import cn.bromine0x23.tools.codec.codecs.Codec;
 import lombok.experimental.UtilityClass;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.ServiceLoader;
 
 /**
+ * 编解码器注册表，类初始化时以 {@link ServiceLoader} 发现 {@code META-INF/services/cn.bromine0x23.tools.codec.codecs.Codec}
+ * 中登记的编解码器，之后只读，可被各事件循环并发访问。
+ *
+ * <p>类路径上的附加包可以此登记新的编解码器，按发现的顺序排列；标识重复时初始化失败。
+ * 各编解码器的初始化耗时（含类初始化）见 {@link #getLoadNanos()} 。
+ *
  * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
  */
 @UtilityClass
 public class Codecs {
 
-	private static final Map<String, Codec> IMPLEMENTS = new LinkedHashMap<>();
+	private static final Map<String, Codec> IMPLEMENTS;
+
+	private static final Map<String, Long> LOAD_NANOS;
+
+	private static final Collection<Codec> CODECS;
 
 	static {
-		put(new Base64Codec());
-		put(new URLCodec());
-		put(new MIMECodec());
-		put(new HexCodec());
-		put(new DigestCodec());
-		put(new StringSecurityCryptoCodec());
-		put(new Base32Codec());
+		var codecs    = new LinkedHashMap<String, Codec>();
+		var loadNanos = new LinkedHashMap<String, Long>();
+		var providers = ServiceLoader.load(Codec.class, Codecs.class.getClassLoader()).stream().iterator();
+		while (providers.hasNext()) {
+			var start    = System.nanoTime();
+			var codec    = providers.next().get();
+			var previous = codecs.putIfAbsent(codec.getId(), codec);
+			if (previous != null) {
+				throw new IllegalStateException(
+					"Codec id `" + codec.getId() + "` is used by both " + previous.getClass().getName() + " and " + codec.getClass().getName() + "."
+				);
+			}
+			loadNanos.put(codec.getId(), System.nanoTime() - start);
+		}
+		IMPLEMENTS = Collections.unmodifiableMap(codecs);
+		LOAD_NANOS = Collections.unmodifiableMap(loadNanos);
+		CODECS     = Collections.unmodifiableCollection(codecs.values());
 	}
 
 	public static Map<String, Codec> getCodecsAsMap() {
-		return Collections.unmodifiableMap(IMPLEMENTS);
+		return IMPLEMENTS;
 	}
 
 	public static Collection<Codec> getCodecs() {
-		return Collections.unmodifiableCollection(IMPLEMENTS.values());
+		return CODECS;
 	}
 
 	public static Codec get(String id) {
 		return IMPLEMENTS.get(id);
 	}
 
-	private static void put(Codec codec) {
-		IMPLEMENTS.put(codec.getId(), codec);
+	/**
+	 * @return 各编解码器的初始化耗时（纳秒），按发现顺序
+	 */
+	public static Map<String, Long> getLoadNanos() {
+		return LOAD_NANOS;
 	}
 }
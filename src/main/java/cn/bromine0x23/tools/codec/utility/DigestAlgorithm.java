@@ -0,0 +1,109 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 消息摘要算法的统一接口，包括 {@link MessageDigest} 的各常量、{@link TreeHash} 与 {@link Blake3} 。
+ *
+ * <p>树形摘要与 BLAKE3 对完整的输入（内存或文件）在 {@link java.util.concurrent.ForkJoinPool} 上并行计算，
+ * 在 {@link java.util.concurrent.ForkJoinPool} 的工作线程中调用时使用其所在的线程池，否则使用公共线程池。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public interface DigestAlgorithm {
+
+	/**
+	 * 读取文件时每次读取的字节数
+	 */
+	int READ_BUFFER_SIZE = 1 << 20;
+
+	/**
+	 * 创建一个处于初始状态的增量计算过程
+	 */
+	Hasher newHasher();
+
+	/**
+	 * 计算 {@code input} 剩余部分的摘要，执行后位置移至末尾
+	 */
+	default byte[] digest(@NonNull ByteBuffer input) {
+		Hasher hasher = newHasher();
+		hasher.update(input);
+		return hasher.digest();
+	}
+
+	/**
+	 * 计算文件全部内容的摘要，不改变通道的位置
+	 *
+	 * @throws IOException 读取失败
+	 */
+	default byte[] digest(@NonNull FileChannel channel) throws IOException {
+		Hasher     hasher = newHasher();
+		ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+		for (long position = 0; ; ) {
+			int read = channel.read(buffer, position);
+			if (read < 0) {
+				break;
+			}
+			position += read;
+			buffer.flip();
+			hasher.update(buffer);
+			buffer.clear();
+		}
+		return hasher.digest();
+	}
+
+	/**
+	 * 以 {@link MessageDigest} 常量实现本接口，顺序计算
+	 */
+	static DigestAlgorithm of(@NonNull MessageDigest messageDigest) {
+		return new DigestAlgorithm() {
+
+			@Override
+			public Hasher newHasher() {
+				java.security.MessageDigest jceMessageDigest = messageDigest.createJceMessageDigest();
+				return new Hasher() {
+
+					@Override
+					public void update(ByteBuffer input) {
+						jceMessageDigest.update(input);
+					}
+
+					@Override
+					public byte[] digest() {
+						return jceMessageDigest.digest();
+					}
+				};
+			}
+
+			@Override
+			public byte[] digest(@NonNull ByteBuffer input) {
+				return messageDigest.digest(input);
+			}
+
+			@Override
+			public String toString() {
+				return messageDigest.name();
+			}
+		};
+	}
+
+	/**
+	 * 增量计算过程，非线程安全
+	 */
+	interface Hasher {
+
+		/**
+		 * 追加 {@code input} 的剩余部分，执行后位置移至末尾
+		 */
+		void update(ByteBuffer input);
+
+		/**
+		 * 结束计算并返回摘要，之后不可再使用
+		 */
+		byte[] digest();
+	}
+}
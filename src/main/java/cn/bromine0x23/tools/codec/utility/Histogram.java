@@ -0,0 +1,152 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 对数-线性分桶的直方图（与 HdrHistogram 同样的分桶方式），用于记录延迟等非负整数。
+ *
+ * <p>小于 {@value #SUB_BUCKETS} 的值各占一个桶；更大的值按 2 的幂分段，每段再线性分为 {@value #SUB_BUCKETS} 个桶，
+ * 相对误差不超过 1/{@value #SUB_BUCKETS}。超过 2<sup>{@value #MAX_MAGNITUDE}</sup> 的值计入最后一个桶。
+ *
+ * <p>记录只做无锁的原子自增，并按线程分散到多个条带以减少争用；快照时合并各条带。
+ * 桶边界固定，因此不同实例的快照可以直接相加合并。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class Histogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private static final int MAX_MAGNITUDE = 40;
+
+	private static final int BUCKETS = SUB_BUCKETS + (MAX_MAGNITUDE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private static final int STRIPES = Math.min(16, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1));
+
+	private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+
+	private final LongAdder sum = new LongAdder();
+
+	public Histogram() {
+		for (int i = 0; i < STRIPES; ++i) {
+			stripes[i] = new AtomicLongArray(BUCKETS);
+		}
+	}
+
+	/**
+	 * 记录一个值，负值按 0 计
+	 */
+	public void record(long value) {
+		long normalized = Math.max(0, value);
+		stripes[(int) Thread.currentThread().getId() & (STRIPES - 1)].getAndIncrement(bucketIndex(normalized));
+		sum.add(normalized);
+	}
+
+	public Snapshot snapshot() {
+		long[] counts = new long[BUCKETS];
+		for (AtomicLongArray stripe : stripes) {
+			for (int i = 0; i < BUCKETS; ++i) {
+				counts[i] += stripe.get(i);
+			}
+		}
+		return new Snapshot(counts, sum.sum());
+	}
+
+	static int bucketIndex(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		if (magnitude >= MAX_MAGNITUDE) {
+			return BUCKETS - 1;
+		}
+		int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+		return SUB_BUCKETS + (magnitude - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * 桶的上界（不含）
+	 */
+	static long bucketUpperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index + 1L;
+		}
+		int magnitude = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+		int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + subBucket + 1) << (magnitude - SUB_BUCKET_BITS);
+	}
+
+	/**
+	 * 直方图快照
+	 */
+	public static class Snapshot {
+
+		private final long[] counts;
+
+		private long count;
+
+		private long sum;
+
+		private Snapshot(long[] counts, long sum) {
+			this.counts = counts;
+			this.sum    = sum;
+			for (long bucket : counts) {
+				this.count += bucket;
+			}
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public long getSum() {
+			return sum;
+		}
+
+		/**
+		 * 合并另一个快照
+		 */
+		public Snapshot merge(Snapshot other) {
+			for (int i = 0; i < BUCKETS; ++i) {
+				counts[i] += other.counts[i];
+			}
+			count += other.count;
+			sum += other.sum;
+			return this;
+		}
+
+		/**
+		 * 小于 {@code bound} 的值的个数，{@code bound} 为 2 的幂时精确
+		 */
+		public long countBelow(long bound) {
+			long result = 0;
+			for (int i = 0; i < BUCKETS && bucketUpperBound(i) <= bound; ++i) {
+				result += counts[i];
+			}
+			return result;
+		}
+
+		/**
+		 * 估计分位数，返回所在桶的上界
+		 *
+		 * @param percentile 百分位，取值 [0, 100]
+		 */
+		public long valueAtPercentile(double percentile) {
+			if (count == 0) {
+				return 0;
+			}
+			long rank       = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+			long cumulative = 0;
+			for (int i = 0; i < BUCKETS; ++i) {
+				cumulative += counts[i];
+				if (cumulative >= rank) {
+					return bucketUpperBound(i);
+				}
+			}
+			return bucketUpperBound(BUCKETS - 1);
+		}
+	}
+}
@@ -1,21 +1,26 @@
 package cn.bromine0x23.tools.codec.utility;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NonNull;
 import org.apache.commons.codec.binary.Hex;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
+import java.security.Security;
 import java.text.MessageFormat;
 
 /**
  * 消息摘要算法工具类
  *
+ * <p>每个算法在首次使用时查找一次 JCA 实现并缓存为原型，之后每个线程复用一个由原型克隆出的实例，
+ * 原型不支持克隆时改为经缓存的 {@link java.security.Provider} 创建，不再按名称查找。
+ * BouncyCastle 在首次查找 {@code BC_*} 算法时才注册。
+ *
  * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
  */
-@AllArgsConstructor
 public enum MessageDigest {
 
 	/**
@@ -241,10 +246,20 @@ public enum MessageDigest {
 	@Getter
 	private final String provider;
 
+	private final ThreadLocal<java.security.MessageDigest> localJceMessageDigest = ThreadLocal.withInitial(this::createJceMessageDigest);
+
+	private volatile java.security.MessageDigest prototype;
+
+	private boolean prototypeCloneable;
+
 	MessageDigest(String algorithm, int bits) {
+		this(algorithm, bits, null);
+	}
+
+	MessageDigest(String algorithm, int bits, String provider) {
 		this.algorithm = algorithm;
 		this.bits      = bits;
-		this.provider  = null;
+		this.provider  = provider;
 	}
 
 	/**
@@ -255,7 +270,35 @@ public enum MessageDigest {
 	 * @throws IllegalStateException 环境不支持对应的消息摘要算法
 	 */
 	public byte[] digest(byte[] message) {
-		return getJceMessageDigest().digest(message);
+		return localJceMessageDigest.get().digest(message);
+	}
+
+	/**
+	 * 对 <em>字节数组</em> 的一段执行消息摘要算法，返回 <em>字节数组</em> 。
+	 *
+	 * @param message 消息
+	 * @param offset  起始位置
+	 * @param length  长度
+	 * @return 摘要结果
+	 * @throws IllegalStateException 环境不支持对应的消息摘要算法
+	 */
+	public byte[] digest(byte[] message, int offset, int length) {
+		java.security.MessageDigest messageDigest = localJceMessageDigest.get();
+		messageDigest.update(message, offset, length);
+		return messageDigest.digest();
+	}
+
+	/**
+	 * 对 <em>缓冲区</em> 的剩余部分执行消息摘要算法，返回 <em>字节数组</em> 。
+	 *
+	 * @param message 消息，执行后位置移至末尾
+	 * @return 摘要结果
+	 * @throws IllegalStateException 环境不支持对应的消息摘要算法
+	 */
+	public byte[] digest(@NonNull ByteBuffer message) {
+		java.security.MessageDigest messageDigest = localJceMessageDigest.get();
+		messageDigest.update(message);
+		return messageDigest.digest();
 	}
 
 	/**
@@ -291,9 +334,63 @@ public enum MessageDigest {
 		return Hex.encodeHexString(digest(message));
 	}
 
-	private java.security.MessageDigest getJceMessageDigest() {
+	/**
+	 * 创建一个新的、处于初始状态的 JCA 实例，供需要自行管理状态（如分块更新）的调用方使用。
+	 *
+	 * @return JCA 消息摘要实例
+	 * @throws IllegalStateException 环境不支持对应的消息摘要算法
+	 */
+	public java.security.MessageDigest createJceMessageDigest() {
+		java.security.MessageDigest messageDigest = getPrototype();
+		if (prototypeCloneable) {
+			try {
+				return (java.security.MessageDigest) messageDigest.clone();
+			} catch (CloneNotSupportedException exception) {
+				// 与首次探测结果不一致时按不可克隆处理
+			}
+		}
+		try {
+			return java.security.MessageDigest.getInstance(algorithm, messageDigest.getProvider());
+		} catch (NoSuchAlgorithmException exception) {
+			String message = MessageFormat.format("Could not find MessageDigest with algorithm `{0}`.", algorithm);
+			throw new IllegalStateException(message, exception);
+		}
+	}
+
+	private java.security.MessageDigest getPrototype() {
+		java.security.MessageDigest messageDigest = prototype;
+		if (messageDigest == null) {
+			synchronized (this) {
+				messageDigest = prototype;
+				if (messageDigest == null) {
+					messageDigest      = lookupJceMessageDigest();
+					prototypeCloneable = isCloneable(messageDigest);
+					prototype          = messageDigest;
+				}
+			}
+		}
+		return messageDigest;
+	}
+
+	private static boolean isCloneable(java.security.MessageDigest messageDigest) {
+		try {
+			messageDigest.clone();
+			return true;
+		} catch (CloneNotSupportedException exception) {
+			return false;
+		}
+	}
+
+	private static void registerProvider(String provider) {
+		if (BouncyCastleProvider.PROVIDER_NAME.equals(provider)) {
+			BouncyCastle.register();
+		}
+	}
+
+	private java.security.MessageDigest lookupJceMessageDigest() {
 		try {
 			if (provider != null) {
+				registerProvider(provider);
 				return java.security.MessageDigest.getInstance(algorithm, provider);
 			} else {
 				return java.security.MessageDigest.getInstance(algorithm);
@@ -306,4 +403,23 @@ public enum MessageDigest {
 			throw new IllegalStateException(message, exception);
 		}
 	}
+
+	/**
+	 * 单独的类使 BouncyCastle 只在注册时加载，加载与校验其签名包的耗时不计入本类的初始化
+	 */
+	private static final class BouncyCastle {
+
+		static {
+			if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+				Security.addProvider(new BouncyCastleProvider());
+			}
+		}
+
+		private BouncyCastle() {
+		}
+
+		private static void register() {
+			// 由类初始化完成
+		}
+	}
 }
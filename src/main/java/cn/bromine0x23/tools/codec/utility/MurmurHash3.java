@@ -0,0 +1,133 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <a href="https://github.com/aappleby/smhasher/wiki/MurmurHash3">MurmurHash3</a> 的增量计算，种子为 0 。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+final class MurmurHash3 {
+
+	private MurmurHash3() {
+	}
+
+	/**
+	 * MurmurHash3_x86_32 ，结果为32位值的大端序
+	 */
+	static class X86Hasher32 extends BlockHasher {
+
+		private static final int C1 = 0xCC9E2D51;
+
+		private static final int C2 = 0x1B873593;
+
+		private int hash;
+
+		X86Hasher32() {
+			super(4);
+		}
+
+		@Override
+		protected void processBlock(ByteBuffer data, int offset) {
+			hash ^= mixK(data.getInt(offset));
+			hash = Integer.rotateLeft(hash, 13) * 5 + 0xE6546B64;
+		}
+
+		@Override
+		protected byte[] finish(ByteBuffer remaining, long totalLength) {
+			int h = hash;
+			int k = 0;
+			for (int i = remaining.limit() - 1; i >= 0; --i) {
+				k = k << 8 | remaining.get(i) & 0xFF;
+			}
+			if (remaining.limit() > 0) {
+				h ^= mixK(k);
+			}
+			h ^= (int) totalLength;
+			h ^= h >>> 16;
+			h *= 0x85EBCA6B;
+			h ^= h >>> 13;
+			h *= 0xC2B2AE35;
+			h ^= h >>> 16;
+			return ByteBuffer.allocate(4).putInt(h).array();
+		}
+
+		private static int mixK(int k) {
+			return Integer.rotateLeft(k * C1, 15) * C2;
+		}
+	}
+
+	/**
+	 * MurmurHash3_x64_128 ，结果为 {@code h2 << 64 | h1} 的大端序，与 Python 的 {@code mmh3.hash128} 的值相同
+	 */
+	static class X64Hasher128 extends BlockHasher {
+
+		private static final long C1 = 0x87C37B91114253D5L;
+
+		private static final long C2 = 0x4CF5AD432745937FL;
+
+		private long h1;
+
+		private long h2;
+
+		X64Hasher128() {
+			super(16);
+		}
+
+		@Override
+		protected void processBlock(ByteBuffer data, int offset) {
+			h1 ^= mixK1(data.getLong(offset));
+			h1 = (Long.rotateLeft(h1, 27) + h2) * 5 + 0x52DCE729;
+			h2 ^= mixK2(data.getLong(offset + 8));
+			h2 = (Long.rotateLeft(h2, 31) + h1) * 5 + 0x38495AB5;
+		}
+
+		@Override
+		protected byte[] finish(ByteBuffer remaining, long totalLength) {
+			long k1 = 0;
+			long k2 = 0;
+			for (int i = remaining.limit() - 1; i >= 0; --i) {
+				long b = remaining.get(i) & 0xFFL;
+				if (i >= 8) {
+					k2 = k2 << 8 | b;
+				} else {
+					k1 = k1 << 8 | b;
+				}
+			}
+			long a = h1;
+			long b = h2;
+			if (remaining.limit() > 8) {
+				b ^= mixK2(k2);
+			}
+			if (remaining.limit() > 0) {
+				a ^= mixK1(k1);
+			}
+			a ^= totalLength;
+			b ^= totalLength;
+			a += b;
+			b += a;
+			a = fmix64(a);
+			b = fmix64(b);
+			a += b;
+			b += a;
+			return ByteBuffer.allocate(16).putLong(b).putLong(a).array();
+		}
+
+		private static long mixK1(long k) {
+			return Long.rotateLeft(k * C1, 31) * C2;
+		}
+
+		private static long mixK2(long k) {
+			return Long.rotateLeft(k * C2, 33) * C1;
+		}
+
+		private static long fmix64(long k) {
+			k ^= k >>> 33;
+			k *= 0xFF51AFD7ED558CCDL;
+			k ^= k >>> 33;
+			k *= 0xC4CEB9FE1A85EC53L;
+			k ^= k >>> 33;
+			return k;
+		}
+	}
+}
@@ -0,0 +1,444 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * 在本机上标定密码散列的开销参数：逐步增大参数并测量单次散列耗时，选出不超过目标耗时的最大参数，并给出每核每秒散列数。
+ *
+ * <p>测量为阻塞操作，耗时可达数秒，须在工作线程中调用；同一时刻只允许一次标定，避免相互干扰测量。
+ * 测量结果反映当时的负载，应在空闲时标定。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class PasswordEncoderCalibrator {
+
+	public static final String ALGORITHM_BCRYPT = "bcrypt";
+	public static final String ALGORITHM_SCRYPT = "scrypt";
+	public static final String ALGORITHM_ARGON2 = "argon2";
+	public static final String ALGORITHM_PBKDF2 = "pbkdf2";
+
+	public static final long MIN_TARGET_MILLIS = 1;
+	public static final long MAX_TARGET_MILLIS = 2000;
+
+	private static final String PASSWORD = "calibration-password";
+
+	private static final int MIN_SAMPLES = 3;
+
+	private static final int MAX_SAMPLES = 1000;
+
+	private static final long MIN_MEASURE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	/**
+	 * 线性参数（迭代次数）按耗时外推后逐步逼近的最多轮数
+	 */
+	private static final int MAX_REFINEMENTS = 4;
+
+	private static final int BCRYPT_MIN_STRENGTH = 4;
+	private static final int BCRYPT_MAX_STRENGTH = 31;
+
+	private static final int SCRYPT_MIN_LOG2_N  = 10;
+	private static final int SCRYPT_KEY_LENGTH  = 32;
+	private static final int SCRYPT_SALT_LENGTH = 64;
+	private static final int SCRYPT_DEFAULT_R   = 8;
+	private static final int SCRYPT_DEFAULT_P   = 1;
+	private static final int SCRYPT_MAX_R       = 1 << 10;
+	private static final int SCRYPT_MAX_P       = 16;
+
+	private static final int ARGON2_SALT_LENGTH        = 16;
+	private static final int ARGON2_HASH_LENGTH        = 32;
+	private static final int ARGON2_DEFAULT_MEMORY_KIB = 1 << 16;
+	private static final int ARGON2_MAX_ITERATIONS     = 1 << 10;
+	private static final int ARGON2_MAX_PARALLELISM    = 64;
+
+	private static final int PBKDF2_INITIAL_ITERATIONS = 10_000;
+	private static final int PBKDF2_HASH_WIDTH         = 256;
+
+	/**
+	 * 单次散列可占用的最大内存为堆上限的 1/{@value}，SCrypt 的 N 与 Argon2 的内存不超过此值
+	 */
+	private static final int MEMORY_FRACTION = 8;
+
+	private final int workerPoolSize;
+
+	private final long maxMemoryBytes;
+
+	private final AtomicBoolean running = new AtomicBoolean();
+
+	private final Map<String, Calibration> calibrations = new ConcurrentHashMap<>();
+
+	/**
+	 * @param workerPoolSize 执行密码散列的工作线程数，用于估算工作线程池的总吞吐
+	 */
+	public PasswordEncoderCalibrator(int workerPoolSize) {
+		this(workerPoolSize, Runtime.getRuntime().maxMemory() / MEMORY_FRACTION);
+	}
+
+	/**
+	 * @param maxMemoryBytes 单次散列可占用的最大内存
+	 */
+	PasswordEncoderCalibrator(int workerPoolSize, long maxMemoryBytes) {
+		this.workerPoolSize = workerPoolSize;
+		this.maxMemoryBytes = maxMemoryBytes;
+	}
+
+	public static boolean isSupported(String algorithm) {
+		return Arrays.asList(ALGORITHM_BCRYPT, ALGORITHM_SCRYPT, ALGORITHM_ARGON2, ALGORITHM_PBKDF2).contains(algorithm);
+	}
+
+	/**
+	 * 各算法最近一次的标定结果
+	 */
+	public Collection<Calibration> getCalibrations() {
+		return calibrations.values();
+	}
+
+	/**
+	 * 标定一种算法，阻塞直至完成
+	 *
+	 * @see #reserve(String, long, Map)
+	 */
+	public Calibration calibrate(String algorithm, long targetMillis, Map<String, Integer> options) {
+		return reserve(algorithm, targetMillis, options).get();
+	}
+
+	/**
+	 * 校验参数并预占标定，返回的任务执行标定并在结束时释放预占，须恰好执行一次。
+	 *
+	 * <p>校验与预占不阻塞，可在事件循环中调用，使无效请求与并发的标定立即被拒绝，而不在工作线程中排队。
+	 *
+	 * @param algorithm    算法，见 {@code ALGORITHM_*}
+	 * @param targetMillis 目标耗时（毫秒）
+	 * @param options      算法的固定参数：SCrypt 的 {@code r} 、 {@code p} ，Argon2 的 {@code memory} （KiB）、 {@code parallelism} ；
+	 *                     未给出时使用默认值
+	 * @throws IllegalArgumentException 算法不支持或参数无效
+	 * @throws IllegalStateException    已有标定在进行
+	 */
+	public Supplier<Calibration> reserve(String algorithm, long targetMillis, Map<String, Integer> options) {
+		if (!isSupported(algorithm)) {
+			throw new IllegalArgumentException("Algorithm `" + algorithm + "` not supported.");
+		}
+		switch (algorithm) {
+			case ALGORITHM_BCRYPT:
+				return reserve(algorithm, targetMillis, exponential("strength", BCRYPT_MIN_STRENGTH, BCRYPT_MAX_STRENGTH, BCryptPasswordEncoder::new));
+			case ALGORITHM_SCRYPT:
+				int r = option(options, "r", SCRYPT_DEFAULT_R, SCRYPT_MAX_R);
+				int p = option(options, "p", SCRYPT_DEFAULT_P, SCRYPT_MAX_P);
+				if (scryptMemoryBytes(SCRYPT_MIN_LOG2_N, r) > maxMemoryBytes) {
+					throw new IllegalArgumentException("SCrypt r " + r + " needs more than " + maxMemoryBytes + " bytes.");
+				}
+				return reserve(algorithm, targetMillis, search -> searchSCrypt(search, r, p));
+			case ALGORITHM_ARGON2:
+				int memory      = option(options, "memory", Math.min(ARGON2_DEFAULT_MEMORY_KIB, maxMemoryKiB()), maxMemoryKiB());
+				int parallelism = option(options, "parallelism", 1, ARGON2_MAX_PARALLELISM);
+				if (memory < 8 * parallelism) {
+					throw new IllegalArgumentException("Argon2 memory must be at least " + 8 * parallelism + " KiB.");
+				}
+				return reserve(algorithm, targetMillis, search -> searchArgon2(search, memory, parallelism));
+			default:
+				return reserve(algorithm, targetMillis, linear("iterations", PBKDF2_INITIAL_ITERATIONS, 1, Integer.MAX_VALUE, PasswordEncoderCalibrator::pbkdf2));
+		}
+	}
+
+	/**
+	 * 标定参数每加一耗时翻倍的编码器（如 BCrypt 的强度）：从最小值起逐一增大，直至超过目标
+	 *
+	 * @param encoders 参数到编码器的映射
+	 */
+	Calibration calibrateExponential(String algorithm, long targetMillis, String name, int min, int max, IntFunction<PasswordEncoder> encoders) {
+		return reserve(algorithm, targetMillis, exponential(name, min, max, encoders)).get();
+	}
+
+	/**
+	 * 标定耗时与参数成正比的编码器（如 PBKDF2 的迭代次数）：先测量初值，再按耗时外推后逐步逼近
+	 *
+	 * @param encoders 参数到编码器的映射
+	 */
+	Calibration calibrateLinear(String algorithm, long targetMillis, String name, int initial, int min, int max, IntFunction<PasswordEncoder> encoders) {
+		return reserve(algorithm, targetMillis, linear(name, initial, min, max, encoders)).get();
+	}
+
+	private static Consumer<Search> exponential(String name, int min, int max, IntFunction<PasswordEncoder> encoders) {
+		return search -> {
+			for (int value = min; value <= max; ++value) {
+				if (!search.measure(encoders.apply(value), parameters(name, value))) {
+					break;
+				}
+			}
+		};
+	}
+
+	private static Consumer<Search> linear(String name, int initial, int min, int max, IntFunction<PasswordEncoder> encoders) {
+		return search -> {
+			search.measure(encoders.apply(initial), parameters(name, initial));
+			search.refineLinear(initial, min, max, encoders, value -> parameters(name, value));
+		};
+	}
+
+	private Supplier<Calibration> reserve(String algorithm, long targetMillis, Consumer<Search> strategy) {
+		if (targetMillis < MIN_TARGET_MILLIS || targetMillis > MAX_TARGET_MILLIS) {
+			throw new IllegalArgumentException("Target must be between " + MIN_TARGET_MILLIS + " and " + MAX_TARGET_MILLIS + " ms.");
+		}
+		if (!running.compareAndSet(false, true)) {
+			throw new IllegalStateException("A calibration is already running.");
+		}
+		return () -> {
+			try {
+				Search search = new Search(TimeUnit.MILLISECONDS.toNanos(targetMillis));
+				strategy.accept(search);
+				Calibration calibration = search.toCalibration(algorithm, targetMillis, workerPoolSize);
+				calibrations.put(algorithm, calibration);
+				return calibration;
+			} finally {
+				running.set(false);
+			}
+		};
+	}
+
+	/**
+	 * 固定 {@code r} 与 {@code p} ，N 逐次翻倍，占用内存为 128 × N × r 字节，不超过单次散列的内存上限
+	 */
+	private void searchSCrypt(Search search, int r, int p) {
+		for (int log2N = SCRYPT_MIN_LOG2_N; log2N < Integer.SIZE - 1; ++log2N) {
+			int  n           = 1 << log2N;
+			long memoryBytes = scryptMemoryBytes(log2N, r);
+			if (memoryBytes > maxMemoryBytes) {
+				break;
+			}
+			var parameters = parameters("N", n);
+			parameters.put("r", (long) r);
+			parameters.put("p", (long) p);
+			parameters.put("memoryBytes", memoryBytes);
+			if (!search.measure(new SCryptPasswordEncoder(n, r, p, SCRYPT_KEY_LENGTH, SCRYPT_SALT_LENGTH), parameters)) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * 固定并行度，优先使用给定的内存，逐步逼近迭代次数；一次迭代仍超过目标时内存减半
+	 */
+	private static void searchArgon2(Search search, int memoryKiB, int parallelism) {
+		int minMemoryKiB = 8 * parallelism;
+		while (!search.measure(argon2(memoryKiB, parallelism, 1), argon2Parameters(memoryKiB, parallelism, 1)) && memoryKiB / 2 >= minMemoryKiB) {
+			memoryKiB /= 2;
+		}
+		int memory = memoryKiB;
+		search.refineLinear(1, 1, ARGON2_MAX_ITERATIONS, iterations -> argon2(memory, parallelism, iterations), iterations -> argon2Parameters(memory, parallelism, iterations));
+	}
+
+	private static PasswordEncoder argon2(int memoryKiB, int parallelism, int iterations) {
+		return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, parallelism, memoryKiB, iterations);
+	}
+
+	private static Map<String, Long> argon2Parameters(int memoryKiB, int parallelism, int iterations) {
+		var parameters = parameters("memory", memoryKiB);
+		parameters.put("iterations", (long) iterations);
+		parameters.put("parallelism", (long) parallelism);
+		return parameters;
+	}
+
+	private static PasswordEncoder pbkdf2(int iterations) {
+		return new Pbkdf2PasswordEncoder("", iterations, PBKDF2_HASH_WIDTH);
+	}
+
+	private static Map<String, Long> parameters(String name, long value) {
+		Map<String, Long> parameters = new LinkedHashMap<>();
+		parameters.put(name, value);
+		return parameters;
+	}
+
+	private static int option(Map<String, Integer> options, String name, int defaultValue, int max) {
+		Integer value = options != null ? options.get(name) : null;
+		if (value == null) {
+			return defaultValue;
+		}
+		if (value <= 0 || value > max) {
+			throw new IllegalArgumentException("Option `" + name + "` must be between 1 and " + max + ".");
+		}
+		return value;
+	}
+
+	private static long scryptMemoryBytes(int log2N, int r) {
+		return 128L * (1 << log2N) * r;
+	}
+
+	private int maxMemoryKiB() {
+		return (int) Math.min(Integer.MAX_VALUE, maxMemoryBytes / 1024);
+	}
+
+	/**
+	 * 一次标定的测量记录
+	 */
+	private static class Search {
+
+		private final long targetNanos;
+
+		private final List<Trial> trials = new ArrayList<>();
+
+		private boolean warmedUp;
+
+		private Search(long targetNanos) {
+			this.targetNanos = targetNanos;
+		}
+
+		/**
+		 * 测量单次散列耗时的中位数
+		 *
+		 * @return 耗时是否未超过目标
+		 */
+		private boolean measure(PasswordEncoder encoder, Map<String, Long> parameters) {
+			if (!warmedUp) {
+				encoder.encode(PASSWORD);
+				warmedUp = true;
+			}
+			long[] samples = new long[MAX_SAMPLES];
+			int    count   = 0;
+			long   begin   = System.nanoTime();
+			do {
+				long start = System.nanoTime();
+				encoder.encode(PASSWORD);
+				samples[count++] = System.nanoTime() - start;
+				// 明显超过目标时不必继续采样
+				if (samples[count - 1] > 2 * targetNanos) {
+					break;
+				}
+			} while (count < MAX_SAMPLES && (count < MIN_SAMPLES || System.nanoTime() - begin < MIN_MEASURE_NANOS));
+			Arrays.sort(samples, 0, count);
+			long nanos = samples[count / 2];
+			trials.add(Trial.builder().parameters(parameters).millis(nanos / 1e6).build());
+			return nanos <= targetNanos;
+		}
+
+		/**
+		 * 以最近一次测量为基准，按耗时与参数成正比外推，逐步逼近目标
+		 */
+		private void refineLinear(int initial, int min, int max, IntFunction<PasswordEncoder> encoder, IntFunction<Map<String, Long>> parameters) {
+			int current = initial;
+			for (int round = 0; round < MAX_REFINEMENTS; ++round) {
+				Trial  last      = trials.get(trials.size() - 1);
+				double estimated = current * (targetNanos / 1e6) / Math.max(last.millis, 1e-3);
+				int    next      = (int) Math.max(min, Math.min(max, Math.floor(estimated)));
+				if (next == current) {
+					break;
+				}
+				search(encoder, parameters, next);
+				current = next;
+			}
+			// 外推仍可能略超目标，逐步回退到不超过目标的参数
+			while (trials.get(trials.size() - 1).millis * 1e6 > targetNanos && current > min) {
+				current = Math.max(min, current - Math.max(1, current / 16));
+				search(encoder, parameters, current);
+			}
+		}
+
+		private void search(IntFunction<PasswordEncoder> encoder, IntFunction<Map<String, Long>> parameters, int value) {
+			measure(encoder.apply(value), parameters.apply(value));
+		}
+
+		/**
+		 * 选出不超过目标的最慢一次测量；均超过目标时选最快的一次
+		 */
+		private Calibration toCalibration(String algorithm, long targetMillis, int workerPoolSize) {
+			double targetMillisExact = targetNanos / 1e6;
+			Trial  best              = null;
+			for (Trial trial : trials) {
+				boolean within     = trial.millis <= targetMillisExact;
+				boolean bestWithin = best != null && best.millis <= targetMillisExact;
+				if (best == null
+					|| within && (!bestWithin || trial.millis > best.millis)
+					|| !within && !bestWithin && trial.millis < best.millis) {
+					best = trial;
+				}
+			}
+			double perCore = 1000 / best.millis;
+			int    cores   = Runtime.getRuntime().availableProcessors();
+			return Calibration.builder()
+				.algorithm(algorithm)
+				.targetMillis(targetMillis)
+				.parameters(best.parameters)
+				.millis(best.millis)
+				.withinTarget(best.millis <= targetMillisExact)
+				.hashesPerSecondPerCore(perCore)
+				.workerPoolHashesPerSecond(perCore * Math.min(cores, workerPoolSize))
+				.trials(trials)
+				.calibratedAt(Instant.now().toString())
+				.build();
+		}
+	}
+
+	@Builder
+	@Data
+	public static class Calibration {
+
+		@JsonProperty("algorithm")
+		private String algorithm;
+
+		@JsonProperty("targetMillis")
+		private long targetMillis;
+
+		/**
+		 * 选出的参数
+		 */
+		@JsonProperty("parameters")
+		private Map<String, Long> parameters;
+
+		/**
+		 * 选出参数下单次散列耗时的中位数
+		 */
+		@JsonProperty("millis")
+		private double millis;
+
+		/**
+		 * 最小参数仍超过目标时为 {@code false}
+		 */
+		@JsonProperty("withinTarget")
+		private boolean withinTarget;
+
+		@JsonProperty("hashesPerSecondPerCore")
+		private double hashesPerSecondPerCore;
+
+		/**
+		 * 按工作线程数与处理器数中的较小者估算的总吞吐
+		 */
+		@JsonProperty("workerPoolHashesPerSecond")
+		private double workerPoolHashesPerSecond;
+
+		@JsonProperty("trials")
+		private List<Trial> trials;
+
+		@JsonProperty("calibratedAt")
+		private String calibratedAt;
+	}
+
+	@Builder
+	@Data
+	public static class Trial {
+
+		@JsonProperty("parameters")
+		private Map<String, Long> parameters;
+
+		@JsonProperty("millis")
+		private double millis;
+	}
+}
@@ -0,0 +1,186 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import cn.bromine0x23.tools.codec.codecs.Codec;
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import cn.bromine0x23.tools.codec.codecs.Transcoder;
+import io.vertx.core.buffer.Buffer;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 编解码流水线，按顺序执行多个编解码步骤，步骤之间以字节传递。
+ *
+ * <p>描述格式为逗号分隔的 {@code 编解码器ID:变体ID:操作} 列表，变体ID可为空（使用默认变体），操作为 {@code encode} 或 {@code decode}，
+ * 如 {@code url:utf-8:decode,base64:rfc4648:decode,digest:sha-256:encode} 。
+ * 描述只在首次使用时针对 {@link Codecs#getCodecsAsMap()} 校验并编译，编译结果会被缓存复用。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class Pipeline {
+
+	private static final int MAX_CACHED_PLANS = 1024;
+
+	private static final int MAX_STEPS = 32;
+
+	private static final String OPERATION_ENCODE = "encode";
+	private static final String OPERATION_DECODE = "decode";
+
+	private static final Map<String, Pipeline> PLANS = new ConcurrentHashMap<>();
+
+	private final List<Step> steps;
+
+	/**
+	 * 各步骤中最高的开销等级
+	 */
+	@Getter
+	private final CostClass costClass;
+
+	/**
+	 * 是否所有步骤都支持流式处理
+	 */
+	@Getter
+	private final boolean streaming;
+
+	/**
+	 * 最后一步是否为编码
+	 */
+	@Getter
+	private final boolean encoding;
+
+	/**
+	 * 取得（必要时编译）描述对应的流水线。
+	 *
+	 * @param description 流水线描述
+	 * @return 流水线
+	 * @throws IllegalArgumentException 描述格式错误，或引用了不存在/不支持的编解码器、变体或操作
+	 */
+	public static Pipeline compile(String description) {
+		Pipeline pipeline = PLANS.get(description);
+		if (pipeline == null) {
+			pipeline = parse(description);
+			if (PLANS.size() < MAX_CACHED_PLANS) {
+				PLANS.putIfAbsent(description, pipeline);
+			}
+		}
+		return pipeline;
+	}
+
+	public List<Step> getSteps() {
+		return Collections.unmodifiableList(steps);
+	}
+
+	/**
+	 * 对完整输入执行流水线
+	 */
+	public Buffer apply(Buffer input) throws IOException {
+		Buffer data = input;
+		for (Step step : steps) {
+			data = step.encode ? step.codec.encode(data, step.variantId) : step.codec.decode(data, step.variantId);
+		}
+		return data;
+	}
+
+	/**
+	 * 创建流式执行流水线的过程，要求所有步骤都支持流式处理。
+	 *
+	 * @throws IllegalStateException 存在不支持流式处理的步骤
+	 */
+	public Transcoder createTranscoder() {
+		if (!streaming) {
+			throw new IllegalStateException("Pipeline contains non-streaming steps.");
+		}
+		List<Transcoder> transcoders = new ArrayList<>(steps.size());
+		for (Step step : steps) {
+			transcoders.add(step.encode ? step.codec.createEncoder(step.variantId) : step.codec.createDecoder(step.variantId));
+		}
+		return new Transcoder() {
+
+			@Override
+			public Buffer update(Buffer input) throws IOException {
+				Buffer data = input;
+				for (Transcoder transcoder : transcoders) {
+					data = transcoder.update(data);
+				}
+				return data;
+			}
+
+			@Override
+			public Buffer finish() throws IOException {
+				Buffer data = null;
+				for (Transcoder transcoder : transcoders) {
+					data = data != null ? transcoder.update(data).appendBuffer(transcoder.finish()) : transcoder.finish();
+				}
+				return data;
+			}
+		};
+	}
+
+	private static Pipeline parse(String description) {
+		if (description == null || description.isBlank()) {
+			throw new IllegalArgumentException("Pipeline is empty.");
+		}
+		String[] parts = description.split(",", -1);
+		if (parts.length > MAX_STEPS) {
+			throw new IllegalArgumentException(MessageFormat.format("Pipeline exceeds {0} steps.", MAX_STEPS));
+		}
+		Map<String, Codec> codecs    = Codecs.getCodecsAsMap();
+		List<Step>         steps     = new ArrayList<>(parts.length);
+		CostClass          costClass = CostClass.CHEAP;
+		boolean            streaming = true;
+		for (String part : parts) {
+			Step step = parseStep(codecs, part.trim());
+			steps.add(step);
+			CostClass stepCostClass = step.codec.getCostClass(step.variantId);
+			if (stepCostClass.compareTo(costClass) > 0) {
+				costClass = stepCostClass;
+			}
+			streaming &= step.codec.supportStreaming();
+		}
+		return new Pipeline(steps, costClass, streaming, steps.get(steps.size() - 1).encode);
+	}
+
+	private static Step parseStep(Map<String, Codec> codecs, String description) {
+		String[] fields = description.split(":", -1);
+		if (fields.length != 3) {
+			throw new IllegalArgumentException(MessageFormat.format("Malformed pipeline step `{0}`.", description));
+		}
+		Codec codec = codecs.get(fields[0]);
+		if (codec == null) {
+			throw new IllegalArgumentException(MessageFormat.format("Codec `{0}` not found.", fields[0]));
+		}
+		String variantId = fields[1].isEmpty() ? null : fields[1];
+		if (variantId != null && codec.getVariants().stream().noneMatch(variant -> variantId.equals(variant.getId()))) {
+			throw new IllegalArgumentException(MessageFormat.format("Variant `{0}` of codec `{1}` not found.", variantId, fields[0]));
+		}
+		boolean encode;
+		if (OPERATION_ENCODE.equals(fields[2]) && codec.supportEncode()) {
+			encode = true;
+		} else if (OPERATION_DECODE.equals(fields[2]) && codec.supportDecode()) {
+			encode = false;
+		} else {
+			throw new IllegalArgumentException(MessageFormat.format("Codec `{0}` doesn''t support `{1}`.", fields[0], fields[2]));
+		}
+		return new Step(codec, variantId, encode);
+	}
+
+	@Getter
+	@AllArgsConstructor(access = AccessLevel.PRIVATE)
+	public static class Step {
+
+		private final Codec codec;
+
+		private final String variantId;
+
+		private final boolean encode;
+	}
+}
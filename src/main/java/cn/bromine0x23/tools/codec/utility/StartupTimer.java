@@ -0,0 +1,59 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 启动各阶段的耗时，按顺序记录，用于启动完成时输出报告。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class StartupTimer {
+
+	private final Map<String, Long> phases = new LinkedHashMap<>();
+
+	private final long start = System.nanoTime();
+
+	private long last = start;
+
+	/**
+	 * 结束自上一阶段（或创建时）起的阶段
+	 *
+	 * @param phase 阶段名称
+	 */
+	public void mark(String phase) {
+		var now = System.nanoTime();
+		phases.put(phase, now - last);
+		last = now;
+	}
+
+	/**
+	 * @return 各阶段的耗时（纳秒），按记录顺序
+	 */
+	public Map<String, Long> getPhases() {
+		return Collections.unmodifiableMap(phases);
+	}
+
+	/**
+	 * @return 自创建至最后一个阶段结束的耗时（纳秒）
+	 */
+	public long getTotalNanos() {
+		return last - start;
+	}
+
+	/**
+	 * 格式化为 {@code 名称 耗时} 的列表，如 {@code codecs 12.3 ms, http 45.6 ms}
+	 */
+	public static String format(Map<String, Long> nanos) {
+		var joiner = new StringJoiner(", ");
+		nanos.forEach((name, value) -> joiner.add(name + " " + formatMillis(value)));
+		return joiner.toString();
+	}
+
+	public static String formatMillis(long nanos) {
+		return String.format("%.1f ms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+	}
+}
@@ -0,0 +1,288 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 基于 {@link MessageDigest} 的树形摘要，各叶子相互独立，可按处理器数量并行计算。
+ *
+ * <p>结构与 <a href="https://tools.ietf.org/html/rfc6962#section-2.1">RFC 6962 §2.1</a> 的 Merkle Tree Hash 相同：
+ *
+ * <ul>
+ *     <li>输入按 {@link #getLeafSize() 叶子大小} 切分为叶子，最后一个叶子可以较短，空输入没有叶子；</li>
+ *     <li>叶子 {@code H(0x00 || data)} ，内部节点 {@code H(0x01 || left || right)} ；</li>
+ *     <li>{@code n} 个叶子时，左子树取不超过 {@code n - 1} 的最大的2的幂个叶子，其余在右子树，
+ *     等价于自底向上两两合并、每层末尾落单的节点直接提升一层；</li>
+ *     <li>没有叶子时结果为 {@code H()} 。</li>
+ * </ul>
+ *
+ * <p>结果取决于叶子大小，只有叶子大小相同的结果才可比较。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+public class TreeHash implements DigestAlgorithm {
+
+	/**
+	 * 默认叶子大小，1 MiB
+	 */
+	public static final int DEFAULT_LEAF_SIZE = 1 << 20;
+
+	private static final byte LEAF_PREFIX = 0x00;
+
+	private static final byte NODE_PREFIX = 0x01;
+
+	/**
+	 * 增量计算时，每个工作线程最多积压的叶子数，超出时取出最早的叶子
+	 */
+	private static final int PENDING_LEAVES_PER_THREAD = 2;
+
+	@Getter
+	private final MessageDigest messageDigest;
+
+	@Getter
+	private final int leafSize;
+
+	private final ThreadLocal<java.security.MessageDigest> localJceMessageDigest;
+
+	private final ThreadLocal<ByteBuffer> localLeafBuffer;
+
+	public TreeHash(MessageDigest messageDigest) {
+		this(messageDigest, DEFAULT_LEAF_SIZE);
+	}
+
+	/**
+	 * @param messageDigest 叶子与内部节点使用的摘要算法
+	 * @param leafSize      叶子大小（字节）
+	 * @throws IllegalArgumentException 叶子大小不是正数
+	 */
+	public TreeHash(@NonNull MessageDigest messageDigest, int leafSize) {
+		if (leafSize <= 0) {
+			throw new IllegalArgumentException("Leaf size must be positive.");
+		}
+		this.messageDigest         = messageDigest;
+		this.leafSize              = leafSize;
+		this.localJceMessageDigest = ThreadLocal.withInitial(messageDigest::createJceMessageDigest);
+		this.localLeafBuffer       = ThreadLocal.withInitial(() -> ByteBuffer.allocate(leafSize));
+	}
+
+	@Override
+	public Hasher newHasher() {
+		return new TreeHasher();
+	}
+
+	/**
+	 * 各叶子并行计算
+	 */
+	@Override
+	public byte[] digest(@NonNull ByteBuffer input) {
+		ByteBuffer data = input.slice();
+		input.position(input.limit());
+		long leaves = leafCount(data.remaining());
+		if (leaves == 0) {
+			return messageDigest.digest(new byte[0]);
+		}
+		return new Subtree(index -> {
+			ByteBuffer leaf = data.duplicate();
+			leaf.position((int) (index * leafSize)).limit((int) Math.min(data.limit(), (index + 1) * leafSize));
+			return hashLeaf(leaf);
+		}, 0, leaves).invoke();
+	}
+
+	/**
+	 * 各叶子并行地按位置读取，不改变通道的位置
+	 */
+	@Override
+	public byte[] digest(@NonNull FileChannel channel) throws IOException {
+		long size   = channel.size();
+		long leaves = leafCount(size);
+		if (leaves == 0) {
+			return messageDigest.digest(new byte[0]);
+		}
+		try {
+			return new Subtree(index -> {
+				long       position = index * leafSize;
+				ByteBuffer leaf     = localLeafBuffer.get();
+				leaf.clear().limit((int) Math.min(leafSize, size - position));
+				try {
+					while (leaf.hasRemaining()) {
+						if (channel.read(leaf, position + leaf.position()) < 0) {
+							throw new IOException("File truncated while hashing");
+						}
+					}
+				} catch (IOException exception) {
+					throw new UncheckedIOException(exception);
+				}
+				leaf.flip();
+				return hashLeaf(leaf);
+			}, 0, leaves).invoke();
+		} catch (UncheckedIOException exception) {
+			throw exception.getCause();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "TreeHash(" + messageDigest.name() + ", " + leafSize + ")";
+	}
+
+	private long leafCount(long size) {
+		return (size + leafSize - 1) / leafSize;
+	}
+
+	private byte[] hashLeaf(ByteBuffer data) {
+		java.security.MessageDigest jceMessageDigest = localJceMessageDigest.get();
+		jceMessageDigest.update(LEAF_PREFIX);
+		jceMessageDigest.update(data);
+		return jceMessageDigest.digest();
+	}
+
+	private byte[] hashNode(byte[] left, byte[] right) {
+		java.security.MessageDigest jceMessageDigest = localJceMessageDigest.get();
+		jceMessageDigest.update(NODE_PREFIX);
+		jceMessageDigest.update(left);
+		jceMessageDigest.update(right);
+		return jceMessageDigest.digest();
+	}
+
+	/**
+	 * {@code [from, to)} 之间的叶子组成的子树中，左子树的叶子数
+	 */
+	private static long split(long from, long to) {
+		return from + Long.highestOneBit(to - from - 1);
+	}
+
+	private byte[] root(List<byte[]> leaves, int from, int to) {
+		if (to - from == 1) {
+			return leaves.get(from);
+		}
+		int split = (int) split(from, to);
+		return hashNode(root(leaves, from, split), root(leaves, split, to));
+	}
+
+	@FunctionalInterface
+	private interface LeafHasher {
+
+		byte[] hash(long index);
+	}
+
+	/**
+	 * 计算 {@code [from, to)} 之间的叶子组成的子树，左子树分叉执行
+	 */
+	private class Subtree extends RecursiveTask<byte[]> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient LeafHasher leafHasher;
+
+		private final long from;
+
+		private final long to;
+
+		private Subtree(LeafHasher leafHasher, long from, long to) {
+			this.leafHasher = leafHasher;
+			this.from       = from;
+			this.to         = to;
+		}
+
+		@Override
+		protected byte[] compute() {
+			if (to - from == 1) {
+				return leafHasher.hash(from);
+			}
+			long    split = split(from, to);
+			Subtree left  = new Subtree(leafHasher, from, split);
+			left.fork();
+			byte[] right = new Subtree(leafHasher, split, to).compute();
+			return hashNode(left.join(), right);
+		}
+	}
+
+	/**
+	 * 增量计算：叶子填满后交给线程池计算。
+	 *
+	 * <p>调用线程可能是事件循环，从不等待线程池：积压过多或结束时取出最早的叶子，尚未完成的取消后在调用线程中计算。
+	 */
+	private class TreeHasher implements Hasher {
+
+		private final List<byte[]> leaves = new ArrayList<>();
+
+		private final ArrayDeque<PendingLeaf> pending = new ArrayDeque<>();
+
+		private final ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool() : ForkJoinPool.commonPool();
+
+		private final int maxPending = PENDING_LEAVES_PER_THREAD * pool.getParallelism();
+
+		private ByteBuffer leaf;
+
+		@Override
+		public void update(ByteBuffer input) {
+			while (input.hasRemaining()) {
+				if (leaf == null) {
+					leaf = ByteBuffer.allocate(leafSize);
+				}
+				int        length = Math.min(leaf.remaining(), input.remaining());
+				ByteBuffer part   = input.duplicate();
+				part.limit(part.position() + length);
+				leaf.put(part);
+				input.position(input.position() + length);
+				if (!leaf.hasRemaining()) {
+					submit();
+				}
+			}
+		}
+
+		@Override
+		public byte[] digest() {
+			if (leaf != null && leaf.position() > 0) {
+				submit();
+			}
+			while (!pending.isEmpty()) {
+				collect();
+			}
+			if (leaves.isEmpty()) {
+				return messageDigest.digest(new byte[0]);
+			}
+			return root(leaves, 0, leaves.size());
+		}
+
+		private void submit() {
+			ByteBuffer data = leaf.flip();
+			leaf = null;
+			pending.add(new PendingLeaf(data, pool.submit(() -> hashLeaf(data.duplicate()))));
+			while (pending.size() > maxPending) {
+				collect();
+			}
+		}
+
+		/**
+		 * 取出最早的叶子；取消失败说明任务已完成，{@code join} 立即返回
+		 */
+		private void collect() {
+			PendingLeaf oldest = pending.poll();
+			leaves.add(oldest.task.cancel(false) ? hashLeaf(oldest.data) : oldest.task.join());
+		}
+	}
+
+	private static class PendingLeaf {
+
+		private final ByteBuffer data;
+
+		private final ForkJoinTask<byte[]> task;
+
+		private PendingLeaf(ByteBuffer data, ForkJoinTask<byte[]> task) {
+			this.data = data;
+			this.task = task;
+		}
+	}
+}
@@ -0,0 +1,406 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * <a href="https://github.com/Cyan4973/xxHash">xxHash</a> 的增量计算，种子为 0 ，结果为值的大端序（即 xxHash 的规范表示）。
+ *
+ * @author <a href="mailto:bromine0x23@163.com">Bromine0x23</a>
+ */
+final class XxHash {
+
+	private static final int PRIME32_1 = 0x9E3779B1;
+	private static final int PRIME32_2 = 0x85EBCA77;
+	private static final int PRIME32_3 = 0xC2B2AE3D;
+	private static final int PRIME32_4 = 0x27D4EB2F;
+	private static final int PRIME32_5 = 0x165667B1;
+
+	private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+	private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long PRIME64_3 = 0x165667B19E3779F9L;
+	private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+	private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+	private XxHash() {
+	}
+
+	private static long avalanche64(long hash) {
+		hash ^= hash >>> 33;
+		hash *= PRIME64_2;
+		hash ^= hash >>> 29;
+		hash *= PRIME64_3;
+		hash ^= hash >>> 32;
+		return hash;
+	}
+
+	private static long round64(long accumulator, long lane) {
+		return Long.rotateLeft(accumulator + lane * PRIME64_2, 31) * PRIME64_1;
+	}
+
+	private static byte[] bytes(long value) {
+		return ByteBuffer.allocate(8).putLong(value).array();
+	}
+
+	/**
+	 * XXH32
+	 */
+	static class Hasher32 extends BlockHasher {
+
+		private int v1 = PRIME32_1 + PRIME32_2;
+		private int v2 = PRIME32_2;
+		private int v3 = 0;
+		private int v4 = -PRIME32_1;
+
+		Hasher32() {
+			super(16);
+		}
+
+		@Override
+		protected void processBlock(ByteBuffer data, int offset) {
+			v1 = round(v1, data.getInt(offset));
+			v2 = round(v2, data.getInt(offset + 4));
+			v3 = round(v3, data.getInt(offset + 8));
+			v4 = round(v4, data.getInt(offset + 12));
+		}
+
+		@Override
+		protected byte[] finish(ByteBuffer remaining, long totalLength) {
+			int hash = totalLength >= 16
+				? Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18)
+				: PRIME32_5;
+			hash += (int) totalLength;
+			int position = 0;
+			for (; remaining.limit() - position >= 4; position += 4) {
+				hash = Integer.rotateLeft(hash + remaining.getInt(position) * PRIME32_3, 17) * PRIME32_4;
+			}
+			for (; position < remaining.limit(); ++position) {
+				hash = Integer.rotateLeft(hash + (remaining.get(position) & 0xFF) * PRIME32_5, 11) * PRIME32_1;
+			}
+			hash ^= hash >>> 15;
+			hash *= PRIME32_2;
+			hash ^= hash >>> 13;
+			hash *= PRIME32_3;
+			hash ^= hash >>> 16;
+			return ByteBuffer.allocate(4).putInt(hash).array();
+		}
+
+		private static int round(int accumulator, int lane) {
+			return Integer.rotateLeft(accumulator + lane * PRIME32_2, 13) * PRIME32_1;
+		}
+	}
+
+	/**
+	 * XXH64
+	 */
+	static class Hasher64 extends BlockHasher {
+
+		private long v1 = PRIME64_1 + PRIME64_2;
+		private long v2 = PRIME64_2;
+		private long v3 = 0;
+		private long v4 = -PRIME64_1;
+
+		Hasher64() {
+			super(32);
+		}
+
+		@Override
+		protected void processBlock(ByteBuffer data, int offset) {
+			v1 = round64(v1, data.getLong(offset));
+			v2 = round64(v2, data.getLong(offset + 8));
+			v3 = round64(v3, data.getLong(offset + 16));
+			v4 = round64(v4, data.getLong(offset + 24));
+		}
+
+		@Override
+		protected byte[] finish(ByteBuffer remaining, long totalLength) {
+			long hash;
+			if (totalLength >= 32) {
+				hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+				hash = merge(hash, v1);
+				hash = merge(hash, v2);
+				hash = merge(hash, v3);
+				hash = merge(hash, v4);
+			} else {
+				hash = PRIME64_5;
+			}
+			hash += totalLength;
+			int position = 0;
+			for (; remaining.limit() - position >= 8; position += 8) {
+				hash ^= round64(0, remaining.getLong(position));
+				hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+			}
+			if (remaining.limit() - position >= 4) {
+				hash ^= (remaining.getInt(position) & 0xFFFFFFFFL) * PRIME64_1;
+				hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+				position += 4;
+			}
+			for (; position < remaining.limit(); ++position) {
+				hash ^= (remaining.get(position) & 0xFF) * PRIME64_5;
+				hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+			}
+			return bytes(avalanche64(hash));
+		}
+
+		private static long merge(long hash, long accumulator) {
+			return (hash ^ round64(0, accumulator)) * PRIME64_1 + PRIME64_4;
+		}
+	}
+
+	/**
+	 * XXH3 的 64 位版本，使用默认密钥
+	 *
+	 * <p>长输入按 {@value #STRIPE_LEN} 字节的条带累加，每 {@value #STRIPES_PER_BLOCK} 个条带扰乱一次，最后一个条带单独处理，
+	 * 因此一个条带只在确认其后还有输入时才累加；累计不超过 {@value #MAX_SHORT_LEN} 字节时按短输入的算法计算。
+	 */
+	static class Hasher3 implements DigestAlgorithm.Hasher {
+
+		private static final long PRIME_MX1 = 0x165667919E3779F9L;
+		private static final long PRIME_MX2 = 0x9FB21C651E98DF25L;
+
+		private static final int STRIPE_LEN = 64;
+
+		private static final int SECRET_CONSUME_RATE = 8;
+
+		private static final int MAX_SHORT_LEN = 240;
+
+		private static final int MIDSIZE_START_OFFSET = 3;
+
+		private static final int MIDSIZE_LAST_OFFSET = 17;
+
+		private static final int SECRET_SIZE_MIN = 136;
+
+		private static final int SECRET_MERGE_ACCUMULATORS_START = 11;
+
+		private static final int SECRET_LAST_ACCUMULATOR_START = 7;
+
+		private static final ByteBuffer SECRET = createSecret();
+
+		private static final int STRIPES_PER_BLOCK = (SECRET.capacity() - STRIPE_LEN) / SECRET_CONSUME_RATE;
+
+		/**
+		 * 密钥按 8 字节对齐的各字，条带累加与扰乱只读取对齐的位置
+		 */
+		private static final long[] SECRET_WORDS = createSecretWords();
+
+		/**
+		 * 暂存区大小，多于短输入的上限且为条带大小的整数倍
+		 */
+		private static final int BUFFER_SIZE = 4 * STRIPE_LEN;
+
+		private final long[] accumulators = {
+			PRIME32_3 & 0xFFFFFFFFL, PRIME64_1, PRIME64_2, PRIME64_3, PRIME64_4, PRIME32_2 & 0xFFFFFFFFL, PRIME64_5, PRIME32_1 & 0xFFFFFFFFL,
+		};
+
+		private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+		/**
+		 * 最近一个已累加的条带，最后一个条带跨越暂存区开头时补足其前面的部分
+		 */
+		private final ByteBuffer lastStripe = ByteBuffer.allocate(STRIPE_LEN).order(ByteOrder.LITTLE_ENDIAN);
+
+		private long totalLength;
+
+		private int stripesInBlock;
+
+		@Override
+		public void update(ByteBuffer input) {
+			ByteBuffer data = input.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+			input.position(input.limit());
+			totalLength += data.remaining();
+			while (data.hasRemaining()) {
+				if (!buffer.hasRemaining()) {
+					for (int offset = 0; offset < BUFFER_SIZE; offset += STRIPE_LEN) {
+						consumeStripe(buffer, offset);
+					}
+					saveLastStripe(buffer, BUFFER_SIZE);
+					buffer.clear();
+				}
+				if (buffer.position() == 0 && data.remaining() > BUFFER_SIZE) {
+					int position = data.position();
+					for (; data.limit() - position > BUFFER_SIZE; position += STRIPE_LEN) {
+						consumeStripe(data, position);
+					}
+					saveLastStripe(data, position);
+					data.position(position);
+				}
+				int        length = Math.min(buffer.remaining(), data.remaining());
+				ByteBuffer part   = data.duplicate();
+				part.limit(part.position() + length);
+				buffer.put(part);
+				data.position(data.position() + length);
+			}
+		}
+
+		@Override
+		public byte[] digest() {
+			int length = buffer.position();
+			if (totalLength <= MAX_SHORT_LEN) {
+				return bytes(hashShort(buffer, length));
+			}
+			long[] accumulators = this.accumulators.clone();
+			int    stripes      = stripesInBlock;
+			int    stripeCount  = (length - 1) / STRIPE_LEN;
+			for (int i = 0; i < stripeCount; ++i) {
+				accumulate(accumulators, buffer, i * STRIPE_LEN, stripes);
+				if (++stripes == STRIPES_PER_BLOCK) {
+					scramble(accumulators);
+					stripes = 0;
+				}
+			}
+			if (length >= STRIPE_LEN) {
+				accumulateLast(accumulators, buffer, length - STRIPE_LEN);
+			} else {
+				ByteBuffer stripe = ByteBuffer.allocate(STRIPE_LEN).order(ByteOrder.LITTLE_ENDIAN);
+				stripe.put(lastStripe.duplicate().position(length)).put(buffer.duplicate().flip());
+				accumulateLast(accumulators, stripe, 0);
+			}
+			long result = totalLength * PRIME64_1;
+			for (int i = 0; i < 4; ++i) {
+				int secret = SECRET_MERGE_ACCUMULATORS_START + 16 * i;
+				result += mul128Fold64(accumulators[2 * i] ^ SECRET.getLong(secret), accumulators[2 * i + 1] ^ SECRET.getLong(secret + 8));
+			}
+			return bytes(avalanche3(result));
+		}
+
+		private void consumeStripe(ByteBuffer data, int offset) {
+			accumulate(accumulators, data, offset, stripesInBlock);
+			if (++stripesInBlock == STRIPES_PER_BLOCK) {
+				scramble(accumulators);
+				stripesInBlock = 0;
+			}
+		}
+
+		private void saveLastStripe(ByteBuffer data, int end) {
+			lastStripe.clear();
+			lastStripe.put(data.duplicate().limit(end).position(end - STRIPE_LEN));
+		}
+
+		/**
+		 * 累加块中的第 {@code stripe} 个条带
+		 */
+		private static void accumulate(long[] accumulators, ByteBuffer data, int offset, int stripe) {
+			for (int i = 0; i < 8; ++i) {
+				long value = data.getLong(offset + 8 * i);
+				long key   = value ^ SECRET_WORDS[stripe + i];
+				accumulators[i ^ 1] += value;
+				accumulators[i] += (key & 0xFFFFFFFFL) * (key >>> 32);
+			}
+		}
+
+		/**
+		 * 累加最后一个条带，使用不对齐的密钥位置
+		 */
+		private static void accumulateLast(long[] accumulators, ByteBuffer data, int offset) {
+			int secret = SECRET.capacity() - STRIPE_LEN - SECRET_LAST_ACCUMULATOR_START;
+			for (int i = 0; i < 8; ++i) {
+				long value = data.getLong(offset + 8 * i);
+				long key   = value ^ SECRET.getLong(secret + 8 * i);
+				accumulators[i ^ 1] += value;
+				accumulators[i] += (key & 0xFFFFFFFFL) * (key >>> 32);
+			}
+		}
+
+		private static void scramble(long[] accumulators) {
+			int secret = (SECRET.capacity() - STRIPE_LEN) / 8;
+			for (int i = 0; i < 8; ++i) {
+				long accumulator = accumulators[i];
+				accumulator ^= accumulator >>> 47;
+				accumulator ^= SECRET_WORDS[secret + i];
+				accumulators[i] = accumulator * (PRIME32_1 & 0xFFFFFFFFL);
+			}
+		}
+
+		private static long hashShort(ByteBuffer data, int length) {
+			if (length > 128) {
+				long accumulator = length * PRIME64_1;
+				for (int i = 0; i < 8; ++i) {
+					accumulator += mix16(data, 16 * i, 16 * i);
+				}
+				accumulator = avalanche3(accumulator);
+				for (int i = 8; i < length / 16; ++i) {
+					accumulator += mix16(data, 16 * i, 16 * (i - 8) + MIDSIZE_START_OFFSET);
+				}
+				accumulator += mix16(data, length - 16, SECRET_SIZE_MIN - MIDSIZE_LAST_OFFSET);
+				return avalanche3(accumulator);
+			}
+			if (length > 16) {
+				long accumulator = length * PRIME64_1;
+				if (length > 32) {
+					if (length > 64) {
+						if (length > 96) {
+							accumulator += mix16(data, 48, 96);
+							accumulator += mix16(data, length - 64, 112);
+						}
+						accumulator += mix16(data, 32, 64);
+						accumulator += mix16(data, length - 48, 80);
+					}
+					accumulator += mix16(data, 16, 32);
+					accumulator += mix16(data, length - 32, 48);
+				}
+				accumulator += mix16(data, 0, 0);
+				accumulator += mix16(data, length - 16, 16);
+				return avalanche3(accumulator);
+			}
+			if (length > 8) {
+				long low  = data.getLong(0) ^ (SECRET.getLong(24) ^ SECRET.getLong(32));
+				long high = data.getLong(length - 8) ^ (SECRET.getLong(40) ^ SECRET.getLong(48));
+				return avalanche3(length + Long.reverseBytes(low) + high + mul128Fold64(low, high));
+			}
+			if (length >= 4) {
+				long input = (data.getInt(length - 4) & 0xFFFFFFFFL) + ((long) data.getInt(0) << 32);
+				long keyed = input ^ (SECRET.getLong(8) ^ SECRET.getLong(16));
+				keyed ^= Long.rotateLeft(keyed, 49) ^ Long.rotateLeft(keyed, 24);
+				keyed *= PRIME_MX2;
+				keyed ^= (keyed >>> 35) + length;
+				keyed *= PRIME_MX2;
+				return keyed ^ keyed >>> 28;
+			}
+			if (length > 0) {
+				int  combined = (data.get(0) & 0xFF) << 16 | (data.get(length >> 1) & 0xFF) << 24 | data.get(length - 1) & 0xFF | length << 8;
+				long bitflip  = (SECRET.getInt(0) ^ SECRET.getInt(4)) & 0xFFFFFFFFL;
+				return avalanche64((combined & 0xFFFFFFFFL) ^ bitflip);
+			}
+			return avalanche64(SECRET.getLong(56) ^ SECRET.getLong(64));
+		}
+
+		private static long mix16(ByteBuffer data, int offset, int secret) {
+			return mul128Fold64(data.getLong(offset) ^ SECRET.getLong(secret), data.getLong(offset + 8) ^ SECRET.getLong(secret + 8));
+		}
+
+		private static long mul128Fold64(long a, long b) {
+			long high = Math.multiplyHigh(a, b) + (a >> 63 & b) + (b >> 63 & a);
+			return a * b ^ high;
+		}
+
+		private static long avalanche3(long hash) {
+			hash ^= hash >>> 37;
+			hash *= PRIME_MX1;
+			hash ^= hash >>> 32;
+			return hash;
+		}
+
+		private static long[] createSecretWords() {
+			long[] words = new long[SECRET.capacity() / 8];
+			for (int i = 0; i < words.length; ++i) {
+				words[i] = SECRET.getLong(8 * i);
+			}
+			return words;
+		}
+
+		private static ByteBuffer createSecret() {
+			try {
+				return ByteBuffer.wrap(Hex.decodeHex(
+					"b8fe6c3923a44bbe7c01812cf721ad1cded46de9839097db7240a4a4b7b3671fcb79e64eccc0e578825ad07dccff7221b8084674f743248ee03590e6813a264c"
+						+ "3c2852bb91c300cb88d0658b1b532ea371644897a20df94e3819ef46a9deacd8a8fa763fe39c343ff9dcbbc7c70b4f1d8a51e04bcdb45931c89f7ec9d9787364"
+						+ "eac5ac8334d3ebc3c581a0fffa1363eb170ddd51b7f0da49d316552629d4689e2b16be587d47a1fc8ff8b8d17ad031ce45cb3a8f95160428afd7fbcabb4b407e"
+				)).order(ByteOrder.LITTLE_ENDIAN).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+			} catch (DecoderException exception) {
+				throw new IllegalStateException(exception);
+			}
+		}
+	}
+}
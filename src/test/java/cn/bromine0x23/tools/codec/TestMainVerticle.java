@@ -1,6 +1,9 @@
 package cn.bromine0x23.tools.codec;
 
+import cn.bromine0x23.tools.codec.eventbus.CodecService;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.ReplyException;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(VertxExtension.class)
@@ -23,4 +27,16 @@ public class TestMainVerticle {
   void verticle_deployed(Vertx vertx, VertxTestContext testContext) throws Throwable {
     testContext.completeNow();
   }
+
+  @Test
+  void codec_service_round_trip(Vertx vertx, VertxTestContext testContext) {
+    var codecService = new CodecService(vertx);
+    codecService.encode("base64", null, Buffer.buffer("abc"), testContext.succeeding(encoded -> {
+      testContext.verify(() -> assertEquals("YWJj", encoded.toString()));
+      codecService.decode("hex", null, Buffer.buffer("zz"), testContext.failing(exception -> {
+        testContext.verify(() -> assertEquals(400, ((ReplyException) exception).failureCode()));
+        testContext.completeNow();
+      }));
+    }));
+  }
 }
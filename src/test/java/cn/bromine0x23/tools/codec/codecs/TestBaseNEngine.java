@@ -0,0 +1,75 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.apache.commons.codec.binary.Base32;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.BaseNCodec;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestBaseNEngine {
+
+  private static final byte[] LINE_SEPARATOR = {'\r', '\n'};
+
+  private static final Map<BaseNEngine, BaseNCodec> REFERENCES = Map.of(
+    BaseNEngine.BASE64_RFC4648, new Base64(0, LINE_SEPARATOR, false),
+    BaseNEngine.BASE64_RFC4648_URL, new Base64(0, LINE_SEPARATOR, true),
+    BaseNEngine.BASE64_RFC1421, new Base64(BaseNCodec.PEM_CHUNK_SIZE, LINE_SEPARATOR, false),
+    BaseNEngine.BASE64_RFC2045, new Base64(BaseNCodec.MIME_CHUNK_SIZE, LINE_SEPARATOR, false),
+    BaseNEngine.BASE32_RFC4648, new Base32(false),
+    BaseNEngine.BASE32_RFC4648_HEX, new Base32(true)
+  );
+
+  private static final byte[] NOISE = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/-_=\r\n \t.\u0080\u00ff"
+    .getBytes(StandardCharsets.ISO_8859_1);
+
+  @Test
+  void encode_matches_commons_codec() {
+    Random random = new Random(0);
+    REFERENCES.forEach((engine, reference) -> {
+      for (int length = 0; length < 400; ++length) {
+        byte[] input = new byte[length];
+        random.nextBytes(input);
+        assertArrayEquals(reference.encode(input), toArray(engine.encode(Unpooled.wrappedBuffer(input))), () -> engine + " " + input.length);
+      }
+    });
+  }
+
+  @Test
+  void decode_matches_commons_codec() {
+    Random random = new Random(0);
+    REFERENCES.forEach((engine, reference) -> {
+      for (int length = 0; length < 400; ++length) {
+        byte[] input = new byte[length];
+        random.nextBytes(input);
+        byte[] encoded = reference.encode(input);
+        assertArrayEquals(reference.decode(encoded), toArray(engine.decode(Unpooled.wrappedBuffer(encoded))));
+
+        byte[] noise = new byte[length];
+        for (int i = 0; i < length; ++i) {
+          noise[i] = random.nextInt(8) == 0 ? NOISE[random.nextInt(NOISE.length)] : encoded.length > 0 ? encoded[random.nextInt(encoded.length)] : (byte) 'A';
+        }
+        byte[] expected;
+        try {
+          expected = reference.decode(noise);
+        } catch (IllegalArgumentException exception) {
+          assertThrows(IllegalArgumentException.class, () -> engine.decode(Unpooled.wrappedBuffer(noise)));
+          continue;
+        }
+        assertArrayEquals(expected, toArray(engine.decode(Unpooled.wrappedBuffer(noise))));
+      }
+    });
+  }
+
+  private static byte[] toArray(ByteBuf buffer) {
+    return ByteBufUtil.getBytes(buffer);
+  }
+}
@@ -0,0 +1,72 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestHexEngine {
+
+  @Test
+  void round_trips_and_matches_commons_codec() {
+    Random random = new Random(0);
+    for (int length = 0; length < 100; ++length) {
+      byte[] input = new byte[length];
+      random.nextBytes(input);
+      String lower = Hex.encodeHexString(input, true);
+      assertEquals(lower, encode(HexEngine.LOWER, input));
+      assertEquals(Hex.encodeHexString(input, false), encode(HexEngine.UPPER, input));
+      assertEquals(length == 0 ? "" : "0x" + lower, encode(HexEngine.PREFIXED, input));
+      for (HexEngine engine : new HexEngine[]{HexEngine.LOWER, HexEngine.UPPER, HexEngine.COLON, HexEngine.SPACE, HexEngine.PREFIXED, HexEngine.LENIENT}) {
+        assertArrayEquals(input, decode(engine, encode(engine, input)));
+      }
+    }
+  }
+
+  @Test
+  void separators() {
+    byte[] input = {0x01, (byte) 0xAB, (byte) 0xFF};
+    assertEquals("01:ab:ff", encode(HexEngine.COLON, input));
+    assertEquals("01 ab ff", encode(HexEngine.SPACE, input));
+  }
+
+  @Test
+  void strict_decoding_rejects_malformed_input() {
+    assertThrows(IllegalArgumentException.class, () -> decode(HexEngine.LOWER, "abc"));
+    assertThrows(IllegalArgumentException.class, () -> decode(HexEngine.LOWER, "ab cd"));
+    assertThrows(IllegalArgumentException.class, () -> decode(HexEngine.LOWER, "0123456789abcdefg1"));
+    assertThrows(IllegalArgumentException.class, () -> decode(HexEngine.COLON, "ab:cd:"));
+    assertThrows(IllegalArgumentException.class, () -> decode(HexEngine.COLON, "abcd"));
+    assertThrows(IllegalArgumentException.class, () -> decode(HexEngine.PREFIXED, "abcd"));
+    assertArrayEquals(new byte[]{(byte) 0xAB, (byte) 0xCD}, decode(HexEngine.PREFIXED, "0XaBCd"));
+  }
+
+  @Test
+  void lenient_decoding_ignores_whitespace_colons_and_prefix() {
+    byte[] expected = {0x00, 0x11, (byte) 0xAB, (byte) 0xCD};
+    assertArrayEquals(expected, decode(HexEngine.LENIENT, "0011abcd"));
+    assertArrayEquals(expected, decode(HexEngine.LENIENT, "0x0011ABCD"));
+    assertArrayEquals(expected, decode(HexEngine.LENIENT, " 00 11\r\n ab:cd\t"));
+    assertArrayEquals(expected, decode(HexEngine.LENIENT, "0 0 1 1 a b c d"));
+    assertThrows(IllegalArgumentException.class, () -> decode(HexEngine.LENIENT, "0"));
+    assertThrows(IllegalArgumentException.class, () -> decode(HexEngine.LENIENT, "0011abc"));
+    assertThrows(IllegalArgumentException.class, () -> decode(HexEngine.LENIENT, "0011-abcd"));
+  }
+
+  private static String encode(HexEngine engine, byte[] input) {
+    return engine.encode(Unpooled.wrappedBuffer(input)).toString(StandardCharsets.US_ASCII);
+  }
+
+  private static byte[] decode(HexEngine engine, String input) {
+    ByteBuf output = engine.decode(Unpooled.wrappedBuffer(input.getBytes(StandardCharsets.US_ASCII)));
+    return ByteBufUtil.getBytes(output);
+  }
+}
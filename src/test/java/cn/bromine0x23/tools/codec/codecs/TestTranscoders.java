@@ -0,0 +1,91 @@
+package cn.bromine0x23.tools.codec.codecs;
+
+import cn.bromine0x23.tools.codec.utility.Codecs;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestTranscoders {
+
+  private static final String[][] VARIANTS = {
+    {"base64", "rfc4648"},
+    {"base64", "rfc4648-url"},
+    {"base64", "rfc1421"},
+    {"base64", "rfc2045"},
+    {"base32", "rfc4648"},
+    {"base32", "rfc4648-hex"},
+    {"url", "utf-8"},
+    {"url", "utf-16be"},
+    {"url", "gb18030"},
+    {"hex", null},
+    {"hex", "upper"},
+    {"hex", "colon"},
+    {"hex", "space"},
+    {"hex", "0x"},
+    {"hex", "lenient"},
+  };
+
+  private final Random random = new Random(0x23);
+
+  @Test
+  void chunked_encode_matches_whole_encode() throws Exception {
+    for (String[] variant : VARIANTS) {
+      Codec codec = Codecs.get(variant[0]);
+      for (int length : new int[]{0, 1, 2, 3, 47, 48, 57, 100, 911, 912, 913, 5000}) {
+        String input    = randomText(length, "url".equals(variant[0]));
+        String expected = codec.encode(input, variant[1]);
+        Buffer actual   = transcode(codec.createEncoder(variant[1]), Buffer.buffer(input, "UTF-8"));
+        assertEquals(expected, actual.toString(StandardCharsets.UTF_8), variant[0] + "/" + variant[1] + "/" + length);
+      }
+    }
+  }
+
+  @Test
+  void chunked_decode_matches_whole_decode() throws Exception {
+    for (String[] variant : VARIANTS) {
+      Codec codec = Codecs.get(variant[0]);
+      if (!codec.supportDecode()) {
+        continue;
+      }
+      for (int length : new int[]{0, 1, 2, 3, 47, 48, 57, 100, 911, 912, 913, 5000}) {
+        String input   = randomText(length, "url".equals(variant[0]));
+        String encoded = codec.encode(input, variant[1]);
+        Buffer actual  = transcode(codec.createDecoder(variant[1]), Buffer.buffer(encoded, "UTF-8"));
+        assertEquals(codec.decode(encoded, variant[1]), actual.toString(StandardCharsets.UTF_8), variant[0] + "/" + variant[1] + "/" + length);
+      }
+    }
+  }
+
+  private Buffer transcode(Transcoder transcoder, Buffer input) throws Exception {
+    Buffer output = Buffer.buffer();
+    int    offset = 0;
+    while (offset < input.length()) {
+      int end = Math.min(input.length(), offset + 1 + random.nextInt(64));
+      output.appendBuffer(transcoder.update(input.getBuffer(offset, end)));
+      offset = end;
+    }
+    return output.appendBuffer(transcoder.finish());
+  }
+
+  private String randomText(int length, boolean unicode) {
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; ++i) {
+      switch (unicode ? random.nextInt(4) : 2) {
+        case 0:
+          builder.append((char) ('一' + random.nextInt(0x5000)));
+          break;
+        case 1:
+          builder.appendCodePoint(0x1f600 + random.nextInt(64));
+          break;
+        default:
+          builder.append((char) (' ' + random.nextInt(95)));
+          break;
+      }
+    }
+    return builder.toString();
+  }
+}
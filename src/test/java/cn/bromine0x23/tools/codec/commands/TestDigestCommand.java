@@ -0,0 +1,92 @@
+package cn.bromine0x23.tools.codec.commands;
+
+import cn.bromine0x23.tools.codec.utility.Checksum;
+import cn.bromine0x23.tools.codec.utility.MessageDigest;
+import cn.bromine0x23.tools.codec.utility.TreeHash;
+import io.vertx.core.cli.CLIException;
+import io.vertx.core.impl.launcher.VertxCommandLauncher;
+import io.vertx.core.spi.launcher.ExecutionContext;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestDigestCommand {
+
+  private static final String SHA_256_EMPTY = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+  private static final String SHA_256_ABC = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+  @Test
+  void escapes_names_like_coreutils() {
+    assertEquals("abc  plain.txt", DigestCommand.line("abc", "plain.txt"));
+    assertEquals("\\abc  back\\\\slash", DigestCommand.line("abc", "back\\slash"));
+    assertEquals("\\abc  new\\nline", DigestCommand.line("abc", "new\nline"));
+    assertEquals("\\abc  a\\\\\\nb", DigestCommand.line("abc", "a\\\nb"));
+  }
+
+  @Test
+  void hashes_empty_files(@TempDir Path directory) throws IOException {
+    Path empty = Files.createFile(directory.resolve("empty"));
+    Path abc   = Files.write(directory.resolve("abc"), "abc".getBytes(StandardCharsets.US_ASCII));
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    run(output, "SHA_256", false, List.of(empty.toString(), abc.toString()));
+    assertEquals(SHA_256_EMPTY + "  " + empty + "\n" + SHA_256_ABC + "  " + abc + "\n", output.toString(StandardCharsets.UTF_8));
+
+    ByteArrayOutputStream treeOutput = new ByteArrayOutputStream();
+    run(treeOutput, "SHA_256", true, List.of(empty.toString()));
+    String treeDigest = Hex.encodeHexString(new TreeHash(MessageDigest.SHA_256).digest(ByteBuffer.allocate(0)));
+    assertEquals(treeDigest + "  " + empty + "\n", treeOutput.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void hashes_with_checksums(@TempDir Path directory) throws IOException {
+    byte[] bytes = "abc".getBytes(StandardCharsets.US_ASCII);
+    Path   abc   = Files.write(directory.resolve("abc"), bytes);
+    ByteArrayOutputStream crc32c = new ByteArrayOutputStream();
+    run(crc32c, "CRC32C", false, List.of(abc.toString()));
+    assertEquals("364b3fb7  " + abc + "\n", crc32c.toString(StandardCharsets.UTF_8));
+    ByteArrayOutputStream xxh3 = new ByteArrayOutputStream();
+    run(xxh3, "xxh3", false, List.of(abc.toString()));
+    assertEquals(Hex.encodeHexString(Checksum.XXH3.digest(ByteBuffer.wrap(bytes))) + "  " + abc + "\n", xxh3.toString(StandardCharsets.UTF_8));
+    assertThrows(CLIException.class, () -> run(new ByteArrayOutputStream(), "CRC_32", true, List.of(abc.toString())));
+  }
+
+  @Test
+  void fails_after_printing_readable_files(@TempDir Path directory) throws IOException {
+    Path abc     = Files.write(directory.resolve("abc"), "abc".getBytes(StandardCharsets.US_ASCII));
+    Path missing = directory.resolve("missing");
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    CLIException exception = assertThrows(CLIException.class, () -> run(output, "SHA_256", false, List.of(missing.toString(), abc.toString())));
+    assertEquals("1 of 2 files could not be hashed.", exception.getMessage());
+    assertEquals(SHA_256_ABC + "  " + abc + "\n", output.toString(StandardCharsets.UTF_8));
+  }
+
+  private static void run(ByteArrayOutputStream output, String algorithm, boolean tree, List<String> files) {
+    PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8);
+    VertxCommandLauncher launcher = new VertxCommandLauncher() {
+      @Override
+      public PrintStream getPrintStream() {
+        return out;
+      }
+    };
+    DigestCommand command = new DigestCommand();
+    command.setAlgorithm(algorithm);
+    command.setTree(tree);
+    command.setWindow(64);
+    command.setFiles(files);
+    command.setUp(new ExecutionContext(command, launcher, null));
+    command.run();
+  }
+}
@@ -0,0 +1,84 @@
+package cn.bromine0x23.tools.codec.handlers;
+
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import cn.bromine0x23.tools.codec.utility.AdmissionController;
+import cn.bromine0x23.tools.codec.utility.CodecExecutor;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.handler.BodyHandler;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class TestBatchHandler {
+
+  private static final int BCRYPT_ITEMS = 6;
+
+  private int port;
+
+  @BeforeEach
+  void start_server(Vertx vertx, VertxTestContext testContext) {
+    // 工作线程池只允许 2 个任务排队，一批 6 个 bcrypt 须按窗口执行才能全部成功
+    CodecExecutor codecExecutor = new CodecExecutor(vertx, 1, 2);
+    AdmissionController.Limits expensive = AdmissionController.Limits.builder().maxInFlight(1).maxQueued(16).build();
+    AdmissionController admissionController = new AdmissionController(Map.of(CostClass.EXPENSIVE, expensive), 60_000);
+    BatchHandler handler = new BatchHandler(codecExecutor, null, new CodecMetrics(), admissionController);
+    Router router = Router.router(vertx);
+    router.route().handler(BodyHandler.create(false));
+    router.post("/batch").handler(handler::execute);
+    vertx.createHttpServer().requestHandler(router).listen(0, testContext.succeeding(server -> {
+      port = server.actualPort();
+      testContext.completeNow();
+    }));
+  }
+
+  @Test
+  void returns_results_in_order_with_errors_per_item(Vertx vertx, VertxTestContext testContext) {
+    JsonArray items = new JsonArray()
+      .add(item("base64", null, "encode", "abc"))
+      .add(item("hex", null, "decode", "zz"))
+      .add(item("missing", null, "encode", "abc"));
+    for (int i = 0; i < BCRYPT_ITEMS; ++i) {
+      items.add(item("spring-security-crypto-password", "bcrypt", "encode", "password"));
+    }
+    items.add(item("url", null, "encode", "a b"));
+    vertx.createHttpClient().post(port, "localhost", "/batch", response -> {
+      testContext.verify(() -> assertEquals(200, response.statusCode()));
+      response.bodyHandler(body -> {
+        testContext.verify(() -> {
+          JsonArray results = new JsonArray(body);
+          assertEquals(items.size(), results.size());
+          assertEquals("YWJj", results.getJsonObject(0).getString("output"));
+          assertNull(results.getJsonObject(1).getString("output"));
+          assertNotNull(results.getJsonObject(1).getString("error"));
+          assertNull(results.getJsonObject(2).getString("output"));
+          assertNotNull(results.getJsonObject(2).getString("error"));
+          for (int i = 0; i < BCRYPT_ITEMS; ++i) {
+            JsonObject result = results.getJsonObject(3 + i);
+            assertNull(result.getString("error"));
+            assertTrue(result.getString("output").startsWith("$2a$"));
+          }
+          assertEquals("a+b", results.getJsonObject(3 + BCRYPT_ITEMS).getString("output"));
+        });
+        testContext.completeNow();
+      });
+    }).exceptionHandler(testContext::failNow).end(items.toBuffer());
+  }
+
+  private static JsonObject item(String codec, String variant, String operation, String input) {
+    return new JsonObject().put("codec", codec).put("variant", variant).put("op", operation).put("input", input);
+  }
+}
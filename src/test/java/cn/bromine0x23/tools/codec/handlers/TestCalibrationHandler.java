@@ -0,0 +1,53 @@
+package cn.bromine0x23.tools.codec.handlers;
+
+import cn.bromine0x23.tools.codec.utility.PasswordEncoderCalibrator;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.Router;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(VertxExtension.class)
+public class TestCalibrationHandler {
+
+  private PasswordEncoderCalibrator calibrator;
+
+  private int port;
+
+  @BeforeEach
+  void start_server(Vertx vertx, VertxTestContext testContext) {
+    calibrator = new PasswordEncoderCalibrator(1);
+    CalibrationHandler handler = new CalibrationHandler(vertx, calibrator);
+    Router router = Router.router(vertx);
+    router.post("/:algorithm").handler(handler::calibrate);
+    vertx.createHttpServer().requestHandler(router).listen(0, testContext.succeeding(server -> {
+      port = server.actualPort();
+      testContext.completeNow();
+    }));
+  }
+
+  @Test
+  void rejects_out_of_range_options(Vertx vertx, VertxTestContext testContext) {
+    vertx.createHttpClient().post(port, "localhost", "/argon2?memory=2147483647", response -> {
+      testContext.verify(() -> assertEquals(400, response.statusCode()));
+      testContext.completeNow();
+    }).exceptionHandler(testContext::failNow).end();
+  }
+
+  @Test
+  void rejects_a_calibration_while_another_is_running(Vertx vertx, VertxTestContext testContext) {
+    Supplier<PasswordEncoderCalibrator.Calibration> running = calibrator.reserve(PasswordEncoderCalibrator.ALGORITHM_BCRYPT, 1, Map.of());
+    vertx.createHttpClient().post(port, "localhost", "/pbkdf2?target=1", response -> {
+      testContext.verify(() -> assertEquals(409, response.statusCode()));
+      running.get();
+      testContext.completeNow();
+    }).exceptionHandler(testContext::failNow).end();
+  }
+}
@@ -0,0 +1,161 @@
+package cn.bromine0x23.tools.codec.handlers;
+
+import cn.bromine0x23.tools.codec.utility.CodecExecutor;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.handler.BodyHandler;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class TestCodecsHandler {
+
+  private static final String OCTET_STREAM = "application/octet-stream";
+
+  private static final String TEXT_PLAIN = "text/plain; charset=UTF-8";
+
+  /**
+   * 不是合法 UTF-8 的字节
+   */
+  private static final byte[] BINARY = {0, 1, (byte) 0xC3, 0x28, (byte) 0xFF, (byte) 0x80, 0x7F};
+
+  private int port;
+
+  @BeforeEach
+  void start_server(Vertx vertx, VertxTestContext testContext) {
+    CodecsHandler handler = new CodecsHandler(new CodecExecutor(vertx, 1, 4), null, new CodecMetrics());
+    Router router = Router.router(vertx);
+    router.route().handler(BodyHandler.create(false));
+    router.get("/api/codecs/").handler(handler::index);
+    router.post("/api/codecs/:id/encode").handler(handler::encode);
+    router.post("/api/codecs/:id/decode").handler(handler::decode);
+    vertx.createHttpServer().requestHandler(router).listen(0, testContext.succeeding(server -> {
+      port = server.actualPort();
+      testContext.completeNow();
+    }));
+  }
+
+  @Test
+  void round_trips_octet_stream_with_binary_accept(Vertx vertx, VertxTestContext testContext) {
+    post(vertx, testContext, "/api/codecs/base64/encode", "text/plain", BINARY, (encodeResponse, encoded) -> {
+      testContext.verify(() -> {
+        assertEquals(TEXT_PLAIN, encodeResponse.getHeader(HttpHeaders.CONTENT_TYPE));
+        assertEquals(Base64.getEncoder().encodeToString(BINARY), encoded.toString());
+      });
+      post(vertx, testContext, "/api/codecs/base64/decode", OCTET_STREAM, encoded.getBytes(), (decodeResponse, decoded) -> {
+        testContext.verify(() -> {
+          assertEquals(OCTET_STREAM, decodeResponse.getHeader(HttpHeaders.CONTENT_TYPE));
+          assertArrayEquals(BINARY, decoded.getBytes());
+        });
+        testContext.completeNow();
+      });
+    });
+  }
+
+  @Test
+  void returns_bytes_for_invalid_utf_8_without_binary_accept(Vertx vertx, VertxTestContext testContext) {
+    byte[] encoded = Base64.getEncoder().encode(BINARY);
+    post(vertx, testContext, "/api/codecs/base64/decode", "text/plain", encoded, (response, decoded) -> {
+      testContext.verify(() -> {
+        assertEquals(OCTET_STREAM, response.getHeader(HttpHeaders.CONTENT_TYPE));
+        assertArrayEquals(BINARY, decoded.getBytes());
+      });
+      testContext.completeNow();
+    });
+  }
+
+  @Test
+  void returns_text_for_valid_utf_8_without_binary_accept(Vertx vertx, VertxTestContext testContext) {
+    String text = "编解码 ✓";
+    byte[] encoded = Base64.getEncoder().encode(text.getBytes(StandardCharsets.UTF_8));
+    post(vertx, testContext, "/api/codecs/base64/decode", null, encoded, (response, decoded) -> {
+      testContext.verify(() -> {
+        assertEquals(TEXT_PLAIN, response.getHeader(HttpHeaders.CONTENT_TYPE));
+        assertEquals(text, decoded.toString(StandardCharsets.UTF_8));
+      });
+      testContext.completeNow();
+    });
+  }
+
+  @Test
+  void revalidates_the_catalogue_with_a_strong_etag(Vertx vertx, VertxTestContext testContext) {
+    get(vertx, testContext, null, (first, firstBody) -> {
+      String eTag = first.getHeader(HttpHeaders.ETAG);
+      testContext.verify(() -> {
+        assertEquals(200, first.statusCode());
+        assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""), eTag);
+        assertEquals("no-cache", first.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertTrue(firstBody.length() > 0);
+      });
+      get(vertx, testContext, eTag, (replayed, replayedBody) -> {
+        testContext.verify(() -> {
+          assertEquals(304, replayed.statusCode());
+          assertEquals(eTag, replayed.getHeader(HttpHeaders.ETAG));
+          assertEquals(0, replayedBody.length());
+        });
+        get(vertx, testContext, "\"other\", W/" + eTag, (listed, listedBody) -> {
+          testContext.verify(() -> {
+            assertEquals(304, listed.statusCode());
+            assertEquals(0, listedBody.length());
+          });
+          get(vertx, testContext, "\"other\"", (changed, changedBody) -> {
+            testContext.verify(() -> {
+              assertEquals(200, changed.statusCode());
+              assertEquals(eTag, changed.getHeader(HttpHeaders.ETAG));
+              assertEquals(firstBody, changedBody);
+            });
+            testContext.completeNow();
+          });
+        });
+      });
+    });
+  }
+
+  /**
+   * 请求编解码器目录，{@code ifNoneMatch} 非空时作为 {@code If-None-Match} 发送
+   */
+  private void get(Vertx vertx, VertxTestContext testContext, String ifNoneMatch, BiConsumer<HttpClientResponse, Buffer> handler) {
+    var request = vertx.createHttpClient().get(port, "localhost", "/api/codecs/", response ->
+      response.bodyHandler(content -> handler.accept(response, content))
+    );
+    request.exceptionHandler(testContext::failNow);
+    if (ifNoneMatch != null) {
+      request.putHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    }
+    request.end();
+  }
+
+  /**
+   * 以 {@code application/octet-stream} 发送请求体
+   */
+  private void post(
+    Vertx vertx, VertxTestContext testContext, String uri, String accept, byte[] body,
+    BiConsumer<HttpClientResponse, Buffer> handler
+  ) {
+    var request = vertx.createHttpClient().post(port, "localhost", uri, response -> {
+      testContext.verify(() -> assertEquals(200, response.statusCode()));
+      response.bodyHandler(content -> handler.accept(response, content));
+    });
+    request.exceptionHandler(testContext::failNow);
+    request.putHeader(HttpHeaders.CONTENT_TYPE, OCTET_STREAM);
+    if (accept != null) {
+      request.putHeader(HttpHeaders.ACCEPT, accept);
+    }
+    request.end(Buffer.buffer(body));
+  }
+}
@@ -0,0 +1,115 @@
+package cn.bromine0x23.tools.codec.handlers;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.Router;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@ExtendWith(VertxExtension.class)
+public class TestCompressionHandler {
+
+  private static final int MIN_BYTES = 1024;
+
+  private static final String LARGE_TEXT = "a".repeat(4 * MIN_BYTES);
+
+  private static final String SMALL_TEXT = "a".repeat(MIN_BYTES / 2);
+
+  private int port;
+
+  @BeforeEach
+  void start_server(Vertx vertx, VertxTestContext testContext) {
+    Router router = Router.router(vertx);
+    router.route().handler(new CompressionHandler(MIN_BYTES)::handle);
+    router.get("/large").handler(context -> context.response().putHeader(HttpHeaders.CONTENT_TYPE, "text/plain").end(LARGE_TEXT));
+    router.get("/small").handler(context -> context.response().putHeader(HttpHeaders.CONTENT_TYPE, "text/plain").end(SMALL_TEXT));
+    router.get("/binary").handler(context -> context.response().putHeader(HttpHeaders.CONTENT_TYPE, "application/octet-stream").end(LARGE_TEXT));
+    vertx.createHttpServer(new HttpServerOptions().setCompressionSupported(true)).requestHandler(router).listen(0, testContext.succeeding(server -> {
+      port = server.actualPort();
+      testContext.completeNow();
+    }));
+  }
+
+  @Test
+  void compresses_only_large_text_over_http_1_1(Vertx vertx, VertxTestContext testContext) {
+    assertDecisions(vertx.createHttpClient(), HttpVersion.HTTP_1_1, testContext);
+  }
+
+  @Test
+  void compresses_only_large_text_over_h2c(Vertx vertx, VertxTestContext testContext) {
+    // 单个连接上复用三个流；HTTP/2 响应创建时已带有协商的编码，小响应仍须改为 identity
+    HttpClientOptions options = new HttpClientOptions()
+      .setProtocolVersion(HttpVersion.HTTP_2)
+      .setHttp2ClearTextUpgrade(false)
+      .setHttp2MaxPoolSize(1);
+    assertDecisions(vertx.createHttpClient(options), HttpVersion.HTTP_2, testContext);
+  }
+
+  private void assertDecisions(HttpClient client, HttpVersion version, VertxTestContext testContext) {
+    Checkpoint responses = testContext.checkpoint(3);
+    get(client, "/large", version, testContext, (encoding, body) -> {
+      testContext.verify(() -> {
+        assertEquals("gzip", encoding);
+        assertEquals(LARGE_TEXT, gunzip(body));
+      });
+      responses.flag();
+    });
+    get(client, "/small", version, testContext, (encoding, body) -> {
+      testContext.verify(() -> {
+        assertNotEquals("gzip", encoding);
+        assertEquals(SMALL_TEXT, body.toString());
+      });
+      responses.flag();
+    });
+    get(client, "/binary", version, testContext, (encoding, body) -> {
+      testContext.verify(() -> {
+        assertNotEquals("gzip", encoding);
+        assertArrayEquals(LARGE_TEXT.getBytes(), body.getBytes());
+      });
+      responses.flag();
+    });
+  }
+
+  /**
+   * 以 {@code Accept-Encoding: gzip} 请求，客户端不解压，回调收到响应的 {@code Content-Encoding} 与原始响应体
+   */
+  private void get(
+    HttpClient client, String uri, HttpVersion version, VertxTestContext testContext,
+    BiConsumer<String, Buffer> handler
+  ) {
+    client.get(port, "localhost", uri, response -> {
+      testContext.verify(() -> {
+        assertEquals(200, response.statusCode());
+        assertEquals(version, response.version());
+      });
+      response.bodyHandler(body -> handler.accept(response.getHeader(HttpHeaders.CONTENT_ENCODING), body));
+    }).exceptionHandler(testContext::failNow).putHeader(HttpHeaders.ACCEPT_ENCODING, "gzip").end();
+  }
+
+  private static String gunzip(Buffer body) {
+    try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body.getBytes()))) {
+      return new String(input.readAllBytes());
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+}
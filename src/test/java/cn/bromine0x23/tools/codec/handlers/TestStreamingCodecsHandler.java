@@ -0,0 +1,88 @@
+package cn.bromine0x23.tools.codec.handlers;
+
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import cn.bromine0x23.tools.codec.utility.MessageDigest;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(VertxExtension.class)
+public class TestStreamingCodecsHandler {
+
+  private static final int CHUNK_SIZE = 64 * 1024 + 7;
+
+  private int port;
+
+  @BeforeEach
+  void start_server(Vertx vertx, VertxTestContext testContext) {
+    Router router = Router.router(vertx);
+    StreamingCodecsHandler handler = new StreamingCodecsHandler(new CodecMetrics());
+    router.post("/digests").handler(handler::digests);
+    router.post("/:id/:variantId/encode").handler(handler::encode);
+    vertx.createHttpServer().requestHandler(router).listen(0, testContext.succeeding(server -> {
+      port = server.actualPort();
+      testContext.completeNow();
+    }));
+  }
+
+  @Test
+  void streams_chunks_into_sha_256(Vertx vertx, VertxTestContext testContext) {
+    byte[] body = randomBytes(3 * 1024 * 1024 + 123);
+    post(vertx, testContext, "/digest/sha-256/encode", body, response -> {
+      testContext.verify(() -> assertEquals(MessageDigest.SHA_256.digestHex(body), response.toString()));
+      testContext.completeNow();
+    });
+  }
+
+  @Test
+  void computes_several_digests_in_one_pass(Vertx vertx, VertxTestContext testContext) {
+    byte[] body = randomBytes(5 * 1024 * 1024 + 321);
+    post(vertx, testContext, "/digests?variants=md5,sha-256,sha3-512", body, response -> {
+      JsonObject digests = response.toJsonObject();
+      testContext.verify(() -> {
+        assertEquals(3, digests.size());
+        assertEquals(Hex.encodeHexString(MessageDigest.MD5.digest(body)), digests.getString("md5"));
+        assertEquals(Hex.encodeHexString(MessageDigest.SHA_256.digest(body)), digests.getString("sha-256"));
+        assertEquals(Hex.encodeHexString(MessageDigest.SHA3_512.digest(body)), digests.getString("sha3-512"));
+      });
+      testContext.completeNow();
+    });
+  }
+
+  private static byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    new Random(length).nextBytes(bytes);
+    return bytes;
+  }
+
+  /**
+   * 以 {@value #CHUNK_SIZE} 字节的块发送分块请求体
+   */
+  private void post(Vertx vertx, VertxTestContext testContext, String uri, byte[] body, Handler<Buffer> handler) {
+    HttpClient client = vertx.createHttpClient();
+    HttpClientRequest request = client.post(port, "localhost", uri, response -> {
+      testContext.verify(() -> assertEquals(200, response.statusCode()));
+      response.bodyHandler(handler);
+    });
+    request.exceptionHandler(testContext::failNow);
+    request.setChunked(true);
+    for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+      request.write(Buffer.buffer().appendBytes(body, offset, Math.min(CHUNK_SIZE, body.length - offset)));
+    }
+    request.end();
+  }
+}
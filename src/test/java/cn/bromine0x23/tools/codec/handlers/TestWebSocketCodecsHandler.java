@@ -0,0 +1,152 @@
+package cn.bromine0x23.tools.codec.handlers;
+
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import cn.bromine0x23.tools.codec.utility.AdmissionController;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import cn.bromine0x23.tools.codec.utility.MessageDigest;
+import cn.bromine0x23.tools.codec.utility.TreeHash;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.WebSocketFrame;
+import io.vertx.ext.web.Router;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(VertxExtension.class)
+public class TestWebSocketCodecsHandler {
+
+  private AdmissionController admissionController;
+
+  private int port;
+
+  @BeforeEach
+  void start_server(Vertx vertx, VertxTestContext testContext) {
+    // 昂贵的输入同时只允许一个，不排队
+    AdmissionController.Limits expensive = AdmissionController.Limits.builder().maxInFlight(1).maxQueued(0).build();
+    admissionController = new AdmissionController(Map.of(CostClass.EXPENSIVE, expensive), 60_000);
+    WebSocketCodecsHandler handler = new WebSocketCodecsHandler(new CodecMetrics(), admissionController);
+    Router router = Router.router(vertx);
+    router.get("/:id/encode").handler(handler::encode);
+    router.get("/:id/decode").handler(handler::decode);
+    router.get("/:id/:variantId/encode").handler(handler::encode);
+    vertx.createHttpServer().requestHandler(router).listen(0, testContext.succeeding(server -> {
+      port = server.actualPort();
+      testContext.completeNow();
+    }));
+  }
+
+  @Test
+  void requires_upgrade(Vertx vertx, VertxTestContext testContext) {
+    HttpClientRequest request = vertx.createHttpClient().get(port, "localhost", "/base64/encode", response -> {
+      testContext.verify(() -> assertEquals(426, response.statusCode()));
+      testContext.completeNow();
+    });
+    request.exceptionHandler(testContext::failNow).end();
+  }
+
+  @Test
+  void round_trips_messages_until_an_empty_message(Vertx vertx, VertxTestContext testContext) {
+    HttpClient client = vertx.createHttpClient();
+    client.webSocket(port, "localhost", "/base64/encode", testContext.succeeding(webSocket -> {
+      List<String>  results = new ArrayList<>();
+      StringBuilder output  = new StringBuilder();
+      webSocket.textMessageHandler(message -> {
+        if (!message.isEmpty()) {
+          output.append(message);
+          return;
+        }
+        results.add(output.toString());
+        output.setLength(0);
+        if (results.size() == 1) {
+          testContext.verify(() -> assertEquals("YWJj", results.get(0)));
+          // 同一会话中的第二次输入
+          webSocket.writeTextMessage("hello");
+          webSocket.writeTextMessage("");
+        } else {
+          testContext.verify(() -> assertEquals(List.of("YWJj", "aGVsbG8="), results));
+          testContext.completeNow();
+        }
+      });
+      webSocket.writeTextMessage("a");
+      // 非空消息末尾的空分片不结束输入
+      webSocket.writeFrame(WebSocketFrame.textFrame("b", false));
+      webSocket.writeFrame(WebSocketFrame.continuationFrame(Buffer.buffer(), true));
+      webSocket.writeTextMessage("c");
+      webSocket.writeTextMessage("");
+    }));
+  }
+
+  @Test
+  void decodes_into_binary_messages(Vertx vertx, VertxTestContext testContext) {
+    HttpClient client = vertx.createHttpClient();
+    client.webSocket(port, "localhost", "/hex/decode", testContext.succeeding(webSocket -> {
+      Buffer output = Buffer.buffer();
+      webSocket.binaryMessageHandler(message -> {
+        if (message.length() > 0) {
+          output.appendBuffer(message);
+          return;
+        }
+        testContext.verify(() -> assertEquals("abc", output.toString()));
+        testContext.completeNow();
+      });
+      // 帧在编码单元中间切分
+      webSocket.writeFrame(WebSocketFrame.textFrame("616", false));
+      webSocket.writeFrame(WebSocketFrame.continuationFrame(Buffer.buffer("263"), true));
+      webSocket.writeFinalTextFrame("");
+    }));
+  }
+
+  @Test
+  void holds_an_admission_permit_for_each_input(Vertx vertx, VertxTestContext testContext) {
+    HttpClient client = vertx.createHttpClient();
+    String     uri    = "/digest/tree-sha-256/encode";
+    String     digest = Hex.encodeHexString(new TreeHash(MessageDigest.SHA_256).digest(ByteBuffer.wrap("abc".getBytes(StandardCharsets.UTF_8))));
+    client.webSocket(port, "localhost", uri, testContext.succeeding(first -> {
+      StringBuilder output = new StringBuilder();
+      first.textMessageHandler(message -> {
+        if (!message.isEmpty()) {
+          output.append(message);
+          return;
+        }
+        testContext.verify(() -> {
+          assertEquals(digest, output.toString());
+          assertEquals(0, admissionController.getInFlight(CostClass.EXPENSIVE));
+        });
+        testContext.completeNow();
+      });
+      first.writeTextMessage("ab");
+      awaitInFlight(vertx, () -> client.webSocket(port, "localhost", uri, testContext.succeeding(second -> {
+        // 第一个会话的输入未结束，仍持有许可
+        second.closeHandler(ignored -> {
+          testContext.verify(() -> assertEquals(Short.valueOf((short) 1013), second.closeStatusCode()));
+          first.writeTextMessage("c");
+          first.writeTextMessage("");
+        });
+        second.writeTextMessage("x");
+      })));
+    }));
+  }
+
+  private void awaitInFlight(Vertx vertx, Runnable then) {
+    vertx.setPeriodic(10, timer -> {
+      if (admissionController.getInFlight(CostClass.EXPENSIVE) == 1) {
+        vertx.cancelTimer(timer);
+        then.run();
+      }
+    });
+  }
+}
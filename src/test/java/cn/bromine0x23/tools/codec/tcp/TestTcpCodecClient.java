@@ -0,0 +1,118 @@
+package cn.bromine0x23.tools.codec.tcp;
+
+import cn.bromine0x23.tools.codec.Settings;
+import cn.bromine0x23.tools.codec.TcpServerVerticle;
+import cn.bromine0x23.tools.codec.utility.AdmissionController;
+import cn.bromine0x23.tools.codec.utility.CodecExecutor;
+import cn.bromine0x23.tools.codec.utility.CodecMetrics;
+import cn.bromine0x23.tools.codec.utility.Codecs;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(VertxExtension.class)
+public class TestTcpCodecClient {
+
+  private AdmissionController admissionController;
+
+  private int port;
+
+  @BeforeEach
+  void deploy_server(Vertx vertx, VertxTestContext testContext) throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    Settings settings = Settings.builder().tcpPort(port).acceptBacklog(128).build();
+    CodecExecutor codecExecutor = new CodecExecutor(vertx, 2, 32);
+    admissionController = new AdmissionController(Map.of(), 2000);
+    vertx.deployVerticle(
+      new TcpServerVerticle(settings, codecExecutor, new CodecMetrics(), admissionController),
+      testContext.succeeding(id -> testContext.completeNow())
+    );
+  }
+
+  @Test
+  void responses_out_of_order(Vertx vertx, VertxTestContext testContext) {
+    List<String> completed = new ArrayList<>();
+    TcpCodecClient.connect(vertx, port, "localhost", testContext.succeeding(client -> {
+      client.encode("spring-security-crypto-password", "bcrypt", Buffer.buffer("password"), testContext.succeeding(encoded -> {
+        completed.add("bcrypt");
+        testContext.verify(() -> {
+          assertEquals(List.of("hex", "missing", "base64", "bcrypt"), completed);
+          assertEquals("$2a$", encoded.getString(0, 4));
+        });
+        testContext.completeNow();
+      }));
+      client.decode("hex", null, Buffer.buffer("6162"), testContext.succeeding(decoded -> {
+        completed.add("hex");
+        testContext.verify(() -> assertEquals("ab", decoded.toString()));
+      }));
+      client.encode("missing", null, Buffer.buffer(), testContext.failing(exception -> {
+        completed.add("missing");
+        testContext.verify(() -> assertEquals(404, ((TcpCodecClient.FailureException) exception).getStatus()));
+      }));
+      client.encode("base64", null, Buffer.buffer("abc"), testContext.succeeding(encoded -> {
+        completed.add("base64");
+        testContext.verify(() -> assertEquals("YWJj", encoded.toString()));
+      }));
+    }));
+  }
+
+  @Test
+  void pipelines_many_requests_on_one_connection(Vertx vertx, VertxTestContext testContext) {
+    int total = 1000;
+    Checkpoint responses = testContext.checkpoint(total);
+    TcpCodecClient.connect(vertx, port, "localhost", testContext.succeeding(client -> {
+      for (int i = 0; i < total; ++i) {
+        String input = "request-" + i;
+        if (i % 2 == 0) {
+          client.encode("base64", null, Buffer.buffer(input), testContext.succeeding(encoded -> {
+            testContext.verify(() -> assertEquals(Base64.getEncoder().encodeToString(input.getBytes(StandardCharsets.UTF_8)), encoded.toString()));
+            responses.flag();
+          }));
+        } else {
+          client.decode("hex", null, Buffer.buffer(Hex.encodeHexString(input.getBytes(StandardCharsets.UTF_8))), testContext.succeeding(decoded -> {
+            testContext.verify(() -> assertEquals(input, decoded.toString()));
+            responses.flag();
+          }));
+        }
+      }
+    }));
+  }
+
+  @Test
+  void ignores_frames_after_an_invalid_length(Vertx vertx, VertxTestContext testContext) {
+    vertx.createNetClient().connect(port, "localhost", testContext.succeeding(socket -> {
+      Buffer received = Buffer.buffer();
+      socket.handler(received::appendBuffer);
+      socket.closeHandler(ignored -> {
+        testContext.verify(() -> {
+          assertEquals(0, received.length());
+          // 写到已关闭连接的响应会被丢弃，以准入计数确认请求未被分派
+          assertEquals(0, admissionController.getAdmitted(Codecs.get("base64").getCostClass(null)));
+        });
+        testContext.completeNow();
+      });
+      // 无效的帧长之后紧跟一个有效的请求，同一次写出
+      Buffer frames = Buffer.buffer().appendInt(0);
+      TcpProtocol.appendRequest(frames, 1, TcpProtocol.OPERATION_ENCODE, "base64", null, Buffer.buffer("abc"));
+      socket.write(frames);
+    }));
+  }
+}
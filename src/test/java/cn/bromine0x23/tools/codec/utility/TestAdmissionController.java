@@ -0,0 +1,58 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import io.vertx.core.AsyncResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestAdmissionController {
+
+  @Test
+  void queues_round_robin_across_clients() {
+    AdmissionController.Limits limits = AdmissionController.Limits.builder().maxInFlight(1).maxQueued(4).build();
+    AdmissionController controller = new AdmissionController(Map.of(CostClass.EXPENSIVE, limits), 1000);
+    List<String> order = new ArrayList<>();
+    List<AdmissionController.Permit> permits = new ArrayList<>();
+    for (String client : new String[]{"a", "a", "a", "b", "b"}) {
+      controller.admit(CostClass.EXPENSIVE, client, result -> {
+        order.add(client);
+        permits.add(result.result());
+      });
+    }
+    assertEquals(List.of("a"), order);
+    assertEquals(4, controller.getQueued(CostClass.EXPENSIVE));
+    while (order.size() < 5) {
+      permits.get(order.size() - 1).release();
+    }
+    assertEquals(List.of("a", "a", "b", "a", "b"), order);
+    permits.get(4).release();
+    permits.get(4).release();
+    assertEquals(0, controller.getInFlight(CostClass.EXPENSIVE));
+    assertEquals(5, controller.getAdmitted(CostClass.EXPENSIVE));
+  }
+
+  @Test
+  void rejects_when_queue_is_full_or_tokens_run_out() {
+    AdmissionController.Limits expensive = AdmissionController.Limits.builder().maxInFlight(1).maxQueued(1).build();
+    AdmissionController.Limits cheap = AdmissionController.Limits.builder().rate(0.001).burst(2).build();
+    AdmissionController controller = new AdmissionController(Map.of(CostClass.EXPENSIVE, expensive, CostClass.CHEAP, cheap), 1000);
+    List<AsyncResult<AdmissionController.Permit>> results = new ArrayList<>();
+    for (int i = 0; i < 3; ++i) {
+      controller.admit(CostClass.EXPENSIVE, "a", results::add);
+      controller.admit(CostClass.CHEAP, "a", results::add);
+    }
+    assertEquals(5, results.size());
+    assertEquals(1, controller.getRejected(CostClass.EXPENSIVE, AdmissionController.Reason.QUEUE_FULL));
+    assertEquals(1, controller.getRejected(CostClass.CHEAP, AdmissionController.Reason.RATE_LIMITED));
+    AdmissionController.RejectedException rejected = (AdmissionController.RejectedException) results.get(4).cause();
+    assertEquals(429, rejected.getReason().getStatusCode());
+    assertTrue(rejected.getRetryAfterSeconds() > 1);
+    assertEquals(0, controller.getAdmitted(CostClass.MODERATE));
+  }
+}
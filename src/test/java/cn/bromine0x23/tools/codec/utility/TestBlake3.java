@@ -0,0 +1,76 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestBlake3 {
+
+  /**
+   * 官方测试向量的散列模式，输入为 {@code i % 251} 的序列
+   */
+  private static final Object[][] VECTORS = {
+    {0, "af1349b9f5f9a1a6a0404dea36dcc9499bcb25c9adc112b7cc9a93cae41f3262"},
+    {1, "2d3adedff11b61f14c886e35afa036736dcd87a74d27b5c1510225d0f592e213"},
+    {1023, "10108970eeda3eb932baac1428c7a2163b0e924c9a9e25b35bba72b28f70bd11"},
+    {1024, "42214739f095a406f3fc83deb889744ac00df831c10daa55189b5d121c855af7"},
+    {1025, "d00278ae47eb27b34faecf67b4fe263f82d5412916c1ffd97c8cb7fb814b8444"},
+    {2049, "5f4d72f40d7a5f82b15ca2b2e44b1de3c2ef86c426c95c1af0b6879522563030"},
+    {3073, "7124b49501012f81cc7f11ca069ec9226cecb8a2c850cfe644e327d22d3e1cd3"},
+    {8193, "bab6c09cb8ce8cf459261398d2e7aef35700bf488116ceb94a36d0f5f1b7bc3b"},
+    {31744, "62b6960e1a44bcc1eb1a611a8d6235b6b4b78f32e7abc4fb4c6cdcce94895c47"},
+    {102400, "bc3e3d41a1146b069abffad3c0d44860cf664390afce4d9661f7902e7943e085"},
+  };
+
+  @Test
+  void matches_official_test_vectors() {
+    for (Object[] vector : VECTORS) {
+      byte[] input = input((Integer) vector[0]);
+      assertEquals(vector[1], Hex.encodeHexString(Blake3.INSTANCE.digest(ByteBuffer.wrap(input))));
+      DigestAlgorithm.Hasher hasher = Blake3.INSTANCE.newHasher();
+      for (int offset = 0; offset < input.length; offset += 100) {
+        hasher.update(ByteBuffer.wrap(input, offset, Math.min(100, input.length - offset)));
+      }
+      assertEquals(vector[1], Hex.encodeHexString(hasher.digest()));
+    }
+    assertEquals(
+      "6437b3ac38465133ffb63b75273a8db548c558465d79db03fd359c6cd5bd9d85",
+      Hex.encodeHexString(Blake3.INSTANCE.digest(ByteBuffer.wrap("abc".getBytes(StandardCharsets.US_ASCII))))
+    );
+  }
+
+  @Test
+  void parallel_subtrees_agree_with_incremental_hashing() throws IOException {
+    byte[] input = input((3 << 20) + 12345);
+    DigestAlgorithm.Hasher hasher = Blake3.INSTANCE.newHasher();
+    hasher.update(ByteBuffer.wrap(input));
+    byte[] expected = hasher.digest();
+    assertArrayEquals(expected, Blake3.INSTANCE.digest(ByteBuffer.wrap(input)));
+    Path file = Files.createTempFile("blake3", null);
+    try {
+      Files.write(file, input);
+      try (FileChannel channel = FileChannel.open(file)) {
+        assertArrayEquals(expected, Blake3.INSTANCE.digest(channel));
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static byte[] input(int length) {
+    byte[] input = new byte[length];
+    for (int i = 0; i < length; ++i) {
+      input[i] = (byte) (i % 251);
+    }
+    return input;
+  }
+}
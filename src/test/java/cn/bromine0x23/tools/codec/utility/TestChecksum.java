@@ -0,0 +1,69 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TestChecksum {
+
+  /**
+   * libxxhash 0.8 计算的 XXH32、XXH64、XXH3，输入为 {@code i * 7 + 3} 的字节序列，覆盖 XXH3 的各个长度区间与块边界
+   */
+  private static final Object[][] XXHASH_VECTORS = {
+    {0, "02cc5d05", "ef46db3751d8e999", "2d06800538d394c2"},
+    {3, "cd3d2242", "31d2363f52e564c9", "a9088dda485b481c"},
+    {8, "29b5025a", "dab99d95c6f90092", "60539db630471163"},
+    {16, "8845547d", "434850232b787be2", "b8c859b0f030b585"},
+    {17, "450e5f84", "1efa7025f1b97a7a", "714a04408e79b80f"},
+    {100, "73091a4d", "a61f8d4c170fe531", "b5937857f0d78c9f"},
+    {129, "8491ee68", "3eb5d118151c8303", "c664bf3311c6abc4"},
+    {240, "63424396", "42562f61ef11b5ae", "64556dc6b462a6cf"},
+    {241, "607a9c5f", "07cf94f8eba111b5", "8beadd3a8874fe17"},
+    {256, "85baa5f7", "00cfc5207dd8e201", "3c38817f6d79c0da"},
+    {257, "f8f9b378", "b7b604f7e4f822fa", "2a300c3495738ea6"},
+    {1025, "ecafbf6d", "6385e21250a735ca", "806c2072ed713576"},
+    {4096, "4e81883c", "796398cd432797cc", "d7428746842be37e"},
+    {100000, "7129a556", "953e8a6a68df79c4", "0c056f6fcc340974"},
+  };
+
+  @Test
+  void xxhash_matches_reference_in_one_shot_and_in_pieces() {
+    Checksum[] checksums = {Checksum.XXH32, Checksum.XXH64, Checksum.XXH3};
+    for (Object[] vector : XXHASH_VECTORS) {
+      byte[] input = new byte[(Integer) vector[0]];
+      for (int i = 0; i < input.length; ++i) {
+        input[i] = (byte) (i * 7 + 3);
+      }
+      for (int i = 0; i < checksums.length; ++i) {
+        assertEquals(vector[i + 1], hex(checksums[i], input, input.length), checksums[i] + " of " + input.length);
+        for (int piece : new int[]{1, 63, 64, 300}) {
+          assertEquals(vector[i + 1], hex(checksums[i], input, piece), checksums[i] + " of " + input.length + " by " + piece);
+        }
+      }
+    }
+  }
+
+  @Test
+  void check_values() {
+    byte[] check = "123456789".getBytes(StandardCharsets.US_ASCII);
+    assertEquals("cbf43926", hex(Checksum.CRC_32, check, 4));
+    assertEquals("e3069283", hex(Checksum.CRC_32C, check, 4));
+    assertEquals("091e01de", hex(Checksum.ADLER_32, check, 4));
+    byte[] fox = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.US_ASCII);
+    assertEquals("2e4ff723", hex(Checksum.MURMUR3_32, fox, 5));
+    assertEquals("7a433ca9c49a9347e34bbc7bbc071b6c", hex(Checksum.MURMUR3_128, fox, 5));
+    assertEquals("00000000", hex(Checksum.MURMUR3_32, new byte[0], 1));
+  }
+
+  private static String hex(Checksum checksum, byte[] input, int piece) {
+    DigestAlgorithm.Hasher hasher = checksum.newHasher();
+    for (int offset = 0; offset < input.length; offset += piece) {
+      hasher.update(ByteBuffer.wrap(input, offset, Math.min(piece, input.length - offset)));
+    }
+    return Hex.encodeHexString(hasher.digest());
+  }
+}
@@ -0,0 +1,56 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestCodecCache {
+
+  @Test
+  void coalesces_concurrent_misses() {
+    CodecCache cache = new CodecCache(1 << 20);
+    List<Handler<AsyncResult<String>>> loads = new ArrayList<>();
+    List<String> results = new ArrayList<>();
+    for (int i = 0; i < 3; ++i) {
+      cache.get("base64", null, "encode", "input", loads::add, result -> results.add(result.result()));
+    }
+    assertEquals(1, loads.size());
+    assertEquals(0, results.size());
+    loads.get(0).handle(Future.succeededFuture("output"));
+    assertEquals(List.of("output", "output", "output"), results);
+
+    cache.get("base64", null, "encode", "input", loads::add, result -> results.add(result.result()));
+    assertEquals(1, loads.size());
+    assertEquals(1, cache.getMisses());
+    assertEquals(2, cache.getCoalesced());
+    assertEquals(1, cache.getHits());
+  }
+
+  @Test
+  void does_not_cache_failures() {
+    CodecCache cache = new CodecCache(1 << 20);
+    List<Handler<AsyncResult<String>>> loads = new ArrayList<>();
+    cache.get("hex", null, "decode", "zz", loads::add, result -> {});
+    loads.get(0).handle(Future.failedFuture("malformed"));
+    cache.get("hex", null, "decode", "zz", loads::add, result -> {});
+    assertEquals(2, loads.size());
+  }
+
+  @Test
+  void evicts_least_recently_used_within_byte_budget() {
+    CodecCache cache = new CodecCache(16 * 4096);
+    for (int i = 0; i < 10_000; ++i) {
+      cache.get("url", null, "encode", "input-" + i, load -> load.handle(Future.succeededFuture("output")), result -> {});
+    }
+    assertEquals(10_000, cache.getMisses());
+    assertEquals(cache.getMisses(), cache.getEntries() + cache.getEvictions());
+    assertTrue(cache.getBytes() <= 16 * 4096);
+  }
+}
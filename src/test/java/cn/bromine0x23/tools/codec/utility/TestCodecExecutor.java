@@ -0,0 +1,57 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(VertxExtension.class)
+public class TestCodecExecutor {
+
+  @Test
+  void runs_cheap_tasks_on_the_calling_thread(Vertx vertx) {
+    CodecExecutor executor = new CodecExecutor(vertx, 1, 1);
+    List<AsyncResult<Thread>> results = new ArrayList<>();
+    executor.execute(CostClass.CHEAP, Thread::currentThread, results::add);
+    executor.execute(CostClass.MODERATE, Thread::currentThread, results::add);
+    assertEquals(2, results.size());
+    assertEquals(Thread.currentThread(), results.get(0).result());
+    assertEquals(Thread.currentThread(), results.get(1).result());
+    executor.close();
+  }
+
+  @Test
+  void rejects_expensive_tasks_past_max_pending(Vertx vertx, VertxTestContext testContext) {
+    CodecExecutor executor = new CodecExecutor(vertx, 1, 2);
+    CountDownLatch blocker = new CountDownLatch(1);
+    var completed = testContext.checkpoint(2);
+    for (int i = 0; i < 2; ++i) {
+      executor.execute(CostClass.EXPENSIVE, () -> {
+        blocker.await();
+        return Thread.currentThread();
+      }, testContext.succeeding(thread -> {
+        testContext.verify(() -> assertNotEquals(Thread.currentThread(), thread));
+        completed.flag();
+      }));
+    }
+    assertEquals(2, executor.getPending());
+    List<AsyncResult<String>> rejected = new ArrayList<>();
+    executor.execute(CostClass.EXPENSIVE, () -> "never", rejected::add);
+    assertEquals(1, rejected.size());
+    assertTrue(rejected.get(0).failed());
+    assertTrue(rejected.get(0).cause() instanceof CodecExecutor.SaturatedException);
+    assertEquals(2, executor.getPending());
+    blocker.countDown();
+  }
+}
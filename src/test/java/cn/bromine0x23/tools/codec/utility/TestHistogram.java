@@ -0,0 +1,74 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestHistogram {
+
+  @Test
+  void places_values_in_log_linear_buckets() {
+    for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 33, 1000, 123_456_789, (1L << 40) - 1}) {
+      int index = Histogram.bucketIndex(value);
+      assertTrue(value < Histogram.bucketUpperBound(index), "value " + value);
+      assertTrue(index == 0 || value >= Histogram.bucketUpperBound(index - 1), "value " + value);
+    }
+    assertEquals(15, Histogram.bucketIndex(15));
+    assertEquals(Histogram.bucketIndex(16), Histogram.bucketIndex(17) - 1);
+    assertEquals(Histogram.bucketIndex(32), Histogram.bucketIndex(33));
+    assertEquals(Histogram.bucketIndex(1L << 40), Histogram.bucketIndex(Long.MAX_VALUE));
+
+    Histogram histogram = new Histogram();
+    histogram.record(-5);
+    histogram.record(3);
+    histogram.record(100);
+    histogram.record(5000);
+    Histogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(4, snapshot.getCount());
+    assertEquals(5103, snapshot.getSum());
+    assertEquals(1, snapshot.countBelow(1));
+    assertEquals(2, snapshot.countBelow(4));
+    assertEquals(3, snapshot.countBelow(128));
+    assertEquals(4, snapshot.countBelow(8192));
+    assertEquals(4, snapshot.valueAtPercentile(50));
+    assertEquals(Histogram.bucketUpperBound(Histogram.bucketIndex(5000)), snapshot.valueAtPercentile(100));
+  }
+
+  @Test
+  void scrapes_cumulative_buckets_sum_and_count() {
+    CodecMetrics metrics = new CodecMetrics();
+    long start = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(3);
+    metrics.record("base64", null, "encode", start, 3, 4, false);
+    metrics.record("base64", null, "encode", start, 3, 4, true);
+    String series = "codec=\"base64\",variant=\"default\",operation=\"encode\"";
+
+    List<Long> buckets = new ArrayList<>();
+    double     sum     = -1;
+    long       count   = -1;
+    for (String line : metrics.scrape().toString().split("\n")) {
+      String value = line.substring(line.lastIndexOf(' ') + 1);
+      if (line.startsWith("codec_request_duration_seconds_bucket{" + series + ",le=")) {
+        buckets.add(Long.parseLong(value));
+      } else if (line.startsWith("codec_request_duration_seconds_sum{" + series + "}")) {
+        sum = Double.parseDouble(value);
+      } else if (line.startsWith("codec_request_duration_seconds_count{" + series + "}")) {
+        count = Long.parseLong(value);
+      }
+    }
+    // 2^0 ~ 2^26 微秒共 27 个桶，另加 +Inf
+    assertEquals(28, buckets.size());
+    for (int i = 1; i < buckets.size(); ++i) {
+      assertTrue(buckets.get(i - 1) <= buckets.get(i));
+    }
+    assertEquals(0, buckets.get(11));
+    assertEquals(2, buckets.get(26));
+    assertEquals(2, buckets.get(27));
+    assertEquals(2, count);
+    assertTrue(sum >= 0.006);
+  }
+}
@@ -0,0 +1,104 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPasswordEncoderCalibrator {
+
+  @Test
+  void picks_the_largest_exponential_parameter_within_target() {
+    PasswordEncoderCalibrator calibrator = new PasswordEncoderCalibrator(4);
+    // 2^strength × 500 µs：strength 5 为 16 ms，6 为 32 ms
+    PasswordEncoderCalibrator.Calibration calibration = calibrator.calibrateExponential(
+      "fake", 25, "strength", 4, 10, strength -> new SpinningPasswordEncoder((1L << strength) * 500)
+    );
+    assertEquals(Map.of("strength", 5L), calibration.getParameters());
+    assertTrue(calibration.isWithinTarget());
+    assertEquals(3, calibration.getTrials().size());
+    int workers = Math.min(4, Runtime.getRuntime().availableProcessors());
+    assertEquals(workers * calibration.getHashesPerSecondPerCore(), calibration.getWorkerPoolHashesPerSecond(), 1e-6);
+  }
+
+  @Test
+  void extrapolates_linear_parameter_towards_target() {
+    PasswordEncoderCalibrator calibrator = new PasswordEncoderCalibrator(1);
+    // iterations × 1 µs：目标 20 ms 约对应 20000 次
+    PasswordEncoderCalibrator.Calibration calibration = calibrator.calibrateLinear(
+      "fake", 20, "iterations", 2000, 1, Integer.MAX_VALUE, SpinningPasswordEncoder::new
+    );
+    long iterations = calibration.getParameters().get("iterations");
+    assertTrue(iterations >= 15000 && iterations <= 20000, "iterations " + iterations);
+    assertTrue(calibration.isWithinTarget());
+    assertTrue(calibration.getTrials().size() > 1);
+    assertEquals(1, calibrator.getCalibrations().size());
+  }
+
+  @Test
+  void rejects_invalid_arguments() {
+    PasswordEncoderCalibrator calibrator = new PasswordEncoderCalibrator(1);
+    assertThrows(IllegalArgumentException.class, () -> calibrator.calibrate("md5", 100, Map.of()));
+    assertThrows(IllegalArgumentException.class, () -> calibrator.calibrate(PasswordEncoderCalibrator.ALGORITHM_BCRYPT, 0, Map.of()));
+    assertThrows(IllegalArgumentException.class, () -> calibrator.calibrate(PasswordEncoderCalibrator.ALGORITHM_SCRYPT, 100, Map.of("r", 0)));
+  }
+
+  @Test
+  void rejects_options_beyond_memory_and_work_limits() {
+    // 单次散列至多 64 MiB
+    PasswordEncoderCalibrator calibrator = new PasswordEncoderCalibrator(1, 64L << 20);
+    String scrypt = PasswordEncoderCalibrator.ALGORITHM_SCRYPT;
+    String argon2 = PasswordEncoderCalibrator.ALGORITHM_ARGON2;
+    assertThrows(IllegalArgumentException.class, () -> calibrator.reserve(argon2, 100, Map.of("memory", Integer.MAX_VALUE)));
+    assertThrows(IllegalArgumentException.class, () -> calibrator.reserve(argon2, 100, Map.of("memory", (64 << 10) + 1)));
+    assertThrows(IllegalArgumentException.class, () -> calibrator.reserve(argon2, 100, Map.of("parallelism", 1 << 20)));
+    assertThrows(IllegalArgumentException.class, () -> calibrator.reserve(argon2, 100, Map.of("memory", 8, "parallelism", 2)));
+    // 最小的 N = 1024 时 128 × N × r 已超过 64 MiB
+    assertThrows(IllegalArgumentException.class, () -> calibrator.reserve(scrypt, 100, Map.of("r", 513)));
+    assertThrows(IllegalArgumentException.class, () -> calibrator.reserve(scrypt, 100, Map.of("r", 1 << 24)));
+    assertThrows(IllegalArgumentException.class, () -> calibrator.reserve(scrypt, 100, Map.of("p", 1_000_000_000)));
+    // 被拒绝的请求不占用标定
+    calibrator.reserve(scrypt, 1, Map.of("r", 512)).get();
+  }
+
+  @Test
+  void rejects_a_second_reservation_until_the_first_completes() {
+    PasswordEncoderCalibrator calibrator = new PasswordEncoderCalibrator(1);
+    Supplier<PasswordEncoderCalibrator.Calibration> task = calibrator.reserve(PasswordEncoderCalibrator.ALGORITHM_BCRYPT, 1, Map.of());
+    assertThrows(IllegalStateException.class, () -> calibrator.reserve(PasswordEncoderCalibrator.ALGORITHM_PBKDF2, 1, Map.of()));
+    task.get();
+    calibrator.reserve(PasswordEncoderCalibrator.ALGORITHM_BCRYPT, 1, Map.of()).get();
+  }
+
+  /**
+   * 每次散列空转与参数成正比的时间
+   */
+  private static class SpinningPasswordEncoder implements PasswordEncoder {
+
+    private final long nanos;
+
+    private SpinningPasswordEncoder(long micros) {
+      this.nanos = TimeUnit.MICROSECONDS.toNanos(micros);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      long deadline = System.nanoTime() + nanos;
+      while (System.nanoTime() < deadline) {
+        Thread.onSpinWait();
+      }
+      return rawPassword.toString();
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      return encodedPassword.equals(encode(rawPassword));
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import cn.bromine0x23.tools.codec.codecs.Codec.CostClass;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPipeline {
+
+  @Test
+  void compiles_and_applies_steps_in_order() throws IOException {
+    String description = "url:utf-8:decode,base64:rfc4648:decode,digest:sha-256:encode";
+    Pipeline pipeline = Pipeline.compile(description);
+    assertSame(pipeline, Pipeline.compile(description));
+    assertEquals(3, pipeline.getSteps().size());
+    assertEquals("url", pipeline.getSteps().get(0).getCodec().getId());
+    assertFalse(pipeline.getSteps().get(1).isEncode());
+    assertEquals("sha-256", pipeline.getSteps().get(2).getVariantId());
+    assertTrue(pipeline.isEncoding());
+    assertEquals(CostClass.MODERATE, pipeline.getCostClass());
+    String expected = MessageDigest.SHA_256.digestHex("hello".getBytes(StandardCharsets.UTF_8));
+    assertEquals(expected, pipeline.apply(Buffer.buffer("aGVsbG8%3D")).toString());
+  }
+
+  @Test
+  void rejects_too_many_steps() {
+    String description = String.join(",", Collections.nCopies(33, "base64::encode"));
+    assertThrows(IllegalArgumentException.class, () -> Pipeline.compile(description));
+    assertEquals(32, Pipeline.compile(String.join(",", Collections.nCopies(32, "base64::encode"))).getSteps().size());
+  }
+
+  @Test
+  void rejects_malformed_descriptions() {
+    assertThrows(IllegalArgumentException.class, () -> Pipeline.compile(""));
+    assertThrows(IllegalArgumentException.class, () -> Pipeline.compile("base64:encode"));
+    assertThrows(IllegalArgumentException.class, () -> Pipeline.compile("base64::encode,"));
+    assertThrows(IllegalArgumentException.class, () -> Pipeline.compile("missing::encode"));
+    assertThrows(IllegalArgumentException.class, () -> Pipeline.compile("base64:missing:encode"));
+    assertThrows(IllegalArgumentException.class, () -> Pipeline.compile("base64::transcode"));
+  }
+}
@@ -0,0 +1,115 @@
+package cn.bromine0x23.tools.codec.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class TestTreeHash {
+
+  @Test
+  void matches_rfc6962_merkle_tree_hash() {
+    TreeHash treeHash = new TreeHash(MessageDigest.SHA_256, 4);
+    byte[] input = new byte[23];
+    new Random(0).nextBytes(input);
+    for (int length = 0; length <= input.length; ++length) {
+      byte[] expected = merkleTreeHash(Arrays.copyOf(input, length));
+      assertArrayEquals(expected, treeHash.digest(ByteBuffer.wrap(input, 0, length)));
+      DigestAlgorithm.Hasher hasher = treeHash.newHasher();
+      for (int offset = 0; offset < length; offset += 3) {
+        hasher.update(ByteBuffer.wrap(input, offset, Math.min(3, length - offset)));
+      }
+      assertArrayEquals(expected, hasher.digest());
+    }
+  }
+
+  @Test
+  void parallel_streaming_and_file_digests_agree() throws IOException {
+    TreeHash treeHash = new TreeHash(MessageDigest.SHA_512, 1000);
+    byte[] input = new byte[345_678];
+    new Random(1).nextBytes(input);
+    byte[] expected = treeHash.digest(ByteBuffer.wrap(input));
+    DigestAlgorithm.Hasher hasher = treeHash.newHasher();
+    for (int offset = 0; offset < input.length; offset += 777) {
+      hasher.update(ByteBuffer.wrap(input, offset, Math.min(777, input.length - offset)));
+    }
+    assertArrayEquals(expected, hasher.digest());
+    Path file = Files.createTempFile("tree-hash", null);
+    try {
+      Files.write(file, input);
+      try (FileChannel channel = FileChannel.open(file)) {
+        assertArrayEquals(expected, treeHash.digest(channel));
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void streaming_does_not_wait_for_a_busy_pool() throws InterruptedException {
+    TreeHash treeHash = new TreeHash(MessageDigest.SHA_256, 1000);
+    byte[] input = new byte[100_000];
+    new Random(2).nextBytes(input);
+    byte[] expected = treeHash.digest(ByteBuffer.wrap(input));
+    // 占满公共线程池，提交的叶子都不会开始执行
+    int            parallelism = ForkJoinPool.commonPool().getParallelism();
+    CountDownLatch started     = new CountDownLatch(parallelism);
+    CountDownLatch release     = new CountDownLatch(1);
+    for (int i = 0; i < parallelism; ++i) {
+      ForkJoinPool.commonPool().execute(() -> {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException exception) {
+          Thread.currentThread().interrupt();
+        }
+      });
+    }
+    try {
+      started.await();
+      assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+        DigestAlgorithm.Hasher hasher = treeHash.newHasher();
+        hasher.update(ByteBuffer.wrap(input));
+        assertArrayEquals(expected, hasher.digest());
+      });
+    } finally {
+      release.countDown();
+    }
+  }
+
+  /**
+   * RFC 6962 §2.1 的递归定义
+   */
+  private static byte[] merkleTreeHash(byte[] input) {
+    if (input.length == 0) {
+      return MessageDigest.SHA_256.digest(input);
+    }
+    if (input.length <= 4) {
+      return MessageDigest.SHA_256.digest(concat(new byte[]{0x00}, input));
+    }
+    int split = 4;
+    while (split * 2 < input.length) {
+      split *= 2;
+    }
+    byte[] left = merkleTreeHash(Arrays.copyOfRange(input, 0, split));
+    byte[] right = merkleTreeHash(Arrays.copyOfRange(input, split, input.length));
+    return MessageDigest.SHA_256.digest(concat(new byte[]{0x01}, concat(left, right)));
+  }
+
+  private static byte[] concat(byte[] first, byte[] second) {
+    byte[] result = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+}